@@ -1,18 +1,26 @@
 package com.github.gris;
 
 import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.cache.ProgramCache;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
 import com.github.gris.lexer.Lexer;
+import com.github.gris.optimizer.ConstantFolder;
+import com.github.gris.optimizer.Inliner;
 import com.github.gris.lexer.LexingError;
 import com.github.gris.parser.Parser;
 import com.github.gris.lexer.Token;
 import com.github.gris.parser.ParsingError;
+import com.github.gris.resolver.Analyzer;
 import com.github.gris.resolver.Resolver;
+import com.github.gris.resolver.ResolvingError;
 import com.github.gris.runtime.Interpreter;
 import com.github.gris.typing.Typing;
 import com.github.gris.typing.TypingError;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -23,10 +31,34 @@ public class Gris {
   /**
    * Main method to execute Gris from the command line.
    *
+   * <p>Usage: {@code gris [--check] [--no-cache] [--report-inlining] [--fused] [--shared-globals]
+   * [file.gris]}. With {@code --check} the file is only analysed, and every diagnostic found is
+   * printed instead of stopping at the first one. A checked program is cached next to its source
+   * (see {@link ProgramCache}) unless {@code --no-cache} is given. With {@code --report-inlining}
+   * the functions inlined by the optimizer are listed before the program runs. With {@code
+   * --fused} the program is resolved and type checked in one pass by the {@link Analyzer}. With
+   * {@code --shared-globals} spawned tasks and parallel workers share the globals of the program
+   * instead of copying them.
+   *
    * @param args Command-line arguments.
    */
   public static void main(String... args) throws Exception {
-    File file = new File("./samples/palindrome.gris");
+    boolean checkOnly = false;
+    boolean useCache = true;
+    boolean reportInlining = false;
+    boolean fused = false;
+    boolean sharedGlobals = false;
+    String path = "./samples/palindrome.gris";
+    for (String arg : args) {
+      if (arg.equals("--check")) checkOnly = true;
+      else if (arg.equals("--no-cache")) useCache = false;
+      else if (arg.equals("--report-inlining")) reportInlining = true;
+      else if (arg.equals("--fused")) fused = true;
+      else if (arg.equals("--shared-globals")) sharedGlobals = true;
+      else path = arg;
+    }
+
+    File file = new File(path);
 
     if (!file.toPath().getFileName().toString().endsWith(".gris"))
       throw new Exception("Expected '.gris' file.");
@@ -34,24 +66,107 @@ public class Gris {
 
     String contents = Files.readString(file.toPath());
 
+    if (checkOnly) {
+      List<Diagnostic> diagnostics = check(contents, Diagnostics.DEFAULT_LIMIT, fused);
+      for (Diagnostic diagnostic : diagnostics) {
+        System.err.println(diagnostic);
+      }
+      if (!diagnostics.isEmpty()) System.exit(1);
+      return;
+    }
+
+    // The lexer also provides source lines for runtime errors, so it is needed even when cached
     Lexer lexer = new Lexer(contents);
     try {
-      List<Token> tokens = lexer.scanTokens();
+      Interpreter interpreter = new Interpreter(lexer, sharedGlobals);
+
+      final Path cache = ProgramCache.pathFor(file.toPath());
+      List<Stmt> statements = useCache ? ProgramCache.load(cache, contents, interpreter) : null;
+      if (statements == null) {
+        statements = compile(lexer, interpreter, fused);
+        if (statements == null) return;
+        if (useCache) ProgramCache.store(cache, contents, statements, interpreter);
+      }
+      // The cache holds the program as checked, so optimization runs on every start
+      final Inliner inliner = new Inliner(interpreter, Inliner.DEFAULT_BUDGET);
+      statements = inliner.inline(statements);
+      if (reportInlining) inliner.getReport().forEach(System.err::println);
+      statements = new ConstantFolder(interpreter).fold(statements);
 
-      Parser parser = new Parser(lexer, tokens);
-      List<Stmt> statements = parser.parse();
+      interpreter.interpret(statements);
+    } catch (LexingError | ParsingError | ResolvingError | TypingError error) {
+      System.err.println(error);
+    }
+  }
 
-      Interpreter interpreter = new Interpreter(lexer);
+  /**
+   * Runs the front end over a program: lexing, parsing, resolving, and type checking.
+   *
+   * @param lexer The lexer over the program's source.
+   * @param interpreter The interpreter the program will run on, which receives the scope depths.
+   * @param fused Whether to resolve and type check in one pass rather than two.
+   * @return The checked statements, or null if the program failed to parse.
+   */
+  private static List<Stmt> compile(Lexer lexer, Interpreter interpreter, boolean fused) {
+    List<Token> tokens = lexer.scanTokens();
 
-      Resolver resolver = new Resolver(lexer, interpreter);
-      resolver.resolve(statements);
+    Parser parser = new Parser(lexer, tokens);
+    List<Stmt> statements = parser.parse();
+    if (parser.hadError()) return null;
 
-      final Typing typing = new Typing(lexer, interpreter);
-      typing.check(statements);
+    if (fused) {
+      new Analyzer(lexer, interpreter).analyze(statements);
+      return statements;
+    }
 
-      interpreter.interpret(statements);
-    } catch (LexingError | ParsingError | TypingError error) {
-      System.err.println(error);
+    Resolver resolver = new Resolver(lexer, interpreter);
+    resolver.resolve(statements);
+
+    final Typing typing = new Typing(lexer, interpreter);
+    typing.check(statements);
+
+    return statements;
+  }
+
+  /**
+   * Analyses a program without running it, collecting every lexing, parsing, resolving, and typing
+   * error in one pass. Each phase recovers at the next statement after an error, and analysis
+   * stops once {@code limit} diagnostics have been found.
+   *
+   * @param source The source code of the program.
+   * @param limit The maximum number of diagnostics to collect.
+   * @return The diagnostics found, ordered by source position; empty if the program is valid.
+   */
+  public static List<Diagnostic> check(String source, int limit) {
+    return check(source, limit, false);
+  }
+
+  /**
+   * Analyses a program without running it, as {@link #check(String, int)} does, optionally
+   * resolving and type checking it in one pass.
+   *
+   * @param source The source code of the program.
+   * @param limit The maximum number of diagnostics to collect.
+   * @param fused Whether to resolve and type check in one pass rather than two.
+   * @return The diagnostics found, ordered by source position; empty if the program is valid.
+   */
+  public static List<Diagnostic> check(String source, int limit, boolean fused) {
+    final Diagnostics diagnostics = new Diagnostics(limit);
+
+    final Lexer lexer = new Lexer(source, diagnostics);
+    final List<Token> tokens = lexer.scanTokens();
+
+    final Parser parser = new Parser(lexer, tokens, diagnostics);
+    final List<Stmt> statements = parser.parse();
+
+    final Interpreter interpreter = new Interpreter(lexer);
+    if (fused) {
+      new Analyzer(lexer, interpreter, diagnostics).analyze(statements);
+    } else {
+      new Resolver(lexer, interpreter, diagnostics).resolve(statements);
+      new Typing(lexer, interpreter, diagnostics).check(statements);
     }
+
+    return diagnostics.getDiagnostics();
   }
 }
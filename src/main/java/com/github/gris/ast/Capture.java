@@ -0,0 +1,42 @@
+package com.github.gris.ast;
+
+/** Represents a variable a function captures from an enclosing function, found by the resolver. */
+public class Capture {
+  /** The name of the captured variable. */
+  public final String name;
+
+  /**
+   * Whether the variable is declared in the directly enclosing function, rather than captured by
+   * it in turn.
+   */
+  public final boolean local;
+
+  /**
+   * The scope depth of the variable from where the function is declared if it is local, otherwise
+   * its index among the captures of the enclosing function.
+   */
+  public final int index;
+
+  /**
+   * Constructs a capture of the given variable.
+   *
+   * @param name The name of the captured variable.
+   * @param local Whether the variable is declared in the directly enclosing function.
+   * @param index The scope depth of a local variable, or the capture index of any other.
+   */
+  public Capture(String name, boolean local, int index) {
+    this.name = name;
+    this.local = local;
+    this.index = index;
+  }
+
+  /**
+   * Checks if this capture refers to the same variable as another one.
+   *
+   * @param capture The capture to compare.
+   * @return True if both captures resolve to the same variable.
+   */
+  public boolean isSameAs(Capture capture) {
+    return local == capture.local && index == capture.index && name.equals(capture.name);
+  }
+}
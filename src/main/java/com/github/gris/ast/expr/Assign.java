@@ -9,7 +9,10 @@ public class Assign extends Expr {
   public final Token name;
 
   /** The value to be assigned. */
-  public final Expr value;
+  public Expr value;
+
+  /** Whether the type checker proved the variable a number, so it is assigned unboxed. */
+  public boolean numeric;
 
   /**
    * Constructs an assignment expression with the given name and value.
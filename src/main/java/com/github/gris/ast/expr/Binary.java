@@ -6,13 +6,13 @@ import com.github.gris.lexer.Token;
 /** Represents a binary expression. */
 public class Binary extends Expr {
   /** The left operand of the binary expression. */
-  public final Expr left;
+  public Expr left;
 
   /** The operator used in the binary expression. */
   public final Token operator;
 
   /** The right operand of the binary expression. */
-  public final Expr right;
+  public Expr right;
 
   /**
    * Constructs a binary expression with the given left operand, operator, and right operand.
@@ -8,7 +8,7 @@ import java.util.List;
 /** Represents a function call expression. */
 public class Call extends Expr {
   /** The expression representing the function being called. */
-  public final Expr callee;
+  public Expr callee;
 
   /** The token representing the parentheses enclosing the arguments. */
   public final Token parenthesis;
@@ -1,10 +1,41 @@
 package com.github.gris.ast.expr;
 
 import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.typing.type.TypeExpr;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /** Represents an abstract expression. */
 public abstract class Expr {
+  /** The binding of an expression the resolver has not bound to a variable. */
+  public static final byte UNBOUND = 0;
+
+  /** The binding of an expression referring to a variable of the current function's scopes. */
+  public static final byte LOCAL = 1;
+
+  /** The binding of an expression referring to a variable captured by the current function. */
+  public static final byte CAPTURED = 2;
+
+  /** The binding of an expression referring to a global variable. */
+  public static final byte GLOBAL = 3;
+
+  /**
+   * How the resolver bound the variable this expression refers to, for variables, assignments,
+   * 'this' and 'super'. Recorded on the node so the interpreter finds the variable without a
+   * lookup.
+   */
+  public byte binding = UNBOUND;
+
+  /**
+   * The scope depth, capture index or global slot of the variable, according to {@link #binding}.
+   */
+  public int index;
+
+  /**
+   * The type the type checker resolved for this expression, kept for later passes; null if the
+   * program was not checked. The receiver of a method call is typed as an instance of its class.
+   */
+  public TypeExpr resolvedType;
+
   /**
    * Accepts a visitor and performs an operation based on this expression.
    *
@@ -6,7 +6,7 @@ import com.github.gris.lexer.Token;
 /** Represents a get expression. */
 public class Get extends Expr {
   /** The object from which to get the property. */
-  public final Expr object;
+  public Expr object;
 
   /** The token representing the name of the property to get. */
   public final Token name;
@@ -5,7 +5,7 @@ import com.github.gris.ast.visitor.ExprVisitor;
 /** Represents a grouping expression. */
 public class Grouping extends Expr {
   /** The expression enclosed within the grouping. */
-  public final Expr expression;
+  public Expr expression;
 
   /**
    * Constructs a grouping expression with the given enclosed expression.
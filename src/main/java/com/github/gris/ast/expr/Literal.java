@@ -1,6 +1,7 @@
 package com.github.gris.ast.expr;
 
 import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.runtime.value.GrisType;
 import com.github.gris.typing.type.Type;
 
 /** Represents a literal expression. */
@@ -11,6 +12,9 @@ public class Literal extends Expr {
   /** The type of the literal. */
   public final Type type;
 
+  /** The runtime value of the literal, created once ahead of execution; null until then. */
+  public GrisType runtimeValue;
+
   /**
    * Constructs a literal expression with the given value and type.
    *
@@ -6,13 +6,13 @@ import com.github.gris.lexer.Token;
 /** Represents a logical expression. */
 public class Logical extends Expr {
   /** The left operand of the logical expression. */
-  public final Expr left;
+  public Expr left;
 
   /** The operator used in the logical expression. */
   public final Token operator;
 
   /** The right operand of the logical expression. */
-  public final Expr right;
+  public Expr right;
 
   /**
    * Constructs a logical expression with the given left operand, operator, and right operand.
@@ -6,13 +6,13 @@ import com.github.gris.lexer.Token;
 /** Represents a set expression. */
 public class Set extends Expr {
   /** The object whose property is being set. */
-  public final Expr object;
+  public Expr object;
 
   /** The token representing the name of the property being set. */
   public final Token name;
 
   /** The value to set to the property. */
-  public final Expr value;
+  public Expr value;
 
   /**
    * Constructs a set expression with the given object, property name, and value.
@@ -6,19 +6,19 @@ import com.github.gris.lexer.Token;
 /** Represents a ternary expression. */
 public class Ternary extends Expr {
   /** The condition of the ternary expression. */
-  public final Expr condition;
+  public Expr condition;
 
   /** The token representing the left operator. */
-  final Token leftOperator;
+  public final Token leftOperator;
 
   /** The 'then' branch of the ternary expression. */
-  public final Expr thenBranch;
+  public Expr thenBranch;
 
   /** The token representing the right operator. */
-  final Token rightOperator;
+  public final Token rightOperator;
 
   /** The 'else' branch of the ternary expression. */
-  public final Expr elseBranch;
+  public Expr elseBranch;
 
   /**
    * Constructs a ternary expression with the given condition, left operator, 'then' branch, right
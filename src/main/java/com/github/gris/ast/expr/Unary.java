@@ -9,7 +9,7 @@ public class Unary extends Expr {
   public final Token operator;
 
   /** The operand of the unary expression. */
-  public final Expr right;
+  public Expr right;
 
   /**
    * Constructs a unary expression with the given operator and operand.
@@ -7,7 +7,13 @@ import java.util.List;
 /** Represents a block statement. */
 public class Block extends Stmt {
   /** The list of statements contained within the block. */
-  public final List<Stmt> statements;
+  public List<Stmt> statements;
+
+  /**
+   * Whether the block declares variables, and so runs in an environment of its own. Cleared by the
+   * resolver for blocks that declare nothing, which run in the enclosing environment.
+   */
+  public boolean scoped = true;
 
   /**
    * Constructs a block statement with the given list of statements.
@@ -6,7 +6,7 @@ import com.github.gris.ast.visitor.StmtVisitor;
 /** Represents an expression statement. */
 public class Expression extends Stmt {
   /** The expression of the statement. */
-  public final Expr expression;
+  public Expr expression;
 
   /**
    * Constructs an expression statement with the given expression.
@@ -1,10 +1,12 @@
 package com.github.gris.ast.stmt;
 
+import com.github.gris.ast.Capture;
 import com.github.gris.ast.Parameter;
 import com.github.gris.typing.type.TypeExpr;
 import com.github.gris.ast.visitor.StmtVisitor;
 import com.github.gris.lexer.Token;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /** Represents a function declaration statement. */
@@ -19,7 +21,10 @@ public class Function extends Stmt {
   public final TypeExpr returnType;
 
   /** The list of statements comprising the body of the function. */
-  public final List<Stmt> body;
+  public List<Stmt> body;
+
+  /** The variables the function captures from enclosing functions, filled in by the resolver. */
+  public final List<Capture> captures = new ArrayList<>();
 
   /**
    * Constructs a function declaration statement with the given name, parameters, return type, and
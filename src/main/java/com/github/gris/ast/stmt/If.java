@@ -6,13 +6,13 @@ import com.github.gris.ast.visitor.StmtVisitor;
 /** Represents an if statement. */
 public class If extends Stmt {
   /** The condition expression of the if statement. */
-  public final Expr condition;
+  public Expr condition;
 
   /** The statement representing the body of the 'then' branch. */
-  public final Stmt thenBranch;
+  public Stmt thenBranch;
 
   /** The statement representing the body of the 'else' branch. */
-  public final Stmt elseBranch;
+  public Stmt elseBranch;
 
   /**
    * Constructs an if statement with the given condition, 'then' branch, and 'else' branch.
@@ -0,0 +1,31 @@
+package com.github.gris.ast.stmt;
+
+import com.github.gris.ast.visitor.StmtVisitor;
+import com.github.gris.parser.ParsingError;
+
+/** Represents a statement that failed to parse, standing in for the discarded tokens. */
+public class Invalid extends Stmt {
+  /** The error that caused the statement to be discarded. */
+  public final ParsingError error;
+
+  /**
+   * Constructs an invalid statement with the given parsing error.
+   *
+   * @param error The error that caused the statement to be discarded.
+   */
+  public Invalid(ParsingError error) {
+    this.error = error;
+  }
+
+  /**
+   * Accepts a visitor and performs an operation based on this invalid statement.
+   *
+   * @param visitor The visitor.
+   * @param <T> The return type of the visit operation.
+   * @return The result of the visit operation.
+   */
+  @Override
+  public <T> T accept(StmtVisitor<T> visitor) {
+    return visitor.visitInvalidStmt(this);
+  }
+}
@@ -10,7 +10,7 @@ public class Return extends Stmt {
   public final Token keyword;
 
   /** The expression representing the returned value. */
-  public final Expr value;
+  public Expr value;
 
   /**
    * Constructs a return statement with the given 'return' keyword token and returned value
@@ -14,7 +14,16 @@ public class Val extends Stmt {
   public final TypeExpr type;
 
   /** The initializer expression of the variable. */
-  public final Expr initializer;
+  public Expr initializer;
+
+  /**
+   * Whether a closure may capture the variable, so each execution of the declaration needs a new
+   * cell. Cleared by the resolver for block variables no closure captures.
+   */
+  public boolean captured = true;
+
+  /** Whether the type checker proved the variable a number, so it is initialized unboxed. */
+  public boolean numeric;
 
   /**
    * Constructs a variable declaration statement with the given name, type expression, and
@@ -6,10 +6,10 @@ import com.github.gris.ast.visitor.StmtVisitor;
 /** Represents a while loop statement. */
 public class While extends Stmt {
   /** The condition expression of the while loop. */
-  public final Expr condition;
+  public Expr condition;
 
   /** The body statement of the while loop. */
-  public final Stmt body;
+  public Stmt body;
 
   /**
    * Constructs a while loop statement with the given condition and body.
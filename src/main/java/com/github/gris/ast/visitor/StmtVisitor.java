@@ -19,6 +19,8 @@ public interface StmtVisitor<T> {
 
   T visitIfStmt(If stmt);
 
+  T visitInvalidStmt(Invalid stmt);
+
   T visitReturnStmt(Return stmt);
 
   T visitValStmt(Val stmt);
@@ -22,8 +22,31 @@ public class Abs extends GrisCallable {
      */
     @Override
     public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
-        double value = ((GrisNumber) arguments.get(0)).value;
-        return new GrisNumber(Math.abs(value));
+        return call1(interpreter, arguments.get(0));
+    }
+
+    /**
+     * Executes the "abs" function on a single argument.
+     *
+     * @param interpreter The interpreter instance.
+     * @param argument The number to take the absolute value of.
+     * @return GrisNumber holding the absolute value.
+     */
+    @Override
+    public GrisType call1(Interpreter interpreter, GrisType argument) {
+        return new GrisNumber(callNumber1(interpreter, argument));
+    }
+
+    /**
+     * Executes the "abs" function without allocating its result.
+     *
+     * @param interpreter The interpreter instance.
+     * @param argument The number to take the absolute value of.
+     * @return The absolute value.
+     */
+    @Override
+    public double callNumber1(Interpreter interpreter, GrisType argument) {
+        return Math.abs(((GrisNumber) argument).value);
     }
 
     /**
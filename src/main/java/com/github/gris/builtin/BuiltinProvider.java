@@ -0,0 +1,20 @@
+package com.github.gris.builtin;
+
+import java.util.List;
+
+/**
+ * Supplies built-in functions to every program. Providers are discovered with {@link
+ * java.util.ServiceLoader}, so a jar on the class path can add built-ins by naming its provider in
+ * {@code META-INF/services/com.github.gris.builtin.BuiltinProvider}.
+ *
+ * <p>The built-ins are shared by every interpreter in the JVM, so their callables must be safe to
+ * call from several threads at once.
+ */
+public interface BuiltinProvider {
+  /**
+   * Returns the built-in functions to register.
+   *
+   * @return The built-in functions.
+   */
+  List<Builtin> builtins();
+}
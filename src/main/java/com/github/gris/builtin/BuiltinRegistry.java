@@ -0,0 +1,73 @@
+package com.github.gris.builtin;
+
+import com.github.gris.builtin.export.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The built-in functions known to every phase. The registry is built once per JVM, from the core
+ * built-ins followed by those of every {@link BuiltinProvider} on the class path, and is immutable
+ * afterwards, so the resolver, type checker and interpreter of any number of programs share the
+ * same callables and types.
+ */
+public final class BuiltinRegistry {
+  private BuiltinRegistry() {}
+
+  /** Holds the registry; class initialization builds it on first use and publishes it safely. */
+  private static final class Holder {
+    static final List<Builtin> BUILTINS = load(ServiceLoader.load(BuiltinProvider.class));
+  }
+
+  /**
+   * Returns the registered built-in functions, the core ones first.
+   *
+   * @return The built-in functions, in registration order.
+   */
+  public static List<Builtin> builtins() {
+    return Holder.BUILTINS;
+  }
+
+  /**
+   * Builds a registry from the core built-ins and the given providers.
+   *
+   * @param providers The providers of additional built-ins.
+   * @return The built-in functions, in registration order.
+   * @throws IllegalStateException if two built-ins have the same name.
+   */
+  static List<Builtin> load(Iterable<BuiltinProvider> providers) {
+    final List<Builtin> builtins = new ArrayList<>();
+    builtins.add(AbsExport.export());
+    builtins.add(ArrayExport.export());
+    builtins.add(ChannelExport.export());
+    builtins.add(CharAtExport.export());
+    builtins.add(CodeAtExport.export());
+    builtins.add(LenExport.export());
+    builtins.add(MapExport.export());
+    builtins.add(OpenFileExport.export());
+    builtins.add(ParallelMapExport.export());
+    builtins.add(ParallelReduceExport.export());
+    builtins.add(PrintExport.export());
+    builtins.add(PrintlnExport.export());
+    builtins.add(ReadLinesExport.export());
+    builtins.add(SpawnExport.export());
+    builtins.add(SplitExport.export());
+    builtins.add(SubstringExport.export());
+    builtins.add(TrimExport.export());
+    for (BuiltinProvider provider : providers) {
+      builtins.addAll(provider.builtins());
+    }
+
+    final Set<String> names = new HashSet<>();
+    for (Builtin builtin : builtins) {
+      if (!names.add(builtin.name)) {
+        throw new IllegalStateException(
+            String.format("Built-in '%s' is registered more than once", builtin.name));
+      }
+    }
+    return List.copyOf(builtins);
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.BuiltinError;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "channel" function. */
+public class Channel extends GrisCallable {
+  /** Constructs a Channel built-in function. */
+  public Channel() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "channel" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisChannel holding no values.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call1(interpreter, arguments.get(0));
+  }
+
+  /**
+   * Executes the "channel" function, creating an empty channel.
+   *
+   * @param interpreter The interpreter instance.
+   * @param argument The number of values the channel buffers before a sender waits.
+   * @return GrisChannel holding no values.
+   * @throws BuiltinError If the capacity is not positive.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    try {
+      return new GrisChannel((int) ((GrisNumber) argument).value);
+    } catch (IllegalArgumentException error) {
+      throw new BuiltinError(error.getMessage(), error);
+    }
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in channel>");
+  }
+}
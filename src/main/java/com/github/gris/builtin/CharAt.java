@@ -1,5 +1,6 @@
 package com.github.gris.builtin;
 
+import com.github.gris.runtime.BuiltinError;
 import com.github.gris.runtime.Interpreter;
 import com.github.gris.runtime.value.*;
 import com.github.gris.typing.type.Type;
@@ -22,9 +23,27 @@ public class CharAt extends GrisCallable {
      */
     @Override
     public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
-        String string = ((GrisString) arguments.get(0)).value;
-        int index = (int) ((GrisNumber) arguments.get(1)).value;
-        return new GrisString(String.valueOf(string.charAt(index)));
+        return call2(interpreter, arguments.get(0), arguments.get(1));
+    }
+
+    /**
+     * Executes the "charAt" function on a string and an index.
+     *
+     * @param interpreter The interpreter instance.
+     * @param first The string.
+     * @param second The index of the character.
+     * @return GrisString holding the character, shared by every call returning it.
+     * @throws BuiltinError If the index is not within the string.
+     */
+    @Override
+    public GrisType call2(Interpreter interpreter, GrisType first, GrisType second) {
+        GrisString string = (GrisString) first;
+        int index = (int) ((GrisNumber) second).value;
+        try {
+            return GrisString.of(string.charAt(index));
+        } catch (StringIndexOutOfBoundsException error) {
+            throw new BuiltinError(error.getMessage(), error);
+        }
     }
 
     /**
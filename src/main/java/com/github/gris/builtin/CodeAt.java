@@ -0,0 +1,81 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.BuiltinError;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "codeAt" function. */
+public class CodeAt extends GrisCallable {
+    /** Constructs a CodeAt built-in function. */
+    public CodeAt() {
+        super(Type.FUNCTION);
+    }
+
+    /**
+     * Executes the "codeAt" function.
+     *
+     * @param interpreter The interpreter instance.
+     * @param arguments The arguments passed to the function.
+     * @return GrisNumber holding the code of the character.
+     */
+    @Override
+    public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+        return call2(interpreter, arguments.get(0), arguments.get(1));
+    }
+
+    /**
+     * Executes the "codeAt" function on a string and an index.
+     *
+     * @param interpreter The interpreter instance.
+     * @param first The string.
+     * @param second The index of the character.
+     * @return GrisNumber holding the UTF-16 code of the character.
+     */
+    @Override
+    public GrisType call2(Interpreter interpreter, GrisType first, GrisType second) {
+        return new GrisNumber(callNumber2(interpreter, first, ((GrisNumber) second).value));
+    }
+
+    /**
+     * Executes the "codeAt" function without boxing the index or allocating its result.
+     *
+     * @param interpreter The interpreter instance.
+     * @param first The string.
+     * @param second The index of the character.
+     * @return The UTF-16 code of the character.
+     * @throws BuiltinError If the index is not within the string.
+     */
+    @Override
+    public double callNumber2(Interpreter interpreter, GrisType first, double second) {
+        try {
+            return ((GrisString) first).charAt((int) second);
+        } catch (StringIndexOutOfBoundsException error) {
+            throw new BuiltinError(error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Checks if this built-in function is equal to another GrisType.
+     *
+     * @param value The value to compare equality with.
+     * @return GrisBoolean indicating whether the two values are equal.
+     */
+    @Override
+    public GrisBoolean isEqual(GrisType value) {
+        if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+        return new GrisBoolean(this == value);
+    }
+
+    /**
+     * Returns a string representation of the built-in function.
+     *
+     * @return GrisString representing the string representation of the function.
+     */
+    @Override
+    public GrisString toGrisString() {
+        return new GrisString("<built-in codeAt>");
+    }
+}
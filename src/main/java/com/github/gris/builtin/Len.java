@@ -22,8 +22,31 @@ public class Len extends GrisCallable {
      */
     @Override
     public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
-        String value = ((GrisString) arguments.get(0)).value;
-        return new GrisNumber(value.length());
+        return call1(interpreter, arguments.get(0));
+    }
+
+    /**
+     * Executes the "len" function on a single argument.
+     *
+     * @param interpreter The interpreter instance.
+     * @param argument The string to measure.
+     * @return GrisNumber holding the length of the string.
+     */
+    @Override
+    public GrisType call1(Interpreter interpreter, GrisType argument) {
+        return new GrisNumber(callNumber1(interpreter, argument));
+    }
+
+    /**
+     * Executes the "len" function without allocating its result.
+     *
+     * @param interpreter The interpreter instance.
+     * @param argument The string to measure.
+     * @return The length of the string.
+     */
+    @Override
+    public double callNumber1(Interpreter interpreter, GrisType argument) {
+        return ((GrisString) argument).length();
     }
 
     /**
@@ -0,0 +1,60 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "map" function. */
+public class Map extends GrisCallable {
+  /** Constructs a Map built-in function. */
+  public Map() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "map" function, creating an empty map.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisMap holding no entries.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call0(interpreter);
+  }
+
+  /**
+   * Executes the "map" function without arguments.
+   *
+   * @param interpreter The interpreter instance.
+   * @return GrisMap holding no entries.
+   */
+  @Override
+  public GrisType call0(Interpreter interpreter) {
+    return new GrisMap();
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in map>");
+  }
+}
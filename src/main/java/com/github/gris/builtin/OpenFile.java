@@ -0,0 +1,68 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.BuiltinError;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/** Built-in function implementation for the "openFile" function. */
+public class OpenFile extends GrisCallable {
+  /** Constructs an OpenFile built-in function. */
+  public OpenFile() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "openFile" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisFile reading the file line by line.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call1(interpreter, arguments.get(0));
+  }
+
+  /**
+   * Executes the "openFile" function on a path, opening the file for reading line by line.
+   *
+   * @param interpreter The interpreter instance.
+   * @param argument The path of the file.
+   * @return GrisFile reading the file line by line.
+   * @throws BuiltinError If the file cannot be opened.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    try {
+      return new GrisFile(((GrisString) argument).value());
+    } catch (UncheckedIOException error) {
+      throw new BuiltinError(error.getMessage(), error);
+    }
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in openFile>");
+  }
+}
@@ -0,0 +1,90 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.GrisArray;
+import com.github.gris.runtime.value.GrisNumber;
+import com.github.gris.runtime.value.GrisType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs the work of the parallel built-in functions on the common fork-join pool. The source of
+ * the work is either an array or a count, standing for the numbers from zero up to it; it is cut
+ * into chunks of consecutive elements, each run by its own fork of the interpreter.
+ */
+final class Parallel {
+  /** The chunks made for each thread of the pool, so that uneven chunks balance out. */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /** Work done on the elements of one chunk. */
+  interface Chunk<T> {
+    /**
+     * Runs the work on a chunk.
+     *
+     * @param worker The interpreter to call functions of the program with.
+     * @param start The index of the first element of the chunk.
+     * @param end The index after the last element of the chunk.
+     * @return The result of the chunk.
+     */
+    T run(Interpreter worker, int start, int end);
+  }
+
+  private Parallel() {}
+
+  /**
+   * Returns the number of elements of a source.
+   *
+   * @param source An array, or a count.
+   * @return The number of elements.
+   */
+  static int size(GrisType source) {
+    if (source instanceof GrisArray array) return array.size();
+    return Math.max(0, (int) ((GrisNumber) source).value);
+  }
+
+  /**
+   * Returns an element of a source.
+   *
+   * @param source An array, or a count.
+   * @param index The index of the element.
+   * @return The element of the array, or the index itself for a count.
+   */
+  static GrisType element(GrisType source, int index) {
+    if (source instanceof GrisArray array) return array.get(index);
+    return new GrisNumber(index);
+  }
+
+  /**
+   * Cuts a source into chunks and runs them on the pool, waiting for all of them. The forks of
+   * the interpreter are made here, on the calling thread, before any chunk starts.
+   *
+   * @param interpreter The interpreter running the call.
+   * @param size The number of elements of the source.
+   * @param chunk The work to run on each chunk.
+   * @param <T> The type of the result of a chunk.
+   * @return The results of the chunks, in the order of their elements; at least one chunk is run,
+   *     empty if the source is.
+   */
+  static <T> List<T> run(Interpreter interpreter, int size, Chunk<T> chunk) {
+    final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    final int count = Math.max(1, Math.min(size, parallelism * CHUNKS_PER_THREAD));
+
+    final List<ForkJoinTask<T>> tasks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final int start = (int) ((long) size * i / count);
+      final int end = (int) ((long) size * (i + 1) / count);
+      final Interpreter worker = interpreter.fork();
+      tasks.add(ForkJoinTask.adapt(() -> chunk.run(worker, start, end)));
+    }
+    ForkJoinTask.invokeAll(tasks);
+
+    final List<T> results = new ArrayList<>(count);
+    for (ForkJoinTask<T> task : tasks) {
+      results.add(task.join());
+    }
+    return results;
+  }
+}
@@ -0,0 +1,83 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "parallelMap" function. */
+public class ParallelMap extends GrisCallable {
+  /** Constructs a ParallelMap built-in function. */
+  public ParallelMap() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "parallelMap" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisArray holding the results of the function.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call2(interpreter, arguments.get(0), arguments.get(1));
+  }
+
+  /**
+   * Executes the "parallelMap" function, calling a function on every element of an array, or on
+   * every number from zero up to a count, across the threads of the common fork-join pool. The
+   * function must not change values it can reach other than its own locals.
+   *
+   * @param interpreter The interpreter instance.
+   * @param first The function to call on each element.
+   * @param second An array, or a count.
+   * @return GrisArray holding the result for each element, in the order of the elements.
+   */
+  @Override
+  public GrisType call2(Interpreter interpreter, GrisType first, GrisType second) {
+    final GrisCallable function = (GrisCallable) first;
+    final List<GrisType[]> chunks =
+        Parallel.run(
+            interpreter,
+            Parallel.size(second),
+            (worker, start, end) -> {
+              final GrisType[] results = new GrisType[end - start];
+              for (int i = start; i < end; i++) {
+                results[i - start] = function.call1(worker, Parallel.element(second, i));
+              }
+              return results;
+            });
+
+    final GrisArray results = new GrisArray();
+    for (GrisType[] chunk : chunks) {
+      for (GrisType result : chunk) {
+        results.push(result);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in parallelMap>");
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "parallelReduce" function. */
+public class ParallelReduce extends GrisCallable {
+  /** Constructs a ParallelReduce built-in function. */
+  public ParallelReduce() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "parallelReduce" function, combining the elements of an array, or the numbers
+   * from zero up to a count, with a function across the threads of the common fork-join pool.
+   * Each chunk of elements is combined on its own, then the results of the chunks are combined in
+   * order, starting from the initial value; the function must therefore be associative, and must
+   * not change values it can reach other than its own locals.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The combining function, an array or a count, and the initial value.
+   * @return GrisType holding the combined value, or the initial value if there are no elements.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    final GrisCallable function = (GrisCallable) arguments.get(0);
+    final GrisType source = arguments.get(1);
+    final List<GrisType> chunks =
+        Parallel.run(
+            interpreter,
+            Parallel.size(source),
+            (worker, start, end) -> {
+              if (start == end) return null;
+              GrisType result = Parallel.element(source, start);
+              for (int i = start + 1; i < end; i++) {
+                result = function.call2(worker, result, Parallel.element(source, i));
+              }
+              return result;
+            });
+
+    GrisType result = arguments.get(2);
+    for (GrisType chunk : chunks) {
+      if (chunk != null) result = function.call2(interpreter, result, chunk);
+    }
+    return result;
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in parallelReduce>");
+  }
+}
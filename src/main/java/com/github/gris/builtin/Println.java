@@ -22,11 +22,22 @@ public class Println extends GrisCallable {
    */
   @Override
   public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
-    Object value = arguments.get(0);
-    if (value == null) {
+    return call1(interpreter, arguments.get(0));
+  }
+
+  /**
+   * Executes the "println" function on a single argument.
+   *
+   * @param interpreter The interpreter instance.
+   * @param argument The value to print.
+   * @return GrisVoid indicating the function's return value.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    if (argument == null) {
       System.out.println("null");
     } else {
-      System.out.println(arguments.get(0).toGrisString().value);
+      System.out.println(argument.toGrisString().value());
     }
     return new GrisVoid();
   }
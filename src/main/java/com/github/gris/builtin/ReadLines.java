@@ -0,0 +1,74 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.BuiltinError;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/** Built-in function implementation for the "readLines" function. */
+public class ReadLines extends GrisCallable {
+  /** Constructs a ReadLines built-in function. */
+  public ReadLines() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "readLines" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisArray holding the lines of the file.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call1(interpreter, arguments.get(0));
+  }
+
+  /**
+   * Executes the "readLines" function on a path, reading every line of the file into an array.
+   * Files too large to hold are read with "openFile" instead.
+   *
+   * @param interpreter The interpreter instance.
+   * @param argument The path of the file.
+   * @return GrisArray holding the lines of the file, without their line endings.
+   * @throws BuiltinError If the file cannot be read.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    try {
+      final GrisFile file = new GrisFile(((GrisString) argument).value());
+      final GrisArray lines = new GrisArray();
+      while (file.hasLine()) {
+        lines.push(file.readLine());
+      }
+      return lines;
+    } catch (UncheckedIOException error) {
+      throw new BuiltinError(error.getMessage(), error);
+    }
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in readLines>");
+  }
+}
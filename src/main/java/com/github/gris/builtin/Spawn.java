@@ -0,0 +1,63 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "spawn" function. */
+public class Spawn extends GrisCallable {
+  /** Constructs a Spawn built-in function. */
+  public Spawn() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "spawn" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisVoid, as the task runs on its own.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call1(interpreter, arguments.get(0));
+  }
+
+  /**
+   * Executes the "spawn" function, running a function as a task on a virtual thread. The program
+   * waits for its tasks before it ends.
+   *
+   * @param interpreter The interpreter instance.
+   * @param argument The function to run, taking no arguments.
+   * @return GrisVoid, as the task runs on its own.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    interpreter.spawn((GrisCallable) argument);
+    return new GrisVoid();
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in spawn>");
+  }
+}
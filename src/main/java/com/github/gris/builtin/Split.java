@@ -0,0 +1,63 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "split" function. */
+public class Split extends GrisCallable {
+  /** Constructs a Split built-in function. */
+  public Split() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "split" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisArray holding the parts of the string.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call2(interpreter, arguments.get(0), arguments.get(1));
+  }
+
+  /**
+   * Executes the "split" function on a string and a separator. The parts share the characters of
+   * the string rather than copying them.
+   *
+   * @param interpreter The interpreter instance.
+   * @param first The string.
+   * @param second The separator, matched literally.
+   * @return GrisArray holding the parts of the string between separators, in order.
+   */
+  @Override
+  public GrisType call2(Interpreter interpreter, GrisType first, GrisType second) {
+    return ((GrisString) first).split(((GrisString) second).value());
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in split>");
+  }
+}
@@ -0,0 +1,59 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.BuiltinError;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "substring" function. */
+public class Substring extends GrisCallable {
+  /** Constructs a Substring built-in function. */
+  public Substring() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "substring" function on a string and the indices bounding the part taken from
+   * it. The result shares the characters of the string rather than copying them.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The string, the index of the first character and the index after the last.
+   * @return GrisString holding the characters between the indices.
+   * @throws BuiltinError If the indices are not within the string, in order.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    final GrisString string = (GrisString) arguments.get(0);
+    final double start = ((GrisNumber) arguments.get(1)).value;
+    final double end = ((GrisNumber) arguments.get(2)).value;
+    try {
+      return string.slice((int) start, (int) end);
+    } catch (StringIndexOutOfBoundsException error) {
+      throw new BuiltinError(error.getMessage(), error);
+    }
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in substring>");
+  }
+}
@@ -0,0 +1,62 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.*;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/** Built-in function implementation for the "trim" function. */
+public class Trim extends GrisCallable {
+  /** Constructs a Trim built-in function. */
+  public Trim() {
+    super(Type.FUNCTION);
+  }
+
+  /**
+   * Executes the "trim" function.
+   *
+   * @param interpreter The interpreter instance.
+   * @param arguments The arguments passed to the function.
+   * @return GrisString holding the trimmed string.
+   */
+  @Override
+  public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+    return call1(interpreter, arguments.get(0));
+  }
+
+  /**
+   * Executes the "trim" function on a string, dropping whitespace and control characters from
+   * both ends. The result shares the characters of the string rather than copying them.
+   *
+   * @param interpreter The interpreter instance.
+   * @param argument The string.
+   * @return GrisString holding the string without leading and trailing whitespace.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    return ((GrisString) argument).trim();
+  }
+
+  /**
+   * Checks if this built-in function is equal to another GrisType.
+   *
+   * @param value The value to compare equality with.
+   * @return GrisBoolean indicating whether the two values are equal.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    if (!(value instanceof GrisCallable)) return new GrisBoolean(false);
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Returns a string representation of the built-in function.
+   *
+   * @return GrisString representing the string representation of the function.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<built-in trim>");
+  }
+}
@@ -22,9 +22,8 @@ public class AbsExport {
     final List<Parameter> parameters = new ArrayList<>();
     parameters.add(
         new Parameter(
-            new Token(TokenType.IDENTIFIER, "abs", null, -1, -1), new TypeExpr(Type.NUMBER)));
+            new Token(TokenType.IDENTIFIER, "abs", null, -1, -1), Types.of(Type.NUMBER)));
 
-    return new Builtin(
-        name, new Abs(), new FunctionTypeExpr("Abs", new TypeExpr(Type.NUMBER), parameters));
+    return new Builtin(name, new Abs(), Types.function(Types.of(Type.NUMBER), parameters));
   }
 }
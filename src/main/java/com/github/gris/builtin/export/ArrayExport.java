@@ -0,0 +1,21 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.builtin.Array;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "array" built-in function. */
+public class ArrayExport {
+  /**
+   * Exports the "array" built-in function. Its result has elements of any type, so it can
+   * initialize an array of any element type.
+   *
+   * @return The exported "array" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "array";
+    return new Builtin(name, new Array(), Types.function(Types.array(Types.all()), List.of()));
+  }
+}
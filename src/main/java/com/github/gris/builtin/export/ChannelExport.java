@@ -0,0 +1,29 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.Channel;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "channel" built-in function. */
+public class ChannelExport {
+  /**
+   * Exports the "channel" built-in function. Its result carries values of any type, so it can
+   * initialize a channel of any element type.
+   *
+   * @return The exported "channel" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "channel";
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "capacity", null, -1, -1), Types.of(Type.NUMBER)));
+
+    return new Builtin(name, new Channel(), Types.function(Types.channel(Types.all()), parameters));
+  }
+}
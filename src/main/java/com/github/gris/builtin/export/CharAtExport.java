@@ -21,13 +21,12 @@ public class CharAtExport {
         final String name = "charAt";
         final List<Parameter> parameters = new ArrayList<>();
         parameters.add(
-                new Parameter(new Token(TokenType.IDENTIFIER, "string", null, -1, -1), new TypeExpr(Type.STRING))
+                new Parameter(new Token(TokenType.IDENTIFIER, "string", null, -1, -1), Types.of(Type.STRING))
         );
         parameters.add(
-                new Parameter(new Token(TokenType.IDENTIFIER, "index", null, -1, -1), new TypeExpr(Type.NUMBER))
+                new Parameter(new Token(TokenType.IDENTIFIER, "index", null, -1, -1), Types.of(Type.NUMBER))
         );
 
-        return new Builtin(
-                name, new CharAt(), new FunctionTypeExpr("CharAt", new TypeExpr(Type.STRING), parameters));
+        return new Builtin(name, new CharAt(), Types.function(Types.of(Type.STRING), parameters));
     }
 }
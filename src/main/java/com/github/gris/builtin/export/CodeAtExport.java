@@ -0,0 +1,32 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.CodeAt;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Export utility for the "codeAt" built-in function. */
+public class CodeAtExport {
+    /**
+     * Exports the "codeAt" built-in function.
+     *
+     * @return The exported "codeAt" built-in function.
+     */
+    public static Builtin export() {
+        final String name = "codeAt";
+        final List<Parameter> parameters = new ArrayList<>();
+        parameters.add(
+                new Parameter(new Token(TokenType.IDENTIFIER, "string", null, -1, -1), Types.of(Type.STRING))
+        );
+        parameters.add(
+                new Parameter(new Token(TokenType.IDENTIFIER, "index", null, -1, -1), Types.of(Type.NUMBER))
+        );
+
+        return new Builtin(name, new CodeAt(), Types.function(Types.of(Type.NUMBER), parameters));
+    }
+}
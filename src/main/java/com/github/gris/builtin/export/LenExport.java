@@ -22,9 +22,8 @@ public class LenExport {
         final List<Parameter> parameters = new ArrayList<>();
         parameters.add(
                 new Parameter(
-                        new Token(TokenType.IDENTIFIER, "len", null, -1, -1), new TypeExpr(Type.STRING)));
+                        new Token(TokenType.IDENTIFIER, "len", null, -1, -1), Types.of(Type.STRING)));
 
-        return new Builtin(
-                name, new Len(), new FunctionTypeExpr("Len", new TypeExpr(Type.NUMBER), parameters));
+        return new Builtin(name, new Len(), Types.function(Types.of(Type.NUMBER), parameters));
     }
 }
@@ -0,0 +1,22 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.Map;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "map" built-in function. */
+public class MapExport {
+  /**
+   * Exports the "map" built-in function. Its result has keys and values of any type, so it
+   * can initialize a map of any key and value types.
+   *
+   * @return The exported "map" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "map";
+    return new Builtin(
+        name, new Map(), Types.function(Types.map(Types.all(), Types.all()), List.of()));
+  }
+}
@@ -0,0 +1,28 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.OpenFile;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "openFile" built-in function. */
+public class OpenFileExport {
+  /**
+   * Exports the "openFile" built-in function.
+   *
+   * @return The exported "openFile" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "openFile";
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "path", null, -1, -1), Types.of(Type.STRING)));
+
+    return new Builtin(name, new OpenFile(), Types.function(Types.of(Type.FILE), parameters));
+  }
+}
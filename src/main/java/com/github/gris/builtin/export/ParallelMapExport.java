@@ -0,0 +1,50 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.ParallelMap;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "parallelMap" built-in function. */
+public class ParallelMapExport {
+  /**
+   * The declared type of "parallelMap", which takes any function of one argument. The type
+   * checker recognizes it and types each call from the function and the source given to it.
+   */
+  public static final FunctionTypeExpr TYPE = type();
+
+  /**
+   * Exports the "parallelMap" built-in function.
+   *
+   * @return The exported "parallelMap" built-in function.
+   */
+  public static Builtin export() {
+    return new Builtin("parallelMap", new ParallelMap(), TYPE);
+  }
+
+  /**
+   * Builds the declared type of "parallelMap".
+   *
+   * @return The type.
+   */
+  private static FunctionTypeExpr type() {
+    final TypeExpr mapper =
+        Types.function(
+            Types.all(),
+            List.of(
+                new Parameter(
+                    new Token(TokenType.IDENTIFIER, "element", null, -1, -1), Types.all())));
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(new Token(TokenType.IDENTIFIER, "function", null, -1, -1), mapper),
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "source", null, -1, -1),
+                new GenericTypeExpr(Type.ARRAY, Type.NUMBER)));
+
+    return Types.function(Types.array(Types.all()), parameters);
+  }
+}
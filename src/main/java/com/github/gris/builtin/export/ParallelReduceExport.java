@@ -0,0 +1,54 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.ParallelReduce;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "parallelReduce" built-in function. */
+public class ParallelReduceExport {
+  /**
+   * The declared type of "parallelReduce", which takes any function of two arguments. The type
+   * checker recognizes it and types each call from the function, source and initial value given
+   * to it.
+   */
+  public static final FunctionTypeExpr TYPE = type();
+
+  /**
+   * Exports the "parallelReduce" built-in function.
+   *
+   * @return The exported "parallelReduce" built-in function.
+   */
+  public static Builtin export() {
+    return new Builtin("parallelReduce", new ParallelReduce(), TYPE);
+  }
+
+  /**
+   * Builds the declared type of "parallelReduce".
+   *
+   * @return The type.
+   */
+  private static FunctionTypeExpr type() {
+    final TypeExpr combiner =
+        Types.function(
+            Types.all(),
+            List.of(
+                new Parameter(new Token(TokenType.IDENTIFIER, "left", null, -1, -1), Types.all()),
+                new Parameter(
+                    new Token(TokenType.IDENTIFIER, "right", null, -1, -1), Types.all())));
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(new Token(TokenType.IDENTIFIER, "function", null, -1, -1), combiner),
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "source", null, -1, -1),
+                new GenericTypeExpr(Type.ARRAY, Type.NUMBER)),
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "initial", null, -1, -1), Types.all()));
+
+    return Types.function(Types.all(), parameters);
+  }
+}
@@ -22,9 +22,8 @@ public class PrintExport {
     final List<Parameter> parameters = new ArrayList<>();
     parameters.add(
         new Parameter(
-            new Token(TokenType.IDENTIFIER, "print", null, -1, -1), new GenericAllTypeExpr()));
+            new Token(TokenType.IDENTIFIER, "print", null, -1, -1), Types.all()));
 
-    return new Builtin(
-        name, new Print(), new FunctionTypeExpr("Print", new TypeExpr(Type.VOID), parameters));
+    return new Builtin(name, new Print(), Types.function(Types.of(Type.VOID), parameters));
   }
 }
@@ -22,9 +22,8 @@ public class PrintlnExport {
     final List<Parameter> parameters = new ArrayList<>();
     parameters.add(
         new Parameter(
-            new Token(TokenType.IDENTIFIER, "println", null, -1, -1), new GenericAllTypeExpr()));
+            new Token(TokenType.IDENTIFIER, "println", null, -1, -1), Types.all()));
 
-    return new Builtin(
-        name, new Println(), new FunctionTypeExpr("Println", new TypeExpr(Type.VOID), parameters));
+    return new Builtin(name, new Println(), Types.function(Types.of(Type.VOID), parameters));
   }
 }
@@ -0,0 +1,29 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.ReadLines;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "readLines" built-in function. */
+public class ReadLinesExport {
+  /**
+   * Exports the "readLines" built-in function.
+   *
+   * @return The exported "readLines" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "readLines";
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "path", null, -1, -1), Types.of(Type.STRING)));
+
+    return new Builtin(
+        name, new ReadLines(), Types.function(Types.array(Types.of(Type.STRING)), parameters));
+  }
+}
@@ -0,0 +1,27 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.Spawn;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "spawn" built-in function. */
+public class SpawnExport {
+  /**
+   * Exports the "spawn" built-in function.
+   *
+   * @return The exported "spawn" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "spawn";
+    final TypeExpr task = Types.function(Types.all(), List.of());
+    final List<Parameter> parameters =
+        List.of(new Parameter(new Token(TokenType.IDENTIFIER, "function", null, -1, -1), task));
+
+    return new Builtin(name, new Spawn(), Types.function(Types.of(Type.VOID), parameters));
+  }
+}
@@ -0,0 +1,32 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.Split;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "split" built-in function. */
+public class SplitExport {
+  /**
+   * Exports the "split" built-in function.
+   *
+   * @return The exported "split" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "split";
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "string", null, -1, -1), Types.of(Type.STRING)),
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "separator", null, -1, -1),
+                Types.of(Type.STRING)));
+
+    return new Builtin(
+        name, new Split(), Types.function(Types.array(Types.of(Type.STRING)), parameters));
+  }
+}
@@ -0,0 +1,32 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.Substring;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "substring" built-in function. */
+public class SubstringExport {
+  /**
+   * Exports the "substring" built-in function.
+   *
+   * @return The exported "substring" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "substring";
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "string", null, -1, -1), Types.of(Type.STRING)),
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "start", null, -1, -1), Types.of(Type.NUMBER)),
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "end", null, -1, -1), Types.of(Type.NUMBER)));
+
+    return new Builtin(name, new Substring(), Types.function(Types.of(Type.STRING), parameters));
+  }
+}
@@ -0,0 +1,28 @@
+package com.github.gris.builtin.export;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.Trim;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+/** Export utility for the "trim" built-in function. */
+public class TrimExport {
+  /**
+   * Exports the "trim" built-in function.
+   *
+   * @return The exported "trim" built-in function.
+   */
+  public static Builtin export() {
+    final String name = "trim";
+    final List<Parameter> parameters =
+        List.of(
+            new Parameter(
+                new Token(TokenType.IDENTIFIER, "string", null, -1, -1), Types.of(Type.STRING)));
+
+    return new Builtin(name, new Trim(), Types.function(Types.of(Type.STRING), parameters));
+  }
+}
@@ -0,0 +1,447 @@
+package com.github.gris.cache;
+
+import com.github.gris.ast.Capture;
+import com.github.gris.ast.Parameter;
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.*;
+import com.github.gris.ast.stmt.Class;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deserializes a program written by {@link AstWriter}. Malformed input is reported with an {@link
+ * IllegalArgumentException} or a {@link java.nio.BufferUnderflowException}.
+ */
+class AstReader {
+  /** The token types, indexed by ordinal. */
+  private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+  /** The types, indexed by ordinal. */
+  private static final Type[] TYPES = Type.values();
+
+  /** The name given to the parameters of a function type, which only keeps their types. */
+  private static final Token SYNTHETIC_NAME = new Token(TokenType.IDENTIFIER, "", null, -1, -1);
+
+  /** The buffer being read. */
+  private final ByteBuffer buffer;
+
+  /** The string table. */
+  private String[] strings;
+
+  /** Every expression and type expression read so far, indexed by its number. */
+  private final List<Object> nodes = new ArrayList<>();
+
+  /** The type of each class declared by the program, by name. */
+  private final Map<String, ClassTypeExpr> classes = new HashMap<>();
+
+  /**
+   * Constructs an AstReader over the given buffer, positioned after the header.
+   *
+   * @param buffer The buffer to read.
+   */
+  AstReader(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Reads a program, restoring the bindings of its expressions and giving its globals slots in the
+   * interpreter.
+   *
+   * @param interpreter The interpreter the program will run on.
+   * @return The statements of the program.
+   */
+  List<Stmt> read(Interpreter interpreter) {
+    strings = new String[count()];
+    for (int i = 0; i < strings.length; i++) {
+      final byte[] encoded = new byte[count()];
+      buffer.get(encoded);
+      strings[i] = new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    final List<Stmt> statements = statements();
+
+    // Read every table before touching the interpreter, so a corrupt file leaves it unchanged
+    final int boundCount = count();
+    final Expr[] bound = new Expr[boundCount];
+    final byte[] bindings = new byte[boundCount];
+    final int[] indices = new int[boundCount];
+    final String[] names = new String[boundCount];
+    for (int i = 0; i < boundCount; i++) {
+      bound[i] = (Expr) node(buffer.getInt());
+      bindings[i] = buffer.get();
+      if (bindings[i] == Expr.GLOBAL) {
+        names[i] = string();
+      } else if (bindings[i] == Expr.LOCAL || bindings[i] == Expr.CAPTURED) {
+        indices[i] = buffer.getInt();
+      } else {
+        throw new IllegalArgumentException("Invalid binding " + bindings[i]);
+      }
+    }
+    resolvedTypes(statements);
+
+    for (int i = 0; i < boundCount; i++) {
+      if (bindings[i] == Expr.GLOBAL) {
+        // Slots are given again by name, as the interpreter may have numbered its globals
+        // differently
+        interpreter.resolveGlobal(bound[i], names[i]);
+      } else {
+        bound[i].binding = bindings[i];
+        bound[i].index = indices[i];
+      }
+    }
+
+    return statements;
+  }
+
+  /**
+   * Reads a list of statements, preceded by its length.
+   *
+   * @return The statements.
+   */
+  private List<Stmt> statements() {
+    final int count = count();
+    final List<Stmt> statements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      statements.add(statement());
+    }
+    return statements;
+  }
+
+  /**
+   * Reads an optional statement.
+   *
+   * @return The statement, or null if absent.
+   */
+  private Stmt statement() {
+    final byte tag = buffer.get();
+    switch (tag) {
+      case Tag.NONE -> {
+        return null;
+      }
+      case Tag.BLOCK -> {
+        final Block block = new Block(statements());
+        block.scoped = buffer.get() != 0;
+        return block;
+      }
+      case Tag.CLASS -> {
+        final Token name = token();
+        final Variable superclass = (Variable) expression();
+        final int count = count();
+        final List<Function> methods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          methods.add((Function) statement());
+        }
+        return new Class(name, superclass, methods);
+      }
+      case Tag.EXPRESSION -> {
+        return new Expression(expression());
+      }
+      case Tag.FUNCTION -> {
+        final Token name = token();
+        final int count = count();
+        final List<Parameter> parameters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          final Token parameter = token();
+          parameters.add(new Parameter(parameter, type()));
+        }
+        final TypeExpr returnType = type();
+        final Function function = new Function(name, parameters, returnType, statements());
+        final int captures = count();
+        for (int i = 0; i < captures; i++) {
+          final String captured = string();
+          final boolean local = buffer.get() != 0;
+          final int index = buffer.getInt();
+          if (index < 0) throw new IllegalArgumentException("Invalid capture index " + index);
+          function.captures.add(new Capture(captured, local, index));
+        }
+        return function;
+      }
+      case Tag.IF -> {
+        final Expr condition = expression();
+        final Stmt thenBranch = statement();
+        return new If(condition, thenBranch, statement());
+      }
+      case Tag.RETURN -> {
+        final Token keyword = token();
+        return new Return(keyword, expression());
+      }
+      case Tag.VAL -> {
+        final Token name = token();
+        final TypeExpr type = type();
+        final Val val = new Val(name, type, expression());
+        val.captured = buffer.get() != 0;
+        val.numeric = buffer.get() != 0;
+        return val;
+      }
+      case Tag.WHILE -> {
+        final Expr condition = expression();
+        return new While(condition, statement());
+      }
+    }
+    throw new IllegalArgumentException("Unknown statement tag " + tag);
+  }
+
+  /**
+   * Reads an optional expression, numbering it before its children.
+   *
+   * @return The expression, or null if absent.
+   */
+  private Expr expression() {
+    final byte tag = buffer.get();
+    if (tag == Tag.NONE) return null;
+
+    // Reserve the number now; the node itself can only be built once its children are read
+    final int id = nodes.size();
+    nodes.add(null);
+
+    final Expr expr =
+        switch (tag) {
+          case Tag.ASSIGN -> {
+            final Token name = token();
+            final Assign assign = new Assign(name, expression());
+            assign.numeric = buffer.get() != 0;
+            yield assign;
+          }
+          case Tag.BINARY -> {
+            final Expr left = expression();
+            final Token operator = token();
+            yield new Binary(left, operator, expression());
+          }
+          case Tag.CALL -> {
+            final Expr callee = expression();
+            final Token parenthesis = token();
+            final int count = count();
+            final List<Expr> arguments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+              arguments.add(expression());
+            }
+            yield new Call(callee, parenthesis, arguments);
+          }
+          case Tag.GET -> {
+            final Expr object = expression();
+            yield new Get(object, token());
+          }
+          case Tag.GROUPING -> new Grouping(expression());
+          case Tag.LITERAL -> {
+            final Type type = TYPES[buffer.get()];
+            final byte kind = buffer.get();
+            final Object value =
+                switch (kind) {
+                  case Tag.NULL_VALUE -> null;
+                  case Tag.BOOLEAN_VALUE -> buffer.get() != 0;
+                  case Tag.NUMBER_VALUE -> buffer.getDouble();
+                  case Tag.STRING_VALUE -> string();
+                  default -> throw new IllegalArgumentException("Unknown literal kind " + kind);
+                };
+            yield new Literal(value, type);
+          }
+          case Tag.LOGICAL -> {
+            final Expr left = expression();
+            final Token operator = token();
+            yield new Logical(left, operator, expression());
+          }
+          case Tag.SET -> {
+            final Expr object = expression();
+            final Token name = token();
+            yield new Set(object, name, expression());
+          }
+          case Tag.SUPER -> {
+            final Token keyword = token();
+            yield new Super(keyword, token());
+          }
+          case Tag.TERNARY -> {
+            final Expr condition = expression();
+            final Token leftOperator = token();
+            final Expr thenBranch = expression();
+            final Token rightOperator = token();
+            yield new Ternary(condition, leftOperator, thenBranch, rightOperator, expression());
+          }
+          case Tag.THIS -> new This(token());
+          case Tag.UNARY -> {
+            final Token operator = token();
+            yield new Unary(operator, expression());
+          }
+          case Tag.VARIABLE -> new Variable(token());
+          default -> throw new IllegalArgumentException("Unknown expression tag " + tag);
+        };
+
+    nodes.set(id, expr);
+    return expr;
+  }
+
+  /**
+   * Reads an optional type expression, numbering it.
+   *
+   * @return The type expression, or null if absent.
+   */
+  private TypeExpr type() {
+    final byte tag = buffer.get();
+    if (tag == Tag.ARRAY_TYPE) {
+      // A container type is numbered before its parts, as the writer numbered it
+      final int index = nodes.size();
+      nodes.add(null);
+      final ArrayTypeExpr array = Types.array(type());
+      nodes.set(index, array);
+      return array;
+    }
+    if (tag == Tag.CHANNEL_TYPE) {
+      final int index = nodes.size();
+      nodes.add(null);
+      final ChannelTypeExpr channel = Types.channel(type());
+      nodes.set(index, channel);
+      return channel;
+    }
+    if (tag == Tag.MAP_TYPE) {
+      final int index = nodes.size();
+      nodes.add(null);
+      final TypeExpr key = type();
+      final MapTypeExpr map = Types.map(key, type());
+      nodes.set(index, map);
+      return map;
+    }
+
+    final TypeExpr typeExpr =
+        switch (tag) {
+          case Tag.NONE -> null;
+          case Tag.TYPE -> Types.of(TYPES[buffer.get()]);
+          case Tag.IDENTIFIER_TYPE -> {
+            final Token identifier = token();
+            yield new IdentifierTypeExpr(identifier, TYPES[buffer.get()]);
+          }
+          default -> throw new IllegalArgumentException("Unknown type tag " + tag);
+        };
+    if (typeExpr != null) nodes.add(typeExpr);
+    return typeExpr;
+  }
+
+  /**
+   * Reads the types resolved by the type checker and records them on their expressions.
+   *
+   * @param statements The statements of the program, whose classes are typed by name.
+   */
+  private void resolvedTypes(List<Stmt> statements) {
+    for (Stmt statement : statements) {
+      if (statement instanceof Class klass) {
+        final ClassTypeExpr superclass =
+            klass.superclass != null ? classes.get(klass.superclass.name.lexeme) : null;
+        classes.put(klass.name.lexeme, new ClassTypeExpr(klass, superclass));
+      }
+    }
+
+    final int count = count();
+    for (int i = 0; i < count; i++) {
+      final Expr expr = (Expr) node(buffer.getInt());
+      expr.resolvedType = resolvedType();
+    }
+  }
+
+  /**
+   * Reads an optional resolved type.
+   *
+   * @return The type, or null if absent.
+   */
+  private TypeExpr resolvedType() {
+    final byte tag = buffer.get();
+    return switch (tag) {
+      case Tag.NONE -> null;
+      case Tag.TYPE -> Types.of(TYPES[buffer.get()]);
+      case Tag.IDENTIFIER_TYPE -> {
+        final Token identifier = token();
+        yield new IdentifierTypeExpr(identifier, TYPES[buffer.get()]);
+      }
+      case Tag.ARRAY_TYPE -> Types.array(resolvedType());
+      case Tag.CHANNEL_TYPE -> Types.channel(resolvedType());
+      case Tag.MAP_TYPE -> {
+        final TypeExpr key = resolvedType();
+        yield Types.map(key, resolvedType());
+      }
+      case Tag.CLASS_TYPE -> klass(string());
+      case Tag.INSTANCE_TYPE -> new ClassInstanceTypeExpr(klass(string()));
+      case Tag.FUNCTION_TYPE -> {
+        final TypeExpr returnType = resolvedType();
+        final List<Parameter> parameters = new ArrayList<>();
+        final int count = count();
+        for (int i = 0; i < count; i++) {
+          parameters.add(new Parameter(SYNTHETIC_NAME, resolvedType()));
+        }
+        yield Types.function(returnType, parameters);
+      }
+      case Tag.GENERIC_TYPE -> {
+        final Type[] types = new Type[count()];
+        for (int i = 0; i < types.length; i++) {
+          types[i] = TYPES[buffer.get()];
+        }
+        yield new GenericTypeExpr(types);
+      }
+      case Tag.GENERIC_ALL_TYPE -> Types.all();
+      default -> throw new IllegalArgumentException("Unknown resolved type tag " + tag);
+    };
+  }
+
+  /**
+   * Returns the type of a class declared by the program.
+   *
+   * @param name The name of the class.
+   * @return The type of the class.
+   */
+  private ClassTypeExpr klass(String name) {
+    final ClassTypeExpr klass = classes.get(name);
+    if (klass == null) throw new IllegalArgumentException("Unknown class " + name);
+    return klass;
+  }
+
+  /**
+   * Reads a token.
+   *
+   * @return The token.
+   */
+  private Token token() {
+    final TokenType type = TOKEN_TYPES[buffer.get()];
+    final String lexeme = string();
+    final int line = buffer.getInt();
+    final int col = buffer.getInt();
+    return new Token(type, lexeme, null, line, col);
+  }
+
+  /**
+   * Reads a reference into the string table.
+   *
+   * @return The string.
+   */
+  private String string() {
+    return strings[buffer.getInt()];
+  }
+
+  /**
+   * Reads a non-negative count.
+   *
+   * @return The count.
+   */
+  private int count() {
+    final int count = buffer.getInt();
+    if (count < 0 || count > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid count " + count);
+    }
+    return count;
+  }
+
+  /**
+   * Looks up a numbered node.
+   *
+   * @param id The number of the node.
+   * @return The node.
+   */
+  private Object node(int id) {
+    if (id < 0 || id >= nodes.size()) throw new IllegalArgumentException("Invalid node " + id);
+    return nodes.get(id);
+  }
+}
@@ -0,0 +1,521 @@
+package com.github.gris.cache;
+
+import com.github.gris.ast.Capture;
+import com.github.gris.ast.Parameter;
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.*;
+import com.github.gris.ast.stmt.Class;
+import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.ast.visitor.StmtVisitor;
+import com.github.gris.lexer.Token;
+import com.github.gris.typing.type.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes a checked program into the binary format read by {@link AstReader}. Every expression
+ * and type expression is numbered in the order it is written, and the bindings the resolver
+ * recorded on expressions are stored against those numbers. Globals are stored by name rather than
+ * slot, since they are given slots again when the program is loaded. The types the type checker
+ * resolved for expressions follow, with classes referred to by name.
+ */
+class AstWriter implements ExprVisitor<Void>, StmtVisitor<Void> {
+  /** The buffer the program body is written to before the string table is known. */
+  private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+  /** The output stream over {@link #bytes}. */
+  private final DataOutputStream out = new DataOutputStream(bytes);
+
+  /** The string table, mapping each distinct string to its index. */
+  private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+  /** The number given to each expression and type expression written so far. */
+  private final Map<Object, Integer> nodes = new IdentityHashMap<>();
+
+  /** The number given to the next expression or type expression. */
+  private int next = 0;
+
+  /**
+   * Serializes a program.
+   *
+   * @param hash The hash of the source the program was compiled from.
+   * @param statements The checked statements of the program.
+   * @param globalNames The names of the global slots, in slot order.
+   * @return The serialized program.
+   */
+  byte[] write(byte[] hash, List<Stmt> statements, List<String> globalNames) {
+    try {
+      out.writeInt(statements.size());
+      for (Stmt statement : statements) {
+        write(statement);
+      }
+
+      bindings(globalNames);
+      resolvedTypes();
+
+      final ByteArrayOutputStream file = new ByteArrayOutputStream(bytes.size() + 1024);
+      final DataOutputStream header = new DataOutputStream(file);
+      header.writeInt(ProgramCache.MAGIC);
+      header.writeInt(ProgramCache.VERSION);
+      header.write(hash);
+      header.writeInt(strings.size());
+      for (String string : strings.keySet()) {
+        final byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+        header.writeInt(encoded.length);
+        header.write(encoded);
+      }
+      bytes.writeTo(file);
+      return file.toByteArray();
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  @Override
+  public Void visitAssignExpr(Assign expr) {
+    tag(Tag.ASSIGN);
+    token(expr.name);
+    write(expr.value);
+    tag((byte) (expr.numeric ? 1 : 0));
+    return null;
+  }
+
+  @Override
+  public Void visitBinaryExpr(Binary expr) {
+    tag(Tag.BINARY);
+    write(expr.left);
+    token(expr.operator);
+    write(expr.right);
+    return null;
+  }
+
+  @Override
+  public Void visitCallExpr(Call expr) {
+    tag(Tag.CALL);
+    write(expr.callee);
+    token(expr.parenthesis);
+    integer(expr.arguments.size());
+    for (Expr argument : expr.arguments) {
+      write(argument);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visitGetExpr(Get expr) {
+    tag(Tag.GET);
+    write(expr.object);
+    token(expr.name);
+    return null;
+  }
+
+  @Override
+  public Void visitGroupingExpr(Grouping expr) {
+    tag(Tag.GROUPING);
+    write(expr.expression);
+    return null;
+  }
+
+  @Override
+  public Void visitLiteralExpr(Literal expr) {
+    tag(Tag.LITERAL);
+    tag((byte) expr.type.ordinal());
+    try {
+      if (expr.value == null) {
+        out.writeByte(Tag.NULL_VALUE);
+      } else if (expr.value instanceof Boolean value) {
+        out.writeByte(Tag.BOOLEAN_VALUE);
+        out.writeBoolean(value);
+      } else if (expr.value instanceof Double value) {
+        out.writeByte(Tag.NUMBER_VALUE);
+        out.writeDouble(value);
+      } else {
+        out.writeByte(Tag.STRING_VALUE);
+        out.writeInt(string((String) expr.value));
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visitLogicalExpr(Logical expr) {
+    tag(Tag.LOGICAL);
+    write(expr.left);
+    token(expr.operator);
+    write(expr.right);
+    return null;
+  }
+
+  @Override
+  public Void visitSetExpr(Set expr) {
+    tag(Tag.SET);
+    write(expr.object);
+    token(expr.name);
+    write(expr.value);
+    return null;
+  }
+
+  @Override
+  public Void visitSuperExpr(Super expr) {
+    tag(Tag.SUPER);
+    token(expr.keyword);
+    token(expr.method);
+    return null;
+  }
+
+  @Override
+  public Void visitTernaryExpr(Ternary expr) {
+    tag(Tag.TERNARY);
+    write(expr.condition);
+    token(expr.leftOperator);
+    write(expr.thenBranch);
+    token(expr.rightOperator);
+    write(expr.elseBranch);
+    return null;
+  }
+
+  @Override
+  public Void visitThisExpr(This expr) {
+    tag(Tag.THIS);
+    token(expr.keyword);
+    return null;
+  }
+
+  @Override
+  public Void visitUnaryExpr(Unary expr) {
+    tag(Tag.UNARY);
+    token(expr.operator);
+    write(expr.right);
+    return null;
+  }
+
+  @Override
+  public Void visitVariableExpr(Variable expr) {
+    tag(Tag.VARIABLE);
+    token(expr.name);
+    return null;
+  }
+
+  @Override
+  public Void visitBlockStmt(Block stmt) {
+    tag(Tag.BLOCK);
+    statements(stmt.statements);
+    tag((byte) (stmt.scoped ? 1 : 0));
+    return null;
+  }
+
+  @Override
+  public Void visitClassStmt(Class stmt) {
+    tag(Tag.CLASS);
+    token(stmt.name);
+    write(stmt.superclass);
+    integer(stmt.methods.size());
+    for (Function method : stmt.methods) {
+      write(method);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visitExpressionStmt(Expression stmt) {
+    tag(Tag.EXPRESSION);
+    write(stmt.expression);
+    return null;
+  }
+
+  @Override
+  public Void visitFunctionStmt(Function stmt) {
+    tag(Tag.FUNCTION);
+    token(stmt.name);
+    integer(stmt.parameters.size());
+    for (Parameter parameter : stmt.parameters) {
+      token(parameter.name);
+      type(parameter.type);
+    }
+    type(stmt.returnType);
+    statements(stmt.body);
+    integer(stmt.captures.size());
+    for (Capture capture : stmt.captures) {
+      integer(string(capture.name));
+      tag((byte) (capture.local ? 1 : 0));
+      integer(capture.index);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visitIfStmt(If stmt) {
+    tag(Tag.IF);
+    write(stmt.condition);
+    write(stmt.thenBranch);
+    write(stmt.elseBranch);
+    return null;
+  }
+
+  @Override
+  public Void visitInvalidStmt(Invalid stmt) {
+    throw new IllegalStateException("Programs that failed to parse are not cached");
+  }
+
+  @Override
+  public Void visitReturnStmt(Return stmt) {
+    tag(Tag.RETURN);
+    token(stmt.keyword);
+    write(stmt.value);
+    return null;
+  }
+
+  @Override
+  public Void visitValStmt(Val stmt) {
+    tag(Tag.VAL);
+    token(stmt.name);
+    type(stmt.type);
+    write(stmt.initializer);
+    tag((byte) (stmt.captured ? 1 : 0));
+    tag((byte) (stmt.numeric ? 1 : 0));
+    return null;
+  }
+
+  @Override
+  public Void visitWhileStmt(While stmt) {
+    tag(Tag.WHILE);
+    write(stmt.condition);
+    write(stmt.body);
+    return null;
+  }
+
+  /**
+   * Writes the binding recorded on every resolved expression, ordered by node number so that the
+   * same program always produces the same file. Local and captured variables are written with
+   * their depth or capture index, and globals with their name.
+   *
+   * @param globalNames The names of the global slots, in slot order.
+   */
+  private void bindings(List<String> globalNames) {
+    final List<Map.Entry<Object, Integer>> bound = new ArrayList<>();
+    for (Map.Entry<Object, Integer> node : nodes.entrySet()) {
+      if (node.getKey() instanceof Expr expr && expr.binding != Expr.UNBOUND) bound.add(node);
+    }
+    bound.sort(Map.Entry.comparingByValue());
+
+    integer(bound.size());
+    for (Map.Entry<Object, Integer> node : bound) {
+      final Expr expr = (Expr) node.getKey();
+      integer(node.getValue());
+      tag(expr.binding);
+      integer(expr.binding == Expr.GLOBAL ? string(globalNames.get(expr.index)) : expr.index);
+    }
+  }
+
+  /**
+   * Writes a list of statements, preceded by its length.
+   *
+   * @param statements The statements to write.
+   */
+  private void statements(List<Stmt> statements) {
+    integer(statements.size());
+    for (Stmt statement : statements) {
+      write(statement);
+    }
+  }
+
+  /**
+   * Writes an optional statement.
+   *
+   * @param stmt The statement to write, or null.
+   */
+  private void write(Stmt stmt) {
+    if (stmt == null) {
+      tag(Tag.NONE);
+    } else {
+      stmt.accept(this);
+    }
+  }
+
+  /**
+   * Writes an optional expression, numbering it before its children.
+   *
+   * @param expr The expression to write, or null.
+   */
+  private void write(Expr expr) {
+    if (expr == null) {
+      tag(Tag.NONE);
+    } else {
+      nodes.put(expr, next++);
+      expr.accept(this);
+    }
+  }
+
+  /**
+   * Writes an optional type expression as it appears in source, numbering it.
+   *
+   * @param typeExpr The type expression to write, or null.
+   */
+  private void type(TypeExpr typeExpr) {
+    if (typeExpr == null) {
+      tag(Tag.NONE);
+      return;
+    }
+
+    nodes.put(typeExpr, next++);
+    if (typeExpr instanceof ArrayTypeExpr array) {
+      tag(Tag.ARRAY_TYPE);
+      type(array.element);
+      return;
+    }
+    if (typeExpr instanceof ChannelTypeExpr channel) {
+      tag(Tag.CHANNEL_TYPE);
+      type(channel.element);
+      return;
+    }
+    if (typeExpr instanceof MapTypeExpr map) {
+      tag(Tag.MAP_TYPE);
+      type(map.key);
+      type(map.value);
+      return;
+    }
+    if (typeExpr instanceof IdentifierTypeExpr identifier) {
+      tag(Tag.IDENTIFIER_TYPE);
+      token(identifier.identifier);
+    } else if (typeExpr.getClass() == TypeExpr.class) {
+      tag(Tag.TYPE);
+    } else {
+      throw new IllegalStateException("Unexpected type expression in source: " + typeExpr);
+    }
+    tag((byte) typeExpr.type.ordinal());
+  }
+
+  /**
+   * Writes the types resolved by the type checker, against the numbers of their expressions.
+   */
+  private void resolvedTypes() {
+    final List<Map.Entry<Object, Integer>> typed = new ArrayList<>();
+    for (Map.Entry<Object, Integer> node : nodes.entrySet()) {
+      if (node.getKey() instanceof Expr expr && expr.resolvedType != null) typed.add(node);
+    }
+    typed.sort(Map.Entry.comparingByValue());
+
+    integer(typed.size());
+    for (Map.Entry<Object, Integer> node : typed) {
+      integer(node.getValue());
+      resolvedType(((Expr) node.getKey()).resolvedType);
+    }
+  }
+
+  /**
+   * Writes an optional resolved type. Classes are written by name, as the reader rebuilds one type
+   * for each class declared by the program.
+   *
+   * @param typeExpr The type to write, or null.
+   */
+  private void resolvedType(TypeExpr typeExpr) {
+    switch (typeExpr) {
+      case null -> tag(Tag.NONE);
+      case ArrayTypeExpr array -> {
+        tag(Tag.ARRAY_TYPE);
+        resolvedType(array.element);
+      }
+      case ChannelTypeExpr channel -> {
+        tag(Tag.CHANNEL_TYPE);
+        resolvedType(channel.element);
+      }
+      case MapTypeExpr map -> {
+        tag(Tag.MAP_TYPE);
+        resolvedType(map.key);
+        resolvedType(map.value);
+      }
+      case ClassTypeExpr klass -> {
+        tag(Tag.CLASS_TYPE);
+        integer(string(klass.name));
+      }
+      case ClassInstanceTypeExpr instance -> {
+        tag(Tag.INSTANCE_TYPE);
+        integer(string(instance.klass.name));
+      }
+      case FunctionTypeExpr function -> {
+        tag(Tag.FUNCTION_TYPE);
+        resolvedType(function.returnType);
+        integer(function.parameters.size());
+        for (TypeExpr parameter : function.parameters) {
+          resolvedType(parameter);
+        }
+      }
+      case GenericAllTypeExpr ignored -> tag(Tag.GENERIC_ALL_TYPE);
+      case GenericTypeExpr generic -> {
+        tag(Tag.GENERIC_TYPE);
+        integer(generic.types.size());
+        for (Type type : generic.types) {
+          tag((byte) type.ordinal());
+        }
+      }
+      case IdentifierTypeExpr identifier -> {
+        tag(Tag.IDENTIFIER_TYPE);
+        token(identifier.identifier);
+        tag((byte) identifier.type.ordinal());
+      }
+      default -> {
+        tag(Tag.TYPE);
+        tag((byte) typeExpr.type.ordinal());
+      }
+    }
+  }
+
+  /**
+   * Writes a token.
+   *
+   * @param token The token to write.
+   */
+  private void token(Token token) {
+    tag((byte) token.type.ordinal());
+    integer(string(token.lexeme));
+    integer(token.line);
+    integer(token.col);
+  }
+
+  /**
+   * Returns the index of a string in the string table, adding it if necessary.
+   *
+   * @param string The string.
+   * @return The index of the string.
+   */
+  private int string(String string) {
+    return strings.computeIfAbsent(string, key -> strings.size());
+  }
+
+  /**
+   * Writes a single byte.
+   *
+   * @param tag The byte to write.
+   */
+  private void tag(byte tag) {
+    try {
+      out.writeByte(tag);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Writes an integer.
+   *
+   * @param value The integer to write.
+   */
+  private void integer(int value) {
+    try {
+      out.writeInt(value);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.gris.cache;
+
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.runtime.Interpreter;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caches checked programs in a compact binary file next to their source ({@code foo.gris} is
+ * cached as {@code foo.grisc}), so repeated runs of an unchanged script skip lexing, parsing,
+ * resolving, and type checking.
+ *
+ * <p>The file starts with a magic number, a format version, and the SHA-256 hash of the source it
+ * was compiled from, followed by a string table, the statements, and the resolver's scope depths,
+ * captures and global slots.
+ * A cache whose version or hash does not match is ignored and rewritten, so editing a script
+ * invalidates it automatically.
+ */
+public final class ProgramCache {
+  /** The magic number identifying a cache file, "GRSC". */
+  static final int MAGIC = 0x47525343;
+
+  /** The version of the format, bumped whenever the layout changes. */
+  static final int VERSION = 12;
+
+  /** The length of the source hash in bytes. */
+  private static final int HASH_LENGTH = 32;
+
+  private ProgramCache() {}
+
+  /**
+   * Returns the cache file used for a source file.
+   *
+   * @param source The path of the {@code .gris} source file.
+   * @return The path of the {@code .grisc} cache file.
+   */
+  public static Path pathFor(Path source) {
+    return source.resolveSibling(source.getFileName().toString() + "c");
+  }
+
+  /**
+   * Loads a cached program, registering its scope depths with the interpreter.
+   *
+   * @param cache The path of the cache file.
+   * @param source The current source of the program.
+   * @param interpreter The interpreter the program will run on.
+   * @return The cached statements, or null if there is no valid cache for this source.
+   */
+  public static List<Stmt> load(Path cache, String source, Interpreter interpreter) {
+    try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (buffer.remaining() < 8 + HASH_LENGTH) return null;
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+      final byte[] hash = new byte[HASH_LENGTH];
+      buffer.get(hash);
+      if (!Arrays.equals(hash, hash(source))) return null;
+
+      return new AstReader(buffer).read(interpreter);
+    } catch (NoSuchFileException exception) {
+      return null;
+    } catch (IOException
+        | BufferUnderflowException
+        | IndexOutOfBoundsException
+        | IllegalArgumentException
+        | ClassCastException exception) {
+      // A corrupt or unreadable cache is treated as missing and rewritten
+      return null;
+    }
+  }
+
+  /**
+   * Stores a checked program. The file is written to a temporary sibling and moved into place, so
+   * a concurrent run never sees a partial cache. Failing to write the cache is not an error.
+   *
+   * @param cache The path of the cache file.
+   * @param source The source the program was compiled from.
+   * @param statements The checked statements of the program.
+   * @param interpreter The interpreter holding the names of the program's global slots.
+   */
+  public static void store(
+      Path cache, String source, List<Stmt> statements, Interpreter interpreter) {
+    final byte[] bytes =
+        new AstWriter().write(hash(source), statements, interpreter.globalTable.names());
+
+    Path temporary = null;
+    try {
+      temporary = Files.createTempFile(cache.toAbsolutePath().getParent(), ".grisc", ".tmp");
+      Files.write(temporary, bytes);
+      Files.move(
+          temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException exception) {
+      if (temporary != null) {
+        try {
+          Files.deleteIfExists(temporary);
+        } catch (IOException ignored) {
+          // Nothing more can be done
+        }
+      }
+    }
+  }
+
+  /**
+   * Hashes a program's source.
+   *
+   * @param source The source.
+   * @return The SHA-256 hash of the source's UTF-8 encoding.
+   */
+  private static byte[] hash(String source) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException exception) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(exception);
+    }
+  }
+}
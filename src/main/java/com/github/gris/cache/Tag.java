@@ -0,0 +1,54 @@
+package com.github.gris.cache;
+
+/** Node tags used in the binary program format, one byte per node. */
+final class Tag {
+  /** Marks an absent optional node, such as a missing else branch. */
+  static final byte NONE = 0;
+
+  // Statements
+  static final byte BLOCK = 1;
+  static final byte CLASS = 2;
+  static final byte EXPRESSION = 3;
+  static final byte FUNCTION = 4;
+  static final byte IF = 5;
+  static final byte RETURN = 6;
+  static final byte VAL = 7;
+  static final byte WHILE = 8;
+
+  // Expressions
+  static final byte ASSIGN = 16;
+  static final byte BINARY = 17;
+  static final byte CALL = 18;
+  static final byte GET = 19;
+  static final byte GROUPING = 20;
+  static final byte LITERAL = 21;
+  static final byte LOGICAL = 22;
+  static final byte SET = 23;
+  static final byte SUPER = 24;
+  static final byte TERNARY = 25;
+  static final byte THIS = 26;
+  static final byte UNARY = 27;
+  static final byte VARIABLE = 28;
+
+  // Type expressions
+  static final byte TYPE = 32;
+  static final byte IDENTIFIER_TYPE = 33;
+  static final byte ARRAY_TYPE = 34;
+  static final byte MAP_TYPE = 35;
+  static final byte CHANNEL_TYPE = 36;
+
+  // Resolved types, which only appear in the table of types computed by the type checker
+  static final byte CLASS_TYPE = 40;
+  static final byte INSTANCE_TYPE = 41;
+  static final byte FUNCTION_TYPE = 42;
+  static final byte GENERIC_TYPE = 43;
+  static final byte GENERIC_ALL_TYPE = 44;
+
+  // Literal values
+  static final byte NULL_VALUE = 0;
+  static final byte BOOLEAN_VALUE = 1;
+  static final byte NUMBER_VALUE = 2;
+  static final byte STRING_VALUE = 3;
+
+  private Tag() {}
+}
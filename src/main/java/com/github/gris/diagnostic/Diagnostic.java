@@ -0,0 +1,110 @@
+package com.github.gris.diagnostic;
+
+import com.github.gris.lexer.LexingError;
+import com.github.gris.parser.ParsingError;
+import com.github.gris.resolver.ResolvingError;
+import com.github.gris.typing.TypingError;
+
+/** Represents a single problem found in a program by one of the front-end phases. */
+public class Diagnostic {
+  /** The phase that reported the problem. */
+  public final Phase phase;
+
+  /** The description of the problem. */
+  public final String message;
+
+  /** The line number where the problem occurred. */
+  public final int line;
+
+  /** The column number where the problem occurred. */
+  public final int col;
+
+  /** The source line where the problem occurred. */
+  public final String sourceLine;
+
+  /**
+   * Constructs a Diagnostic with the specified phase, message, line number, column number, and
+   * source line.
+   *
+   * @param phase The phase that reported the problem.
+   * @param message The description of the problem.
+   * @param line The line number where the problem occurred.
+   * @param col The column number where the problem occurred.
+   * @param sourceLine The source line where the problem occurred.
+   */
+  public Diagnostic(Phase phase, String message, int line, int col, String sourceLine) {
+    this.phase = phase;
+    this.message = message;
+    this.line = line;
+    this.col = col;
+    this.sourceLine = sourceLine;
+  }
+
+  /**
+   * Creates a diagnostic from a lexing error.
+   *
+   * @param error The lexing error.
+   * @return The corresponding diagnostic.
+   */
+  public static Diagnostic of(LexingError error) {
+    return new Diagnostic(
+        Phase.LEXING, error.getMessage(), error.line, error.col, error.sourceLine);
+  }
+
+  /**
+   * Creates a diagnostic from a parsing error.
+   *
+   * @param error The parsing error.
+   * @return The corresponding diagnostic.
+   */
+  public static Diagnostic of(ParsingError error) {
+    return new Diagnostic(
+        Phase.PARSING, error.getMessage(), error.line, error.col, error.sourceLine);
+  }
+
+  /**
+   * Creates a diagnostic from a resolving error.
+   *
+   * @param error The resolving error.
+   * @return The corresponding diagnostic.
+   */
+  public static Diagnostic of(ResolvingError error) {
+    return new Diagnostic(
+        Phase.RESOLVING, error.getMessage(), error.line, error.col, error.sourceLine);
+  }
+
+  /**
+   * Creates a diagnostic from a typing error.
+   *
+   * @param error The typing error.
+   * @return The corresponding diagnostic.
+   */
+  public static Diagnostic of(TypingError error) {
+    return new Diagnostic(
+        Phase.TYPING, error.getMessage(), error.line, error.col, error.sourceLine);
+  }
+
+  /**
+   * Generates a string representation of the diagnostic, in the same format as the error it was
+   * created from.
+   *
+   * @return A string representing the diagnostic.
+   */
+  @Override
+  public String toString() {
+    // Create a pointer to indicate the exact position of the problem in the source line
+    String pointer = "\t";
+    pointer +=
+        " "
+            .repeat(
+                (String.valueOf(line).length() + 1)
+                    + (String.valueOf(col).length() + 3)
+                    + Math.max(col - 1, 0));
+    pointer += '^';
+
+    // Phase names read as "Lexing", "Parsing", ... to match the error classes
+    final String name = phase.name().charAt(0) + phase.name().substring(1).toLowerCase();
+    return String.format(
+        "[%s Error] %s\n\t%d:%d | %s\n%s", name, message, line, col, sourceLine, pointer);
+  }
+}
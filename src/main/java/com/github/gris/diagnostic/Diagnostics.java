@@ -0,0 +1,85 @@
+package com.github.gris.diagnostic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the diagnostics reported by the front-end phases when they run in diagnostics mode.
+ * Rather than stopping at the first error, each phase reports it here and recovers at the next
+ * statement. The collector is bounded: once {@link #limit} diagnostics have been reported it is
+ * full, and the phases stop analysing, so a badly broken script costs no more than a clean one.
+ */
+public class Diagnostics {
+  /** The default maximum number of diagnostics collected for one program. */
+  public static final int DEFAULT_LIMIT = 100;
+
+  /** The maximum number of diagnostics collected. */
+  public final int limit;
+
+  /** The diagnostics collected so far, in the order they were reported. */
+  private final List<Diagnostic> diagnostics = new ArrayList<>();
+
+  /** Source positions, packed as line and column, that already have a diagnostic. */
+  private final Set<Long> positions = new HashSet<>();
+
+  /** Constructs a Diagnostics collector with the default limit. */
+  public Diagnostics() {
+    this(DEFAULT_LIMIT);
+  }
+
+  /**
+   * Constructs a Diagnostics collector with the given limit.
+   *
+   * @param limit The maximum number of diagnostics collected.
+   */
+  public Diagnostics(int limit) {
+    if (limit < 1) throw new IllegalArgumentException("Limit must be positive");
+    this.limit = limit;
+  }
+
+  /**
+   * Reports a diagnostic. A later phase often trips over the same mistake as an earlier one (an
+   * undefined name is both a resolving and a typing error), so only the first diagnostic for a
+   * given source position is kept.
+   *
+   * @param diagnostic The diagnostic to report.
+   */
+  public void report(Diagnostic diagnostic) {
+    if (isFull()) return;
+    if (positions.add(((long) diagnostic.line << 32) | (diagnostic.col & 0xffffffffL))) {
+      diagnostics.add(diagnostic);
+    }
+  }
+
+  /**
+   * Checks if the limit has been reached, after which further analysis is skipped.
+   *
+   * @return True if no more diagnostics will be collected, otherwise false.
+   */
+  public boolean isFull() {
+    return diagnostics.size() >= limit;
+  }
+
+  /**
+   * Checks if any diagnostic has been reported.
+   *
+   * @return True if at least one diagnostic has been reported, otherwise false.
+   */
+  public boolean hasErrors() {
+    return !diagnostics.isEmpty();
+  }
+
+  /**
+   * Returns the collected diagnostics ordered by their position in the source.
+   *
+   * @return An unmodifiable list of diagnostics.
+   */
+  public List<Diagnostic> getDiagnostics() {
+    final List<Diagnostic> sorted = new ArrayList<>(diagnostics);
+    sorted.sort(Comparator.comparingInt((Diagnostic d) -> d.line).thenComparingInt(d -> d.col));
+    return List.copyOf(sorted);
+  }
+}
@@ -0,0 +1,12 @@
+package com.github.gris.diagnostic;
+
+/** Enum representing the front-end phase that reported a diagnostic. */
+public enum Phase {
+  LEXING,
+
+  PARSING,
+
+  RESOLVING,
+
+  TYPING,
+}
@@ -1,5 +1,8 @@
 package com.github.gris.lexer;
 
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +31,9 @@ public final class Lexer {
   /** List to store the source lines. */
   private final List<String> sourceLines;
 
+  /** The collector errors are reported to in diagnostics mode, or null to throw them. */
+  private final Diagnostics diagnostics;
+
   // Map to store keywords and their corresponding token types
   private static final Map<String, TokenType> keywords;
 
@@ -61,8 +67,20 @@ public final class Lexer {
    * @param source The source code to be tokenized.
    */
   public Lexer(String source) {
+    this(source, null);
+  }
+
+  /**
+   * Constructs a Lexer object in diagnostics mode, which reports errors to the given collector and
+   * carries on scanning after them.
+   *
+   * @param source The source code to be tokenized.
+   * @param diagnostics The collector errors are reported to, or null to throw them.
+   */
+  public Lexer(String source, Diagnostics diagnostics) {
     this.source = source;
     this.sourceLines = splitSourceIntoLines(source);
+    this.diagnostics = diagnostics;
   }
 
   /**
@@ -73,7 +91,13 @@ public final class Lexer {
   public List<Token> scanTokens() {
     while (!isAtEnd()) {
       start = current;
-      scanToken();
+      try {
+        scanToken();
+      } catch (LexingError error) {
+        if (diagnostics == null) throw error;
+        diagnostics.report(Diagnostic.of(error));
+        if (diagnostics.isFull()) break;
+      }
     }
     tokens.add(new Token(TokenType.EOF, "", null, line, col + 1));
     return tokens;
@@ -0,0 +1,329 @@
+package com.github.gris.optimizer;
+
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.*;
+import com.github.gris.ast.stmt.Class;
+import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.ast.visitor.StmtVisitor;
+import com.github.gris.lexer.TokenType;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.GrisBoolean;
+import com.github.gris.runtime.value.GrisNumber;
+import com.github.gris.runtime.value.GrisString;
+import com.github.gris.runtime.value.GrisType;
+import com.github.gris.typing.type.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimization pass run between type checking and interpretation. It folds constant
+ * subexpressions into literals, applies algebraic identities that are exact for doubles, removes
+ * branches and loops whose condition is constant, and creates the runtime value of every literal
+ * ahead of time.
+ *
+ * <p>Constants are evaluated with the interpreter itself so folding can never change what a
+ * program computes; an expression that fails to evaluate is left for the program to fail on at
+ * runtime. Nodes are rewritten in place, which keeps the identity of resolved variables intact.
+ */
+public class ConstantFolder implements ExprVisitor<Expr>, StmtVisitor<Stmt> {
+  /** Built-in functions without side effects, whose calls may be folded. */
+  private static final List<String> PURE_BUILTINS =
+      List.of("abs", "charAt", "len", "substring", "trim");
+
+  /** The interpreter the program will run on. */
+  private final Interpreter interpreter;
+
+  /**
+   * Constructs a ConstantFolder for programs run on the given interpreter.
+   *
+   * @param interpreter The interpreter, already holding the program's scope depths.
+   */
+  public ConstantFolder(Interpreter interpreter) {
+    this.interpreter = interpreter;
+  }
+
+  /**
+   * Optimizes a type checked program.
+   *
+   * @param statements The statements of the program.
+   * @return The optimized statements.
+   */
+  public List<Stmt> fold(List<Stmt> statements) {
+    return this.foldAll(statements);
+  }
+
+  @Override
+  public Expr visitAssignExpr(Assign expr) {
+    expr.value = fold(expr.value);
+    return expr;
+  }
+
+  @Override
+  public Expr visitBinaryExpr(Binary expr) {
+    expr.left = fold(expr.left);
+    expr.right = fold(expr.right);
+
+    if (expr.left instanceof Literal && expr.right instanceof Literal) return constant(expr);
+
+    switch (expr.operator.type) {
+      case STAR -> {
+        if (isNumber(expr.right, 1)) return expr.left;
+        if (isNumber(expr.left, 1)) return expr.right;
+      }
+      case SLASH -> {
+        if (isNumber(expr.right, 1)) return expr.left;
+      }
+      case MINUS -> {
+        if (isNumber(expr.right, 0)) return expr.left;
+      }
+    }
+    return expr;
+  }
+
+  @Override
+  public Expr visitCallExpr(Call expr) {
+    expr.callee = fold(expr.callee);
+
+    boolean constantArguments = true;
+    for (int i = 0; i < expr.arguments.size(); i++) {
+      final Expr argument = fold(expr.arguments.get(i));
+      expr.arguments.set(i, argument);
+      constantArguments &= argument instanceof Literal;
+    }
+
+    if (constantArguments && isPureBuiltin(expr.callee)) return constant(expr);
+    return expr;
+  }
+
+  @Override
+  public Expr visitGetExpr(Get expr) {
+    expr.object = fold(expr.object);
+    return expr;
+  }
+
+  @Override
+  public Expr visitGroupingExpr(Grouping expr) {
+    return fold(expr.expression);
+  }
+
+  @Override
+  public Expr visitLiteralExpr(Literal expr) {
+    if (expr.runtimeValue == null) expr.runtimeValue = interpreter.evaluate(expr);
+    return expr;
+  }
+
+  @Override
+  public Expr visitLogicalExpr(Logical expr) {
+    expr.left = fold(expr.left);
+    expr.right = fold(expr.right);
+
+    if (expr.left instanceof Literal literal && literal.value instanceof Boolean value) {
+      final boolean shortCircuits = (expr.operator.type == TokenType.OR) == value;
+      return shortCircuits ? expr.left : expr.right;
+    }
+    return expr;
+  }
+
+  @Override
+  public Expr visitSetExpr(Set expr) {
+    expr.object = fold(expr.object);
+    expr.value = fold(expr.value);
+    return expr;
+  }
+
+  @Override
+  public Expr visitSuperExpr(Super expr) {
+    return expr;
+  }
+
+  @Override
+  public Expr visitTernaryExpr(Ternary expr) {
+    expr.condition = fold(expr.condition);
+    expr.thenBranch = fold(expr.thenBranch);
+    expr.elseBranch = fold(expr.elseBranch);
+
+    if (expr.condition instanceof Literal literal && literal.value instanceof Boolean value) {
+      return value ? expr.thenBranch : expr.elseBranch;
+    }
+    return expr;
+  }
+
+  @Override
+  public Expr visitThisExpr(This expr) {
+    return expr;
+  }
+
+  @Override
+  public Expr visitUnaryExpr(Unary expr) {
+    expr.right = fold(expr.right);
+
+    if (expr.right instanceof Literal) return constant(expr);
+    // Both '-' and '!' are their own inverse
+    if (expr.right instanceof Unary inner && inner.operator.type == expr.operator.type) {
+      return inner.right;
+    }
+    return expr;
+  }
+
+  @Override
+  public Expr visitVariableExpr(Variable expr) {
+    return expr;
+  }
+
+  @Override
+  public Stmt visitBlockStmt(Block stmt) {
+    stmt.statements = foldAll(stmt.statements);
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitClassStmt(Class stmt) {
+    for (Function method : stmt.methods) {
+      method.body = foldAll(method.body);
+    }
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitExpressionStmt(Expression stmt) {
+    stmt.expression = fold(stmt.expression);
+    // A constant on its own has no effect
+    return stmt.expression instanceof Literal ? null : stmt;
+  }
+
+  @Override
+  public Stmt visitFunctionStmt(Function stmt) {
+    stmt.body = foldAll(stmt.body);
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitIfStmt(If stmt) {
+    stmt.condition = fold(stmt.condition);
+    stmt.thenBranch = stmt.thenBranch.accept(this);
+    stmt.elseBranch = stmt.elseBranch != null ? stmt.elseBranch.accept(this) : null;
+
+    if (stmt.condition instanceof Literal literal && literal.value instanceof Boolean value) {
+      return value ? stmt.thenBranch : stmt.elseBranch;
+    }
+    if (stmt.thenBranch == null) stmt.thenBranch = empty();
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitInvalidStmt(Invalid stmt) {
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitReturnStmt(Return stmt) {
+    if (stmt.value != null) stmt.value = fold(stmt.value);
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitValStmt(Val stmt) {
+    if (stmt.initializer != null) stmt.initializer = fold(stmt.initializer);
+    return stmt;
+  }
+
+  @Override
+  public Stmt visitWhileStmt(While stmt) {
+    stmt.condition = fold(stmt.condition);
+    if (stmt.condition instanceof Literal literal && Boolean.FALSE.equals(literal.value)) {
+      return null;
+    }
+
+    stmt.body = stmt.body.accept(this);
+    if (stmt.body == null) stmt.body = empty();
+    return stmt;
+  }
+
+  /**
+   * Folds an expression.
+   *
+   * @param expr The expression to fold.
+   * @return The expression to use in its place.
+   */
+  private Expr fold(Expr expr) {
+    return expr.accept(this);
+  }
+
+  /**
+   * Folds a list of statements, dropping the ones left without effect.
+   *
+   * @param statements The statements to fold.
+   * @return The folded statements.
+   */
+  private List<Stmt> foldAll(List<Stmt> statements) {
+    final List<Stmt> folded = new ArrayList<>(statements.size());
+    for (Stmt statement : statements) {
+      final Stmt result = statement.accept(this);
+      if (result != null) folded.add(result);
+    }
+    return folded;
+  }
+
+  /**
+   * Evaluates an expression whose operands are all constant, replacing it with a literal.
+   *
+   * @param expr The expression to evaluate.
+   * @return A literal holding the result, or the expression itself if it could not be evaluated.
+   */
+  private Expr constant(Expr expr) {
+    final GrisType value;
+    try {
+      value = interpreter.evaluate(expr);
+    } catch (RuntimeException exception) {
+      return expr;
+    }
+
+    final Literal literal;
+    if (value instanceof GrisNumber number) literal = new Literal(number.value, Type.NUMBER);
+    else if (value instanceof GrisString string) literal = new Literal(string.value(), Type.STRING);
+    else if (value instanceof GrisBoolean bool) literal = new Literal(bool.value, Type.BOOLEAN);
+    else return expr;
+
+    literal.runtimeValue = value;
+    return literal;
+  }
+
+  /**
+   * Checks if an expression is a number literal with exactly the given value; zero only matches
+   * positive zero.
+   *
+   * @param expr The expression to check.
+   * @param value The expected value.
+   * @return True if the expression is that literal.
+   */
+  private static boolean isNumber(Expr expr, double value) {
+    return expr instanceof Literal literal
+        && literal.value instanceof Double number
+        && Double.compare(number, value) == 0;
+  }
+
+  /**
+   * Checks if a callee refers to one of the pure built-in functions, rather than to a local
+   * declaration of the same name; the resolver rejects redeclaring them globally.
+   *
+   * @param callee The callee of a call expression.
+   * @return True if the call may be evaluated ahead of time.
+   */
+  private boolean isPureBuiltin(Expr callee) {
+    if (!(callee instanceof Variable variable)) return false;
+
+    return PURE_BUILTINS.contains(variable.name.lexeme) && !interpreter.isResolved(variable);
+  }
+
+  /**
+   * Creates an empty block to stand in for a removed branch or loop body.
+   *
+   * @return The block, which declares nothing and so needs no environment.
+   */
+  private static Block empty() {
+    final Block block = new Block(new ArrayList<>());
+    block.scoped = false;
+    return block;
+  }
+}
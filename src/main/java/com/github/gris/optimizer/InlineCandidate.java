@@ -0,0 +1,324 @@
+package com.github.gris.optimizer;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.Function;
+import com.github.gris.ast.stmt.Return;
+import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.runtime.Interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A function or method whose body is a single returned expression, small enough to be copied into
+ * its call sites. Expanding a call substitutes the arguments for the parameters in a fresh copy of
+ * that expression.
+ */
+final class InlineCandidate implements ExprVisitor<Expr> {
+  /** The name reported for the function, qualified by its class for methods. */
+  final String name;
+
+  /** The names of the function's parameters. */
+  private final List<String> parameters = new ArrayList<>();
+
+  /** The returned expression. */
+  private final Expr body;
+
+  /** Whether the body calls other functions, which may reassign variables passed as arguments. */
+  private final boolean hasCalls;
+
+  /** The interpreter holding the program's resolved variables. */
+  private final Interpreter interpreter;
+
+  /** The arguments of the call being expanded. */
+  private List<Expr> arguments;
+
+  private InlineCandidate(
+      String name, Function function, Expr body, boolean hasCalls, Interpreter interpreter) {
+    this.name = name;
+    this.interpreter = interpreter;
+    for (Parameter parameter : function.parameters) {
+      this.parameters.add(parameter.name.lexeme);
+    }
+    this.body = body;
+    this.hasCalls = hasCalls;
+  }
+
+  /**
+   * Creates a candidate from a function declaration, if it can be inlined.
+   *
+   * <p>The body must be a single return of an expression of at most {@code budget} nodes, with no
+   * assignments, no use of {@code this} or {@code super}, no reference to the function's own name,
+   * and no variables other than its parameters that the resolver bound to a local scope; the
+   * remaining free variables are globals and resolve the same way from any call site.
+   *
+   * @param name The name reported for the function.
+   * @param function The function declaration.
+   * @param interpreter The interpreter holding the program's resolved variables.
+   * @param budget The maximum number of nodes in the body.
+   * @return The candidate, or null if the function can't be inlined.
+   */
+  static InlineCandidate of(
+      String name, Function function, Interpreter interpreter, int budget) {
+    if (function.body.size() != 1 || !(function.body.get(0) instanceof Return ret)) return null;
+    if (ret.value == null) return null;
+
+    final Scan scan = new Scan(function, interpreter);
+    ret.value.accept(scan);
+    if (!scan.eligible || scan.size > budget) return null;
+
+    return new InlineCandidate(name, function, ret.value, scan.hasCalls, interpreter);
+  }
+
+  /**
+   * Checks if a call with the given arguments can be replaced by the body. Every argument must be
+   * free of side effects, so evaluating it once per use instead of once per call is unobservable;
+   * variables are only accepted if the body can't reassign them through a call.
+   *
+   * @param arguments The arguments of the call.
+   * @return True if the call can be expanded.
+   */
+  boolean accepts(List<Expr> arguments) {
+    if (arguments.size() != parameters.size()) return false;
+    for (Expr argument : arguments) {
+      if (argument instanceof Literal) continue;
+      if (argument instanceof Variable && !hasCalls) continue;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Expands a call into a copy of the body with the arguments substituted for the parameters.
+   *
+   * @param arguments The arguments of the call, accepted by {@link #accepts(List)}.
+   * @return The expression to use in place of the call.
+   */
+  Expr expand(List<Expr> arguments) {
+    this.arguments = arguments;
+    try {
+      return copy(body);
+    } finally {
+      this.arguments = null;
+    }
+  }
+
+  @Override
+  public Expr visitAssignExpr(Assign expr) {
+    throw new IllegalStateException("Assignment in inlined body");
+  }
+
+  @Override
+  public Expr visitBinaryExpr(Binary expr) {
+    return new Binary(copy(expr.left), expr.operator, copy(expr.right));
+  }
+
+  @Override
+  public Expr visitCallExpr(Call expr) {
+    final List<Expr> copied = new ArrayList<>(expr.arguments.size());
+    for (Expr argument : expr.arguments) {
+      copied.add(copy(argument));
+    }
+    return new Call(copy(expr.callee), expr.parenthesis, copied);
+  }
+
+  @Override
+  public Expr visitGetExpr(Get expr) {
+    return new Get(copy(expr.object), expr.name);
+  }
+
+  @Override
+  public Expr visitGroupingExpr(Grouping expr) {
+    return new Grouping(copy(expr.expression));
+  }
+
+  @Override
+  public Expr visitLiteralExpr(Literal expr) {
+    return expr;
+  }
+
+  @Override
+  public Expr visitLogicalExpr(Logical expr) {
+    return new Logical(copy(expr.left), expr.operator, copy(expr.right));
+  }
+
+  @Override
+  public Expr visitSetExpr(Set expr) {
+    throw new IllegalStateException("Assignment in inlined body");
+  }
+
+  @Override
+  public Expr visitSuperExpr(Super expr) {
+    throw new IllegalStateException("'super' in inlined body");
+  }
+
+  @Override
+  public Expr visitTernaryExpr(Ternary expr) {
+    return new Ternary(
+        copy(expr.condition),
+        expr.leftOperator,
+        copy(expr.thenBranch),
+        expr.rightOperator,
+        copy(expr.elseBranch));
+  }
+
+  @Override
+  public Expr visitThisExpr(This expr) {
+    throw new IllegalStateException("'this' in inlined body");
+  }
+
+  @Override
+  public Expr visitUnaryExpr(Unary expr) {
+    return new Unary(expr.operator, copy(expr.right));
+  }
+
+  @Override
+  public Expr visitVariableExpr(Variable expr) {
+    final int index = parameters.indexOf(expr.name.lexeme);
+    if (index >= 0) return arguments.get(index);
+    // The remaining variables are globals, so the copy is given the original's slot
+    final Variable copy = new Variable(expr.name);
+    interpreter.resolveGlobal(copy, expr.name.lexeme);
+    return copy;
+  }
+
+  /**
+   * Copies an expression of the body, giving the copy the type the checker resolved for the
+   * original so that the typed paths of the interpreter still apply to it. Substituted arguments
+   * and shared literals keep their own types.
+   *
+   * @param expr The expression to copy.
+   * @return The copy, with parameters substituted.
+   */
+  private Expr copy(Expr expr) {
+    final Expr copy = expr.accept(this);
+    if (copy.resolvedType == null) copy.resolvedType = expr.resolvedType;
+    return copy;
+  }
+
+  /** Measures a body and checks that it only uses constructs which can be inlined. */
+  private static final class Scan implements ExprVisitor<Void> {
+    /** The function being scanned. */
+    private final Function function;
+
+    /** The interpreter holding the program's resolved variables. */
+    private final Interpreter interpreter;
+
+    /** The number of nodes seen. */
+    int size = 0;
+
+    /** Whether the body contains a call. */
+    boolean hasCalls = false;
+
+    /** Whether the body can be inlined. */
+    boolean eligible = true;
+
+    Scan(Function function, Interpreter interpreter) {
+      this.function = function;
+      this.interpreter = interpreter;
+    }
+
+    @Override
+    public Void visitAssignExpr(Assign expr) {
+      eligible = false;
+      return null;
+    }
+
+    @Override
+    public Void visitBinaryExpr(Binary expr) {
+      size++;
+      expr.left.accept(this);
+      expr.right.accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visitCallExpr(Call expr) {
+      size++;
+      hasCalls = true;
+      expr.callee.accept(this);
+      for (Expr argument : expr.arguments) {
+        argument.accept(this);
+      }
+      return null;
+    }
+
+    @Override
+    public Void visitGetExpr(Get expr) {
+      size++;
+      // A method may reach itself through any instance of its class
+      if (expr.name.lexeme.equals(function.name.lexeme)) eligible = false;
+      expr.object.accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visitGroupingExpr(Grouping expr) {
+      expr.expression.accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visitLiteralExpr(Literal expr) {
+      size++;
+      return null;
+    }
+
+    @Override
+    public Void visitLogicalExpr(Logical expr) {
+      size++;
+      expr.left.accept(this);
+      expr.right.accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visitSetExpr(Set expr) {
+      eligible = false;
+      return null;
+    }
+
+    @Override
+    public Void visitSuperExpr(Super expr) {
+      eligible = false;
+      return null;
+    }
+
+    @Override
+    public Void visitTernaryExpr(Ternary expr) {
+      size++;
+      expr.condition.accept(this);
+      expr.thenBranch.accept(this);
+      expr.elseBranch.accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visitThisExpr(This expr) {
+      eligible = false;
+      return null;
+    }
+
+    @Override
+    public Void visitUnaryExpr(Unary expr) {
+      size++;
+      expr.right.accept(this);
+      return null;
+    }
+
+    @Override
+    public Void visitVariableExpr(Variable expr) {
+      size++;
+      final String name = expr.name.lexeme;
+      if (name.equals(function.name.lexeme)) eligible = false;
+
+      boolean parameter = false;
+      for (Parameter declared : function.parameters) {
+        parameter |= declared.name.lexeme.equals(name);
+      }
+      if (!parameter && interpreter.isResolved(expr)) eligible = false;
+      return null;
+    }
+  }
+}
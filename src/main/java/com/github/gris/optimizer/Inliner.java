@@ -0,0 +1,394 @@
+package com.github.gris.optimizer;
+
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.*;
+import com.github.gris.ast.stmt.Class;
+import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.ast.visitor.StmtVisitor;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.ClassInstanceTypeExpr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optimization pass that inlines small functions at their call sites, saving the argument list,
+ * environment, and parameter definitions of each call.
+ *
+ * <p>Only top-level functions and methods whose body returns a single expression are inlined (see
+ * {@link InlineCandidate}). A call to a top-level function is expanded when its callee is the
+ * global name; a method call {@code object.name(...)} on a variable is expanded when exactly one
+ * class in the program declares {@code name} and no field of that name is ever set, so the call
+ * can't reach any other method. When several classes declare it, the call is still expanded if the
+ * type checker typed the receiver as an instance of a class that no subclass overrides the method
+ * of. The pass runs once: calls copied in by an expansion are not
+ * expanded again, which keeps mutually recursive functions finite.
+ */
+public class Inliner implements ExprVisitor<Expr>, StmtVisitor<Void> {
+  /** The default maximum number of nodes in an inlined body. */
+  public static final int DEFAULT_BUDGET = 16;
+
+  /** The maximum number of nodes in an inlined body. */
+  private final int budget;
+
+  /** The interpreter holding the program's resolved variables. */
+  private final Interpreter interpreter;
+
+  /** Whether the pass is collecting declarations, before any call is rewritten. */
+  private boolean collecting;
+
+  /** The methods declared by every class in the program, by name. */
+  private final Map<String, List<Function>> methods = new HashMap<>();
+
+  /** The classes declared by the program, by name. */
+  private final Map<String, Class> classes = new HashMap<>();
+
+  /** The class declaring each method, for the report. */
+  private final Map<Function, String> owners = new IdentityHashMap<>();
+
+  /** Names of the fields set anywhere in the program, which would shadow a method. */
+  private final java.util.Set<String> fields = new HashSet<>();
+
+  /** The top-level functions that can be inlined, by name. */
+  private final Map<String, InlineCandidate> functionCandidates = new HashMap<>();
+
+  /** The methods that can be inlined, by name. */
+  private final Map<String, InlineCandidate> methodCandidates = new HashMap<>();
+
+  /** The methods found through the type of their receiver, null for those that can't be inlined. */
+  private final Map<Function, InlineCandidate> typedCandidates = new IdentityHashMap<>();
+
+  /** The number of call sites expanded for each inlined function, in order of first expansion. */
+  private final Map<String, Integer> inlined = new LinkedHashMap<>();
+
+  /**
+   * Constructs an Inliner for programs run on the given interpreter.
+   *
+   * @param interpreter The interpreter, already holding the program's scope depths.
+   * @param budget The maximum number of nodes in an inlined body.
+   */
+  public Inliner(Interpreter interpreter, int budget) {
+    this.interpreter = interpreter;
+    this.budget = budget;
+  }
+
+  /**
+   * Inlines calls throughout a type checked program.
+   *
+   * @param statements The statements of the program.
+   * @return The statements, with calls rewritten in place.
+   */
+  public List<Stmt> inline(List<Stmt> statements) {
+    collecting = true;
+    walk(statements);
+
+    for (Stmt statement : statements) {
+      if (statement instanceof Function function) {
+        final String name = function.name.lexeme;
+        final InlineCandidate candidate = InlineCandidate.of(name, function, interpreter, budget);
+        if (candidate != null) functionCandidates.put(name, candidate);
+      }
+    }
+    for (Map.Entry<String, List<Function>> entry : methods.entrySet()) {
+      final String name = entry.getKey();
+      if (entry.getValue().size() != 1 || name.equals("constructor") || fields.contains(name)) {
+        continue;
+      }
+
+      final Function method = entry.getValue().get(0);
+      final String qualified = owners.get(method) + "." + name;
+      final InlineCandidate candidate = InlineCandidate.of(qualified, method, interpreter, budget);
+      if (candidate != null) methodCandidates.put(name, candidate);
+    }
+
+    collecting = false;
+    walk(statements);
+    return statements;
+  }
+
+  /**
+   * Describes what was inlined, one line per function.
+   *
+   * @return The lines of the report, empty if nothing was inlined.
+   */
+  public List<String> getReport() {
+    final List<String> report = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : inlined.entrySet()) {
+      final int count = entry.getValue();
+      report.add(
+          String.format(
+              "Inlined '%s' at %d call site%s", entry.getKey(), count, count == 1 ? "" : "s"));
+    }
+    return report;
+  }
+
+  @Override
+  public Expr visitAssignExpr(Assign expr) {
+    expr.value = rewrite(expr.value);
+    return expr;
+  }
+
+  @Override
+  public Expr visitBinaryExpr(Binary expr) {
+    expr.left = rewrite(expr.left);
+    expr.right = rewrite(expr.right);
+    return expr;
+  }
+
+  @Override
+  public Expr visitCallExpr(Call expr) {
+    expr.callee = rewrite(expr.callee);
+    for (int i = 0; i < expr.arguments.size(); i++) {
+      expr.arguments.set(i, rewrite(expr.arguments.get(i)));
+    }
+    if (collecting) return expr;
+
+    InlineCandidate candidate = null;
+    if (expr.callee instanceof Variable variable && !interpreter.isResolved(variable)) {
+      candidate = functionCandidates.get(variable.name.lexeme);
+    } else if (expr.callee instanceof Get get
+        && get.object instanceof Variable
+        && mayBeInstance(get.object)) {
+      candidate = methodCandidates.get(get.name.lexeme);
+      if (candidate == null && get.object.resolvedType instanceof ClassInstanceTypeExpr instance) {
+        candidate = devirtualize(instance.klass.name, get.name.lexeme);
+      }
+    }
+    if (candidate == null || !candidate.accepts(expr.arguments)) return expr;
+
+    inlined.merge(candidate.name, 1, Integer::sum);
+    return candidate.expand(expr.arguments);
+  }
+
+  @Override
+  public Expr visitGetExpr(Get expr) {
+    expr.object = rewrite(expr.object);
+    return expr;
+  }
+
+  @Override
+  public Expr visitGroupingExpr(Grouping expr) {
+    expr.expression = rewrite(expr.expression);
+    return expr;
+  }
+
+  @Override
+  public Expr visitLiteralExpr(Literal expr) {
+    return expr;
+  }
+
+  @Override
+  public Expr visitLogicalExpr(Logical expr) {
+    expr.left = rewrite(expr.left);
+    expr.right = rewrite(expr.right);
+    return expr;
+  }
+
+  @Override
+  public Expr visitSetExpr(Set expr) {
+    if (collecting) fields.add(expr.name.lexeme);
+    expr.object = rewrite(expr.object);
+    expr.value = rewrite(expr.value);
+    return expr;
+  }
+
+  @Override
+  public Expr visitSuperExpr(Super expr) {
+    return expr;
+  }
+
+  @Override
+  public Expr visitTernaryExpr(Ternary expr) {
+    expr.condition = rewrite(expr.condition);
+    expr.thenBranch = rewrite(expr.thenBranch);
+    expr.elseBranch = rewrite(expr.elseBranch);
+    return expr;
+  }
+
+  @Override
+  public Expr visitThisExpr(This expr) {
+    return expr;
+  }
+
+  @Override
+  public Expr visitUnaryExpr(Unary expr) {
+    expr.right = rewrite(expr.right);
+    return expr;
+  }
+
+  @Override
+  public Expr visitVariableExpr(Variable expr) {
+    return expr;
+  }
+
+  @Override
+  public Void visitBlockStmt(Block stmt) {
+    walk(stmt.statements);
+    return null;
+  }
+
+  @Override
+  public Void visitClassStmt(Class stmt) {
+    if (collecting) classes.put(stmt.name.lexeme, stmt);
+    for (Function method : stmt.methods) {
+      if (collecting) {
+        methods.computeIfAbsent(method.name.lexeme, name -> new ArrayList<>()).add(method);
+        owners.put(method, stmt.name.lexeme);
+      }
+      walk(method.body);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visitExpressionStmt(Expression stmt) {
+    stmt.expression = rewrite(stmt.expression);
+    return null;
+  }
+
+  @Override
+  public Void visitFunctionStmt(Function stmt) {
+    walk(stmt.body);
+    return null;
+  }
+
+  @Override
+  public Void visitIfStmt(If stmt) {
+    stmt.condition = rewrite(stmt.condition);
+    stmt.thenBranch.accept(this);
+    if (stmt.elseBranch != null) stmt.elseBranch.accept(this);
+    return null;
+  }
+
+  @Override
+  public Void visitInvalidStmt(Invalid stmt) {
+    return null;
+  }
+
+  @Override
+  public Void visitReturnStmt(Return stmt) {
+    if (stmt.value != null) stmt.value = rewrite(stmt.value);
+    return null;
+  }
+
+  @Override
+  public Void visitValStmt(Val stmt) {
+    if (stmt.initializer != null) stmt.initializer = rewrite(stmt.initializer);
+    return null;
+  }
+
+  @Override
+  public Void visitWhileStmt(While stmt) {
+    stmt.condition = rewrite(stmt.condition);
+    stmt.body.accept(this);
+    return null;
+  }
+
+  /**
+   * Checks if an object may be an instance of a class. Arrays, maps and files have built-in
+   * methods, so a class method of the same name is never what a call on them reaches.
+   *
+   * @param object The object a method is called on.
+   * @return True unless the type checker found the object to be some other type.
+   */
+  private static boolean mayBeInstance(Expr object) {
+    return object.resolvedType == null || object.resolvedType instanceof ClassInstanceTypeExpr;
+  }
+
+  /**
+   * Finds the candidate for a method called on an instance of a known class. The call can only
+   * reach the method the class inherits or declares if none of its subclasses declares one of that
+   * name.
+   *
+   * @param klass The name of the class typed for the receiver.
+   * @param name The name of the method.
+   * @return The candidate, or null if the method can't be inlined.
+   */
+  private InlineCandidate devirtualize(String klass, String name) {
+    if (name.equals("constructor") || fields.contains(name)) return null;
+    for (String subclass : classes.keySet()) {
+      if (!subclass.equals(klass) && extend(subclass, klass) && declared(subclass, name) != null) {
+        return null;
+      }
+    }
+
+    Function method = null;
+    for (String owner = klass; owner != null && method == null; owner = superclass(owner)) {
+      method = declared(owner, name);
+    }
+    if (method == null) return null;
+
+    if (!typedCandidates.containsKey(method)) {
+      final String qualified = owners.get(method) + "." + name;
+      typedCandidates.put(method, InlineCandidate.of(qualified, method, interpreter, budget));
+    }
+    return typedCandidates.get(method);
+  }
+
+  /**
+   * Checks if a class is, or inherits from, another class.
+   *
+   * @param klass The name of the class.
+   * @param ancestor The name of the other class.
+   * @return True if the class extends the other one.
+   */
+  private boolean extend(String klass, String ancestor) {
+    for (String current = klass; current != null; current = superclass(current)) {
+      if (current.equals(ancestor)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the name of the superclass of a class.
+   *
+   * @param klass The name of the class.
+   * @return The name of its superclass, or null if it has none or isn't declared by the program.
+   */
+  private String superclass(String klass) {
+    final Class stmt = classes.get(klass);
+    return stmt != null && stmt.superclass != null ? stmt.superclass.name.lexeme : null;
+  }
+
+  /**
+   * Returns the method of a given name declared by a class itself.
+   *
+   * @param klass The name of the class.
+   * @param name The name of the method.
+   * @return The method, or null if the class doesn't declare it.
+   */
+  private Function declared(String klass, String name) {
+    final Class stmt = classes.get(klass);
+    if (stmt == null) return null;
+    for (Function method : stmt.methods) {
+      if (method.name.lexeme.equals(name)) return method;
+    }
+    return null;
+  }
+
+  /**
+   * Rewrites the calls within an expression.
+   *
+   * @param expr The expression to rewrite.
+   * @return The expression to use in its place.
+   */
+  private Expr rewrite(Expr expr) {
+    return expr.accept(this);
+  }
+
+  /**
+   * Rewrites the calls within a list of statements.
+   *
+   * @param statements The statements to rewrite.
+   */
+  private void walk(List<Stmt> statements) {
+    for (Stmt statement : statements) {
+      statement.accept(this);
+    }
+  }
+}
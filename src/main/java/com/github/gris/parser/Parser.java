@@ -4,9 +4,12 @@ import com.github.gris.ast.Parameter;
 import com.github.gris.ast.expr.*;
 import com.github.gris.ast.stmt.*;
 import com.github.gris.ast.stmt.Class;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
 import com.github.gris.typing.type.IdentifierTypeExpr;
 import com.github.gris.typing.type.Type;
 import com.github.gris.typing.type.TypeExpr;
+import com.github.gris.typing.type.Types;
 import com.github.gris.lexer.Lexer;
 import com.github.gris.lexer.Token;
 import com.github.gris.lexer.TokenType;
@@ -26,14 +29,43 @@ public class Parser {
   /** Current index in the list of tokens. */
   private int current = 0;
 
+  /** The collector errors are reported to in diagnostics mode, or null to print them. */
+  private final Diagnostics diagnostics;
+
+  /** Whether any declaration failed to parse. */
+  private boolean hadError = false;
+
   /**
    * Constructs a Parser object with the given list of tokens.
    *
    * @param tokens The list of tokens to be parsed.
    */
   public Parser(Lexer lexer, List<Token> tokens) {
+    this(lexer, tokens, null);
+  }
+
+  /**
+   * Constructs a Parser object in diagnostics mode, which reports errors to the given collector
+   * instead of printing them.
+   *
+   * @param lexer The lexer used for error reporting.
+   * @param tokens The list of tokens to be parsed.
+   * @param diagnostics The collector errors are reported to, or null to print them.
+   */
+  public Parser(Lexer lexer, List<Token> tokens, Diagnostics diagnostics) {
     this.lexer = lexer;
     this.tokens = tokens;
+    this.diagnostics = diagnostics;
+  }
+
+  /**
+   * Checks if any declaration failed to parse, in which case the result contains {@link Invalid}
+   * statements and must not be run.
+   *
+   * @return True if a parsing error occurred, otherwise false.
+   */
+  public boolean hadError() {
+    return hadError;
   }
 
   /**
@@ -43,14 +75,15 @@ public class Parser {
    */
   public List<Stmt> parse() {
     List<Stmt> statements = new ArrayList<>();
-    while (!isAtEnd()) {
+    while (!isAtEnd() && !isFull()) {
       statements.add(declaration());
     }
     return statements;
   }
 
   /**
-   * Parses a declaration.
+   * Parses a declaration. A declaration that fails to parse is reported, skipped up to the next
+   * statement boundary, and replaced by an {@link Invalid} statement.
    *
    * @return The parsed statement.
    */
@@ -61,9 +94,14 @@ public class Parser {
       if (match(TokenType.VAL)) return valDeclaration();
       return statement();
     } catch (ParsingError error) {
-      System.err.println(error);
+      hadError = true;
+      if (diagnostics != null) {
+        diagnostics.report(Diagnostic.of(error));
+      } else {
+        System.err.println(error);
+      }
       synchronize();
-      return null;
+      return new Invalid(error);
     }
   }
 
@@ -84,7 +122,7 @@ public class Parser {
     consume(TokenType.LEFT_BRACE, "Expected '{' before class body");
 
     List<Function> methods = new ArrayList<>();
-    while (!check(TokenType.RIGHT_BRACE) && !isAtEnd()) {
+    while (!check(TokenType.RIGHT_BRACE) && !isAtEnd() && !isFull()) {
       methods.add(function("method"));
     }
 
@@ -240,214 +278,137 @@ public class Parser {
    * @return The parsed expression.
    */
   private Expr expression() {
-    return assignment();
-  }
-
-  /**
-   * Parses an assignment expression.
-   *
-   * @return The parsed assignment expression.
-   */
-  private Expr assignment() {
-    Expr expr = ternary();
-
-    if (match(TokenType.EQUAL)) {
-      Token equals = previous();
-      Expr value = assignment();
-
-      if (expr instanceof Variable) {
-        Token name = ((Variable) expr).name;
-        return new Assign(name, value);
-      } else if (expr instanceof Get get) {
-        return new Set(get.object, get.name, value);
-      }
-
-      throw new ParsingError(
-          "Invalid assignment target", equals.line, equals.col, lexer.getSourceLine(equals.line));
-    }
-    return expr;
-  }
-
-  /**
-   * Parses a ternary expression.
-   *
-   * @return The parsed ternary expression.
-   */
-  private Expr ternary() {
-    Expr expr = or();
-
-    if (match(TokenType.QUESTION)) {
-      Token leftOperator = previous();
-      Expr thenBranch = or();
-
-      if (this.match(TokenType.COLON)) {
-        Token rightOperator = previous();
-        Expr elseBranch = ternary();
-        expr = new Ternary(expr, leftOperator, thenBranch, rightOperator, elseBranch);
-      } else {
-        throw new ParsingError(
-            "Expected ':' after ternary operator '?'",
-            peek().line,
-            peek().col,
-            lexer.getSourceLine(peek().line));
-      }
-    }
-    return expr;
+    return expression(Precedence.ASSIGNMENT);
   }
 
   /**
-   * Parses an OR expression.
+   * Parses an expression whose operators bind at least as tightly as the given precedence. A prefix
+   * operand is parsed first, after which infix and postfix operators are folded in for as long as
+   * the precedence table allows.
    *
-   * @return The parsed OR expression.
-   */
-  private Expr or() {
-    Expr expr = and();
-
-    while (match(TokenType.OR)) {
-      Token operator = previous();
-      Expr right = and();
-      expr = new Logical(expr, operator, right);
-    }
-
-    return expr;
-  }
-
-  /**
-   * Parses an AND expression.
-   *
-   * @return The parsed AND expression.
-   */
-  private Expr and() {
-    Expr expr = equality();
-
-    while (match(TokenType.AND)) {
-      Token operator = previous();
-      Expr right = equality();
-      expr = new Logical(expr, operator, right);
-    }
-
-    return expr;
-  }
-
-  /**
-   * Parses an equality expression.
-   *
-   * @return The parsed equality expression.
-   */
-  private Expr equality() {
-    Expr expr = comparison();
-    while (match(TokenType.BANG_EQUAL, TokenType.EQUAL_EQUAL)) {
-      Token operator = previous();
-      Expr right = comparison();
-      expr = new Binary(expr, operator, right);
-    }
-    return expr;
-  }
-
-  /**
-   * Parses a comparison expression.
-   *
-   * @return The parsed comparison expression.
-   */
-  private Expr comparison() {
-    Expr expr = term();
-
-    while (match(
-        TokenType.GREATER, TokenType.GREATER_EQUAL, TokenType.LESS, TokenType.LESS_EQUAL)) {
-      Token operator = previous();
-      Expr right = term();
-      expr = new Binary(expr, operator, right);
-    }
-
-    return expr;
-  }
-
-  /**
-   * Parses a term expression.
-   *
-   * @return The parsed term expression.
+   * @param precedence The loosest precedence the expression may contain.
+   * @return The parsed expression.
    */
-  private Expr term() {
-    Expr expr = factor();
+  private Expr expression(Precedence precedence) {
+    final Token token = peek();
+    advance();
+    Expr expr = prefix(token);
 
-    while (match(TokenType.MINUS, TokenType.PLUS)) {
-      Token operator = previous();
-      Expr right = factor();
-      expr = new Binary(expr, operator, right);
+    while (precedence.compareTo(Precedence.infix(peek().type)) <= 0) {
+      expr = infix(expr, advance());
     }
 
     return expr;
   }
 
   /**
-   * Parses a factor expression.
+   * Parses the operand started by the given token: a literal, name, grouping, or unary operator.
    *
-   * @return The parsed factor expression.
+   * @param token The first token of the operand, already consumed.
+   * @return The parsed expression.
    */
-  private Expr factor() {
-    Expr expr = exponent();
-
-    while (match(TokenType.SLASH, TokenType.STAR)) {
-      Token operator = previous();
-      Expr right = exponent();
-      expr = new Binary(expr, operator, right);
+  private Expr prefix(Token token) {
+    switch (token.type) {
+      case FALSE -> {
+        return new Literal(false, Type.BOOLEAN);
+      }
+      case TRUE -> {
+        return new Literal(true, Type.BOOLEAN);
+      }
+      case NULL -> {
+        return new Literal(null, Type.BOOLEAN);
+      }
+      case NUMBER_LITERAL -> {
+        return new Literal(token.literal, Type.NUMBER);
+      }
+      case STRING_LITERAL -> {
+        return new Literal(token.literal, Type.STRING);
+      }
+      case IDENTIFIER -> {
+        return new Variable(token);
+      }
+      case THIS -> {
+        return new This(token);
+      }
+      case SUPER -> {
+        consume(TokenType.DOT, "Expected '.' after 'super'");
+        Token method = consume(TokenType.IDENTIFIER, "Expected superclass method name");
+        return new Super(token, method);
+      }
+      case LEFT_PARENTHESIS -> {
+        Expr expr = expression();
+        consume(TokenType.RIGHT_PARENTHESIS, "Expected ')' after expression");
+        return new Grouping(expr);
+      }
+      case BANG, MINUS -> {
+        Expr right = expression(Precedence.UNARY);
+        return new Unary(token, right);
+      }
     }
 
-    return expr;
+    // Put the offending token back so the error points at it and synchronization starts there
+    if (token.type != TokenType.EOF) current--;
+    throw new ParsingError(
+        "Expected expression", token.line, token.col, lexer.getSourceLine(token.line));
   }
 
   /**
-   * Parses an exponent expression.
+   * Parses the remainder of an infix or postfix expression whose left operand has already been
+   * parsed.
    *
-   * @return The parsed exponent expression.
+   * @param left The left operand.
+   * @param operator The operator token, already consumed.
+   * @return The parsed expression.
    */
-  private Expr exponent() {
-    Expr expr = unary();
+  private Expr infix(Expr left, Token operator) {
+    switch (operator.type) {
+      case EQUAL -> {
+        // Right-associative: a = b = c
+        Expr value = expression(Precedence.ASSIGNMENT);
 
-    while (match(TokenType.CARET)) {
-      Token operator = previous();
-      Expr right = unary();
-      expr = new Binary(expr, operator, right);
-    }
-
-    return expr;
-  }
-
-  /**
-   * Parses a unary expression.
-   *
-   * @return The parsed unary expression.
-   */
-  private Expr unary() {
-    if (match(TokenType.BANG, TokenType.MINUS)) {
-      Token operator = previous();
-      Expr right = unary();
-      return new Unary(operator, right);
-    }
+        if (left instanceof Variable variable) {
+          return new Assign(variable.name, value);
+        } else if (left instanceof Get get) {
+          return new Set(get.object, get.name, value);
+        }
 
-    return call();
-  }
+        throw new ParsingError(
+            "Invalid assignment target",
+            operator.line,
+            operator.col,
+            lexer.getSourceLine(operator.line));
+      }
+      case QUESTION -> {
+        Expr thenBranch = expression(Precedence.OR);
 
-  /**
-   * Parses a function call expression.
-   *
-   * @return The parsed function call expression.
-   */
-  private Expr call() {
-    Expr expr = primary();
+        if (!match(TokenType.COLON)) {
+          throw new ParsingError(
+              "Expected ':' after ternary operator '?'",
+              peek().line,
+              peek().col,
+              lexer.getSourceLine(peek().line));
+        }
 
-    while (true) {
-      if (match(TokenType.LEFT_PARENTHESIS)) {
-        expr = finishCall(expr);
-      } else if (match(TokenType.DOT)) {
+        Token rightOperator = previous();
+        Expr elseBranch = expression(Precedence.TERNARY);
+        return new Ternary(left, operator, thenBranch, rightOperator, elseBranch);
+      }
+      case AND, OR -> {
+        Expr right = expression(Precedence.infix(operator.type).next());
+        return new Logical(left, operator, right);
+      }
+      case LEFT_PARENTHESIS -> {
+        return finishCall(left);
+      }
+      case DOT -> {
         Token name = consume(TokenType.IDENTIFIER, "Expected property name after '.'");
-        expr = new Get(expr, name);
-      } else {
-        break;
+        return new Get(left, name);
+      }
+      default -> {
+        Expr right = expression(Precedence.infix(operator.type).next());
+        return new Binary(left, operator, right);
       }
     }
-
-    return expr;
   }
 
   /**
@@ -476,47 +437,6 @@ public class Parser {
     return new Call(callee, paren, arguments);
   }
 
-  /**
-   * Parses a primary expression.
-   *
-   * @return The parsed primary expression.
-   */
-  private Expr primary() {
-    if (match(TokenType.FALSE)) return new Literal(false, Type.BOOLEAN);
-    if (match(TokenType.TRUE)) return new Literal(true, Type.BOOLEAN);
-    if (match(TokenType.NULL)) return new Literal(null, Type.BOOLEAN);
-
-    if (match(TokenType.NUMBER_LITERAL)) {
-      return new Literal(previous().literal, Type.NUMBER);
-    }
-
-    if (match(TokenType.STRING_LITERAL)) {
-      return new Literal(previous().literal, Type.STRING);
-    }
-
-    if (match(TokenType.SUPER)) {
-      Token keyword = previous();
-      consume(TokenType.DOT, "Expected '.' after 'super'");
-      Token method = consume(TokenType.IDENTIFIER, "Expected superclass method name");
-      return new Super(keyword, method);
-    }
-
-    if (match(TokenType.THIS)) return new This(previous());
-
-    if (match(TokenType.IDENTIFIER)) {
-      return new Variable(previous());
-    }
-
-    if (match(TokenType.LEFT_PARENTHESIS)) {
-      Expr expr = expression();
-      consume(TokenType.RIGHT_PARENTHESIS, "Expected ')' after expression");
-      return new Grouping(expr);
-    }
-
-    throw new ParsingError(
-        "Expected expression", peek().line, peek().col, lexer.getSourceLine(peek().line));
-  }
-
   /**
    * Parses a function declaration.
    *
@@ -547,7 +467,7 @@ public class Parser {
   private List<Stmt> block() {
     List<Stmt> statements = new ArrayList<>();
 
-    while (!check(TokenType.RIGHT_BRACE) && !isAtEnd()) {
+    while (!check(TokenType.RIGHT_BRACE) && !isAtEnd() && !isFull()) {
       statements.add(declaration());
     }
 
@@ -583,48 +503,80 @@ public class Parser {
   }
 
   /**
-   * Parses a type expression.
+   * Parses a type expression. An array type is written as the identifier {@code Array} followed
+   * by its element type between angle brackets, a channel type likewise as {@code Channel}, and a
+   * map type as {@code Map} followed by its key and value types, where keys are numbers or
+   * strings. The identifier {@code File} names the type of an open file.
    *
    * @return The parsed type expression.
    */
   private TypeExpr typeExpression() {
-    if (!match(
-        TokenType.BOOLEAN,
-        TokenType.IDENTIFIER,
-        TokenType.NUMBER,
-        TokenType.STRING,
-        TokenType.VOID)) {
-      throw new ParsingError(
-          "Expected type expression", peek().line, peek().col, lexer.getSourceLine(peek().line));
+    final Token token = peek();
+    if (token.type == TokenType.IDENTIFIER && tokens.get(current + 1).type == TokenType.LESS) {
+      if (token.lexeme.equals("Array")) {
+        advance();
+        advance();
+        final TypeExpr element = typeExpression();
+        consume(TokenType.GREATER, "Expected '>' after array element type");
+        return Types.array(element);
+      }
+      if (token.lexeme.equals("Channel")) {
+        advance();
+        advance();
+        final TypeExpr element = typeExpression();
+        consume(TokenType.GREATER, "Expected '>' after channel element type");
+        return Types.channel(element);
+      }
+      if (token.lexeme.equals("Map")) {
+        advance();
+        advance();
+        final Token keyToken = peek();
+        final TypeExpr key = typeExpression();
+        if (key.type != Type.NUMBER && key.type != Type.STRING) {
+          throw new ParsingError(
+              "Expected Number or String as map key type",
+              keyToken.line,
+              keyToken.col,
+              lexer.getSourceLine(keyToken.line));
+        }
+        consume(TokenType.COMMA, "Expected ',' after map key type");
+        final TypeExpr value = typeExpression();
+        consume(TokenType.GREATER, "Expected '>' after map value type");
+        return Types.map(key, value);
+      }
     }
 
-    final Token token = previous();
-    if (token.type == TokenType.IDENTIFIER) {
-      return new IdentifierTypeExpr(token, Type.IDENTIFIER);
-    } else {
-      return switch (token.type) {
-        case BOOLEAN -> new TypeExpr(Type.BOOLEAN);
-        case NUMBER -> new TypeExpr(Type.NUMBER);
-        case STRING -> new TypeExpr(Type.STRING);
-        case VOID -> new TypeExpr(Type.VOID);
-          // Unreachable
-        default -> null;
-      };
-    }
+    final TypeExpr type =
+        switch (token.type) {
+          case BOOLEAN -> Types.of(Type.BOOLEAN);
+          case IDENTIFIER ->
+              token.lexeme.equals("File")
+                  ? Types.of(Type.FILE)
+                  : new IdentifierTypeExpr(token, Type.IDENTIFIER);
+          case NUMBER -> Types.of(Type.NUMBER);
+          case STRING -> Types.of(Type.STRING);
+          case VOID -> Types.of(Type.VOID);
+          default ->
+              throw new ParsingError(
+                  "Expected type expression",
+                  token.line,
+                  token.col,
+                  lexer.getSourceLine(token.line));
+        };
+    advance();
+    return type;
   }
 
   /**
-   * Checks if the current token matches any of the given token types and consumes it if it does.
+   * Checks if the current token matches the given token type and consumes it if it does.
    *
-   * @param tokenTypes The token types to match against.
+   * @param tokenType The token type to match against.
    * @return true if a match is found, false otherwise.
    */
-  private boolean match(TokenType... tokenTypes) {
-    for (TokenType tokenType : tokenTypes) {
-      if (check(tokenType)) {
-        advance();
-        return true;
-      }
+  private boolean match(TokenType tokenType) {
+    if (check(tokenType)) {
+      advance();
+      return true;
     }
     return false;
   }
@@ -672,6 +624,15 @@ public class Parser {
     return peek().type == TokenType.EOF;
   }
 
+  /**
+   * Checks if the diagnostics limit has been reached, after which parsing stops early.
+   *
+   * @return true if in diagnostics mode and no more errors will be collected, false otherwise.
+   */
+  private boolean isFull() {
+    return diagnostics != null && diagnostics.isFull();
+  }
+
   /**
    * Returns the current token.
    *
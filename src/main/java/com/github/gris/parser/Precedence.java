@@ -0,0 +1,82 @@
+package com.github.gris.parser;
+
+import com.github.gris.lexer.TokenType;
+
+import java.util.Arrays;
+
+/** Enum representing the binding power of expression operators, from loosest to tightest. */
+public enum Precedence {
+  NONE,
+
+  ASSIGNMENT,
+
+  TERNARY,
+
+  OR,
+
+  AND,
+
+  EQUALITY,
+
+  COMPARISON,
+
+  TERM,
+
+  FACTOR,
+
+  EXPONENT,
+
+  UNARY,
+
+  CALL,
+
+  PRIMARY;
+
+  /** Cached values, avoiding the array copy made by {@link #values()}. */
+  private static final Precedence[] LEVELS = values();
+
+  /** Infix binding power of every token type, indexed by {@link TokenType#ordinal()}. */
+  private static final Precedence[] INFIX = new Precedence[TokenType.values().length];
+
+  static {
+    Arrays.fill(INFIX, NONE);
+    INFIX[TokenType.EQUAL.ordinal()] = ASSIGNMENT;
+    INFIX[TokenType.QUESTION.ordinal()] = TERNARY;
+    INFIX[TokenType.OR.ordinal()] = OR;
+    INFIX[TokenType.AND.ordinal()] = AND;
+    INFIX[TokenType.BANG_EQUAL.ordinal()] = EQUALITY;
+    INFIX[TokenType.EQUAL_EQUAL.ordinal()] = EQUALITY;
+    INFIX[TokenType.GREATER.ordinal()] = COMPARISON;
+    INFIX[TokenType.GREATER_EQUAL.ordinal()] = COMPARISON;
+    INFIX[TokenType.LESS.ordinal()] = COMPARISON;
+    INFIX[TokenType.LESS_EQUAL.ordinal()] = COMPARISON;
+    INFIX[TokenType.MINUS.ordinal()] = TERM;
+    INFIX[TokenType.PLUS.ordinal()] = TERM;
+    INFIX[TokenType.MODULO.ordinal()] = FACTOR;
+    INFIX[TokenType.SLASH.ordinal()] = FACTOR;
+    INFIX[TokenType.STAR.ordinal()] = FACTOR;
+    INFIX[TokenType.CARET.ordinal()] = EXPONENT;
+    INFIX[TokenType.LEFT_PARENTHESIS.ordinal()] = CALL;
+    INFIX[TokenType.DOT.ordinal()] = CALL;
+  }
+
+  /**
+   * Returns the binding power of a token type when it appears after an operand.
+   *
+   * @param type The token type.
+   * @return The infix precedence, or {@link #NONE} if the token does not continue an expression.
+   */
+  public static Precedence infix(TokenType type) {
+    return INFIX[type.ordinal()];
+  }
+
+  /**
+   * Returns the next tighter precedence level, used for the right operand of left-associative
+   * operators.
+   *
+   * @return The next precedence level.
+   */
+  public Precedence next() {
+    return LEVELS[ordinal() + 1];
+  }
+}
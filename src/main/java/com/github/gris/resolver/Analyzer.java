@@ -0,0 +1,505 @@
+package com.github.gris.resolver;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.expr.Set;
+import com.github.gris.ast.stmt.*;
+import com.github.gris.ast.stmt.Class;
+import com.github.gris.ast.visitor.ExprVisitor;
+import com.github.gris.ast.visitor.StmtVisitor;
+import com.github.gris.builtin.Builtin;
+import com.github.gris.builtin.BuiltinRegistry;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.lexer.Token;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.TypeRules;
+import com.github.gris.typing.Typing;
+import com.github.gris.typing.TypingError;
+import com.github.gris.typing.type.*;
+
+import java.util.*;
+
+/**
+ * Resolves and type checks a program in a single pass, in place of running the {@link Resolver}
+ * and then {@link Typing}. Both walk the whole tree keeping their own stack of scopes and looking
+ * every name up in it; here one stack of scopes holds a {@link Binding} per name with both the
+ * variable's state and its type, so each name is looked up once and each node visited once.
+ *
+ * <p>The analysis gives the interpreter the same resolutions, and the tree the same annotations,
+ * as the two passes. The typing rules are shared with {@link Typing} through {@link TypeRules},
+ * and the scopes and captures with the {@link Resolver} through {@link Scopes}. Function and
+ * method bodies are checked in place rather than in parallel, and 'super' is typed as the
+ * superclass it is bound to. In diagnostics mode, a statement with a resolving error is not type
+ * checked any further.
+ */
+public class Analyzer extends TypeRules implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
+  /** The scopes and frames of the program, resolving variables for the interpreter. */
+  private final Scopes scopes;
+
+  /** The kind of class being analysed. */
+  private ClassType currentClass = ClassType.NONE;
+
+  /** The kind of function being analysed. */
+  private FunctionType currentFunction = FunctionType.NONE;
+
+  /** The type of the class being analysed, or null outside classes. */
+  private ClassTypeExpr currentClassType;
+
+  /** The type of the function being analysed, or null in top-level code. */
+  private FunctionTypeExpr currentFunctionType;
+
+  /** The number of enclosing 'set' expressions, whose parts are resolved but not typed. */
+  private int untyped = 0;
+
+  /** The collector errors are reported to in diagnostics mode, or null to throw them. */
+  private final Diagnostics diagnostics;
+
+  /**
+   * Constructs an Analyzer for programs run on the given interpreter.
+   *
+   * @param lexer The lexer used for error reporting.
+   * @param interpreter The interpreter receiving the resolved variables.
+   */
+  public Analyzer(Lexer lexer, Interpreter interpreter) {
+    this(lexer, interpreter, null);
+  }
+
+  /**
+   * Constructs an Analyzer in diagnostics mode, which reports errors to the given collector and
+   * carries on with the next statement.
+   *
+   * @param lexer The lexer used for error reporting.
+   * @param interpreter The interpreter receiving the resolved variables.
+   * @param diagnostics The collector errors are reported to, or null to throw them.
+   */
+  public Analyzer(Lexer lexer, Interpreter interpreter, Diagnostics diagnostics) {
+    super(lexer);
+    this.scopes = new Scopes(lexer, interpreter);
+    this.diagnostics = diagnostics;
+
+    for (Builtin builtin : BuiltinRegistry.builtins()) {
+      scopes.bind(builtin.name, new Binding(VariableState.USED, builtin.type));
+    }
+  }
+
+  /**
+   * Resolves and type checks a program.
+   *
+   * @param statements The statements of the program.
+   */
+  public void analyze(List<Stmt> statements) {
+    for (Stmt statement : statements) {
+      analyze(statement);
+    }
+  }
+
+  @Override
+  public TypeExpr visitAssignExpr(Assign expr) {
+    final TypeExpr value = analyze(expr.value);
+    final Binding variable = scopes.resolve(expr, expr.name);
+    if (untyped > 0) return null;
+    return assignType(expr, value, typeOf(variable, expr.name));
+  }
+
+  @Override
+  public TypeExpr visitBinaryExpr(Binary expr) {
+    final TypeExpr leftType = analyze(expr.left);
+    final TypeExpr rightType = analyze(expr.right);
+    if (untyped > 0) return null;
+    return binaryType(expr, leftType, rightType);
+  }
+
+  @Override
+  public TypeExpr visitCallExpr(Call expr) {
+    final TypeExpr type = analyze(expr.callee);
+    if (untyped == 0) checkCallable(expr, type);
+
+    final List<TypeExpr> typedArguments = new ArrayList<>();
+    for (Expr argument : expr.arguments) {
+      typedArguments.add(analyze(argument));
+    }
+    if (untyped > 0) return null;
+    return callType(expr, type, typedArguments);
+  }
+
+  @Override
+  public TypeExpr visitGetExpr(Get expr) {
+    final TypeExpr type = analyze(expr.object);
+    if (untyped > 0) return null;
+    return getType(expr, type, currentClassType);
+  }
+
+  @Override
+  public TypeExpr visitGroupingExpr(Grouping expr) {
+    return analyze(expr.expression);
+  }
+
+  @Override
+  public TypeExpr visitLiteralExpr(Literal expr) {
+    return Types.of(expr.type);
+  }
+
+  @Override
+  public TypeExpr visitLogicalExpr(Logical expr) {
+    final TypeExpr leftExpr = analyze(expr.left);
+    final TypeExpr rightExpr = analyze(expr.right);
+    if (untyped > 0) return null;
+    return logicalType(expr, leftExpr, rightExpr);
+  }
+
+  @Override
+  public TypeExpr visitSetExpr(Set expr) {
+    // The type checker doesn't type assignments to fields
+    untyped++;
+    try {
+      analyze(expr.value);
+      analyze(expr.object);
+    } finally {
+      untyped--;
+    }
+    return null;
+  }
+
+  @Override
+  public TypeExpr visitSuperExpr(Super expr) {
+    if (currentClass == ClassType.NONE) {
+      throw new ResolvingError(
+          "'super' outside of class",
+          expr.keyword.line,
+          expr.keyword.col,
+          lexer.getSourceLine(expr.keyword.line));
+    } else if (currentClass != ClassType.SUBCLASS) {
+      throw new ResolvingError(
+          "'super' in a class with no superclass",
+          expr.keyword.line,
+          expr.keyword.col,
+          lexer.getSourceLine(expr.keyword.line));
+    }
+
+    final Binding binding = scopes.resolveSuper(expr);
+    if (untyped > 0) return null;
+    return superType(expr, binding.type);
+  }
+
+  @Override
+  public TypeExpr visitTernaryExpr(Ternary expr) {
+    final TypeExpr condition = analyze(expr.condition);
+    if (untyped == 0) checkTernaryCondition(condition);
+
+    final TypeExpr thenType = analyze(expr.thenBranch);
+    final TypeExpr elseType = analyze(expr.elseBranch);
+    if (untyped > 0) return null;
+    return ternaryType(thenType, elseType);
+  }
+
+  @Override
+  public TypeExpr visitThisExpr(This expr) {
+    if (currentClass == ClassType.NONE) {
+      throw new ResolvingError(
+          "'this' outside of a class",
+          expr.keyword.line,
+          expr.keyword.col,
+          lexer.getSourceLine(expr.keyword.line));
+    }
+    return scopes.resolve(expr, expr.keyword).type;
+  }
+
+  @Override
+  public TypeExpr visitUnaryExpr(Unary expr) {
+    final TypeExpr type = analyze(expr.right);
+    if (untyped > 0) return null;
+    return unaryType(expr, type);
+  }
+
+  @Override
+  public TypeExpr visitVariableExpr(Variable expr) {
+    final Binding binding = scopes.isLocal() ? scopes.current(expr.name.lexeme) : null;
+    if (binding != null && binding.state == VariableState.DECLARED) {
+      throw new ResolvingError(
+          "Can't read local variable in its own initializer",
+          expr.name.line,
+          expr.name.col,
+          lexer.getSourceLine(expr.name.line));
+    }
+    final Binding variable = scopes.resolve(expr, expr.name);
+    if (untyped > 0) return null;
+    return typeOf(variable, expr.name);
+  }
+
+  @Override
+  public Void visitBlockStmt(Block stmt) {
+    // A block declaring nothing gets no scope, so the interpreter can run it in the enclosing one
+    stmt.scoped = false;
+    for (Stmt statement : stmt.statements) {
+      stmt.scoped |= statement instanceof Val
+          || statement instanceof Function
+          || statement instanceof Class;
+    }
+    if (!stmt.scoped) {
+      analyze(stmt.statements);
+      return null;
+    }
+
+    scopes.beginScope();
+    analyze(stmt.statements);
+    for (Stmt statement : stmt.statements) {
+      if (statement instanceof Val val) {
+        val.captured = scopes.current(val.name.lexeme).state == VariableState.CAPTURED;
+      }
+    }
+    scopes.endScope();
+    return null;
+  }
+
+  @Override
+  public Void visitClassStmt(Class stmt) {
+    if (scopes.isLocal()) {
+      throw new ResolvingError(
+          "Class declared in local scope",
+          stmt.name.line,
+          stmt.name.col,
+          lexer.getSourceLine(stmt.name.line));
+    }
+
+    scopes.declare(stmt.name);
+    scopes.define(stmt.name, null);
+
+    final ClassType enclosingClass = currentClass;
+    final ClassTypeExpr enclosingClassType = currentClassType;
+    currentClass = ClassType.CLASS;
+    scopes.beginFrame(null);
+
+    ClassTypeExpr superclass = null;
+    if (stmt.superclass != null) {
+      if (stmt.name.lexeme.equals(stmt.superclass.name.lexeme)) {
+        throw new ResolvingError(
+            "Class can't inherit from itself",
+            stmt.name.line,
+            stmt.name.col,
+            lexer.getSourceLine(stmt.name.line));
+      }
+
+      currentClass = ClassType.SUBCLASS;
+      final Binding binding = scopes.resolve(stmt.superclass, stmt.superclass.name);
+      superclass = (ClassTypeExpr) typeOf(binding, stmt.superclass.name);
+    }
+
+    final ClassTypeExpr klass = new ClassTypeExpr(stmt, superclass);
+    scopes.global(stmt.name.lexeme).type = klass;
+    currentClassType = klass;
+
+    if (superclass != null) {
+      scopes.beginScope();
+      scopes.bind("super", new Binding(VariableState.USED, superclass));
+    }
+
+    scopes.beginScope();
+    scopes.bind("this", new Binding(VariableState.USED, new ClassInstanceTypeExpr(klass)));
+
+    for (Function method : stmt.methods) {
+      FunctionType declaration = FunctionType.METHOD;
+      if (method.name.lexeme.equals("constructor")) {
+        declaration = FunctionType.INITIALIZER;
+      }
+      final FunctionTypeExpr type = Types.function(method.returnType, method.parameters);
+      analyzeFunction(method, declaration, type);
+    }
+
+    scopes.endScope();
+
+    if (stmt.superclass != null) scopes.endScope();
+
+    scopes.endFrame();
+    currentClass = enclosingClass;
+    currentClassType = enclosingClassType;
+    return null;
+  }
+
+  @Override
+  public Void visitExpressionStmt(Expression stmt) {
+    analyze(stmt.expression);
+    return null;
+  }
+
+  @Override
+  public Void visitFunctionStmt(Function stmt) {
+    final FunctionTypeExpr type = Types.function(stmt.returnType, stmt.parameters);
+    scopes.declare(stmt.name);
+    scopes.define(stmt.name, type);
+
+    analyzeFunction(stmt, FunctionType.FUNCTION, type);
+    return null;
+  }
+
+  @Override
+  public Void visitIfStmt(If stmt) {
+    checkIfCondition(analyze(stmt.condition));
+    analyze(stmt.thenBranch);
+    if (stmt.elseBranch != null) analyze(stmt.elseBranch);
+    return null;
+  }
+
+  @Override
+  public Void visitInvalidStmt(Invalid stmt) {
+    return null;
+  }
+
+  @Override
+  public Void visitReturnStmt(Return stmt) {
+    if (currentFunction == FunctionType.NONE) {
+      throw new ResolvingError(
+          "Can't return from top-level code",
+          stmt.keyword.line,
+          stmt.keyword.col,
+          lexer.getSourceLine(stmt.keyword.line));
+    }
+
+    TypeExpr returnType = Types.of(Type.VOID);
+    if (stmt.value != null) {
+      if (currentFunction == FunctionType.INITIALIZER) {
+        throw new ResolvingError(
+            "Can't return a value from an initializer",
+            stmt.keyword.line,
+            stmt.keyword.col,
+            lexer.getSourceLine(stmt.keyword.line));
+      }
+      returnType = analyze(stmt.value);
+    }
+    checkReturn(stmt, returnType, currentFunctionType);
+    return null;
+  }
+
+  @Override
+  public Void visitValStmt(Val stmt) {
+    scopes.declare(stmt.name);
+    TypeExpr type = null;
+    try {
+      final TypeExpr initializer = stmt.initializer != null ? analyze(stmt.initializer) : null;
+
+      if (stmt.type.type == Type.IDENTIFIER) {
+        scopes.resolve(stmt.type, ((IdentifierTypeExpr) stmt.type).identifier);
+      }
+      type = variableType(stmt, initializer);
+    } finally {
+      // Define even on error so later uses are not misreported as self-references
+      scopes.define(stmt.name, type);
+    }
+
+    return null;
+  }
+
+  @Override
+  public Void visitWhileStmt(While stmt) {
+    checkWhileCondition(analyze(stmt.condition));
+    analyze(stmt.body);
+    return null;
+  }
+
+  /**
+   * Determines the type of a variable by looking up its name, without resolving it.
+   *
+   * @param name The name of the variable.
+   * @return The type of the variable.
+   * @throws TypingError If the variable is not defined or has no type yet.
+   */
+  @Override
+  protected TypeExpr lookupVariableType(Token name) {
+    return typeOf(scopes.lookup(name), name);
+  }
+
+  /**
+   * Resolves and type checks a function's parameters and body.
+   *
+   * @param function The function.
+   * @param kind The kind of function (e.g., function, initializer).
+   * @param type The type of the function.
+   */
+  private void analyzeFunction(Function function, FunctionType kind, FunctionTypeExpr type) {
+    final FunctionType enclosingFunction = currentFunction;
+    final FunctionTypeExpr enclosingFunctionType = currentFunctionType;
+    currentFunction = kind;
+    currentFunctionType = type;
+
+    scopes.beginFrame(function.captures);
+    scopes.beginScope();
+    for (Parameter parameter : function.parameters) {
+      scopes.declare(parameter.name);
+      scopes.define(parameter.name, parameter.type);
+    }
+    analyze(function.body);
+    scopes.endScope();
+    scopes.endFrame();
+    currentFunction = enclosingFunction;
+    currentFunctionType = enclosingFunctionType;
+  }
+
+  /**
+   * Returns the type of a bound variable.
+   *
+   * @param binding The binding, or null if the name is unbound.
+   * @param name The name of the variable.
+   * @return The type of the variable.
+   * @throws TypingError If the variable is unbound or has no type yet.
+   */
+  private TypeExpr typeOf(Binding binding, Token name) {
+    if (binding != null && binding.type != null) return binding.type;
+    throw new TypingError(
+        String.format("Variable '%s' is not defined", name.lexeme),
+        name.line,
+        name.col,
+        lexer.getSourceLine(name.line));
+  }
+
+  /**
+   * Analyses a statement. In diagnostics mode an error is reported, the scopes and context opened
+   * by the statement are unwound, and analysis carries on with the next statement.
+   *
+   * @param statement The statement to analyse.
+   */
+  private void analyze(Stmt statement) {
+    if (diagnostics == null) {
+      statement.accept(this);
+      return;
+    }
+    if (diagnostics.isFull()) return;
+
+    final int depth = scopes.depth();
+    final int frameDepth = scopes.frameDepth();
+    final ClassType enclosingClass = currentClass;
+    final FunctionType enclosingFunction = currentFunction;
+    final ClassTypeExpr enclosingClassType = currentClassType;
+    final FunctionTypeExpr enclosingFunctionType = currentFunctionType;
+    try {
+      statement.accept(this);
+      return;
+    } catch (ResolvingError error) {
+      diagnostics.report(Diagnostic.of(error));
+    } catch (TypingError error) {
+      diagnostics.report(Diagnostic.of(error));
+    }
+    scopes.unwind(depth, frameDepth);
+    currentClass = enclosingClass;
+    currentFunction = enclosingFunction;
+    currentClassType = enclosingClassType;
+    currentFunctionType = enclosingFunctionType;
+
+    if (statement instanceof Val val) {
+      final Binding binding = scopes.current(val.name.lexeme);
+      if (binding != null) binding.type = recoveredType(val);
+    }
+  }
+
+  /**
+   * Analyses an expression, and records its type on it.
+   *
+   * @param expression The expression to analyse.
+   * @return The type of the expression, or null if it isn't typed.
+   */
+  private TypeExpr analyze(Expr expression) {
+    final TypeExpr type = expression.accept(this);
+    if (untyped == 0) expression.resolvedType = type;
+    return type;
+  }
+}
@@ -0,0 +1,23 @@
+package com.github.gris.resolver;
+
+import com.github.gris.typing.type.TypeExpr;
+
+/** The state and type of a variable, kept together in one scope entry. */
+final class Binding {
+  /** The state of the variable. */
+  VariableState state;
+
+  /** The type of the variable, or null until it is known or if it isn't tracked. */
+  TypeExpr type;
+
+  /**
+   * Constructs a binding.
+   *
+   * @param state The state of the variable.
+   * @param type The type of the variable, or null.
+   */
+  Binding(VariableState state, TypeExpr type) {
+    this.state = state;
+    this.type = type;
+  }
+}
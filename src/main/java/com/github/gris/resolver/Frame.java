@@ -0,0 +1,55 @@
+package com.github.gris.resolver;
+
+import com.github.gris.ast.Capture;
+
+import java.util.List;
+
+/** A function, class body, or top-level program being resolved, and the scopes it owns. */
+class Frame {
+  /** The index in the resolver's scopes of the frame's outermost scope. */
+  final int base;
+
+  /** The variables the function captures, or null for code that can't capture any. */
+  final List<Capture> captures;
+
+  /**
+   * Constructs a frame starting at the given scope.
+   *
+   * @param base The index of the frame's outermost scope.
+   * @param captures The capture list of the function, or null if the frame is not a function.
+   */
+  Frame(int base, List<Capture> captures) {
+    this.base = base;
+    this.captures = captures;
+  }
+
+  /**
+   * Adds a capture, unless the same variable is captured already.
+   *
+   * @param capture The capture to add.
+   * @return The index of the capture.
+   */
+  int add(Capture capture) {
+    for (int i = 0; i < captures.size(); i++) {
+      if (captures.get(i).isSameAs(capture)) return i;
+    }
+    captures.add(capture);
+    return captures.size() - 1;
+  }
+
+  /**
+   * Adds two captures next to each other, unless they already are.
+   *
+   * @param first The first capture.
+   * @param second The capture to place right after the first.
+   * @return The index of the first capture.
+   */
+  int addPair(Capture first, Capture second) {
+    for (int i = 0; i + 1 < captures.size(); i++) {
+      if (captures.get(i).isSameAs(first) && captures.get(i + 1).isSameAs(second)) return i;
+    }
+    captures.add(first);
+    captures.add(second);
+    return captures.size() - 2;
+  }
+}
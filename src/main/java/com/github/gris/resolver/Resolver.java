@@ -6,14 +6,14 @@ import com.github.gris.ast.expr.Set;
 import com.github.gris.ast.stmt.*;
 import com.github.gris.ast.stmt.Class;
 import com.github.gris.builtin.Builtin;
-import com.github.gris.builtin.export.*;
+import com.github.gris.builtin.BuiltinRegistry;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
 import com.github.gris.typing.type.IdentifierTypeExpr;
 import com.github.gris.typing.type.Type;
-import com.github.gris.typing.type.TypeExpr;
 import com.github.gris.ast.visitor.ExprVisitor;
 import com.github.gris.ast.visitor.StmtVisitor;
 import com.github.gris.lexer.Lexer;
-import com.github.gris.lexer.Token;
 import com.github.gris.runtime.Interpreter;
 
 import java.util.*;
@@ -23,14 +23,8 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
   /** The lexer used for error reporting. */
   private Lexer lexer;
 
-  /** The interpreter for resolving expressions. */
-  private Interpreter interpreter;
-
-  /** Global variables and their states. */
-  public Map<String, VariableState> globals = new HashMap<>();
-
-  /** List of scopes, each containing variable names and their states. */
-  public LinkedList<Map<String, VariableState>> scopes = new LinkedList<>();
+  /** The scopes and frames of the program, resolving variables for the interpreter. */
+  private final Scopes scopes;
 
   /** The current class type being resolved. */
   private ClassType currentClass = ClassType.NONE;
@@ -38,6 +32,9 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
   /** The current function type being resolved. */
   private FunctionType currentFunction = FunctionType.NONE;
 
+  /** The collector errors are reported to in diagnostics mode, or null to throw them. */
+  private final Diagnostics diagnostics;
+
   /**
    * Constructs a Resolver with the provided Lexer and Interpreter.
    *
@@ -45,23 +42,25 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
    * @param interpreter The interpreter for resolving expressions.
    */
   public Resolver(Lexer lexer, Interpreter interpreter) {
-    this.lexer = lexer;
-    this.interpreter = interpreter;
-
-    Builtin abs = AbsExport.export();
-    globals.put(abs.name, VariableState.USED);
-
-    Builtin charAt = CharAtExport.export();
-    globals.put(charAt.name, VariableState.USED);
-
-    Builtin len = LenExport.export();
-    globals.put(len.name, VariableState.USED);
+    this(lexer, interpreter, null);
+  }
 
-    Builtin print = PrintExport.export();
-    globals.put(print.name, VariableState.USED);
+  /**
+   * Constructs a Resolver in diagnostics mode, which reports errors to the given collector and
+   * carries on with the next statement.
+   *
+   * @param lexer The lexer to use for source code analysis.
+   * @param interpreter The interpreter for resolving expressions.
+   * @param diagnostics The collector errors are reported to, or null to throw them.
+   */
+  public Resolver(Lexer lexer, Interpreter interpreter, Diagnostics diagnostics) {
+    this.lexer = lexer;
+    this.scopes = new Scopes(lexer, interpreter);
+    this.diagnostics = diagnostics;
 
-    Builtin println = PrintlnExport.export();
-    globals.put(println.name, VariableState.USED);
+    for (Builtin builtin : BuiltinRegistry.builtins()) {
+      scopes.bind(builtin.name, new Binding(VariableState.USED, null));
+    }
   }
 
   /**
@@ -78,7 +77,7 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
   @Override
   public Void visitAssignExpr(Assign expr) {
     resolve(expr.value);
-    resolveLocal(expr, expr.name);
+    scopes.resolve(expr, expr.name);
     return null;
   }
 
@@ -144,7 +143,8 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
           expr.keyword.col,
           lexer.getSourceLine(expr.keyword.line));
     }
-    resolveLocal(expr, expr.keyword);
+
+    scopes.resolveSuper(expr);
     return null;
   }
 
@@ -165,7 +165,7 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
           expr.keyword.col,
           lexer.getSourceLine(expr.keyword.line));
     }
-    resolveLocal(expr, expr.keyword);
+    scopes.resolve(expr, expr.keyword);
     return null;
   }
 
@@ -177,28 +177,46 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
 
   @Override
   public Void visitVariableExpr(Variable expr) {
-    if (!scopes.isEmpty() && scopes.getLast().get(expr.name.lexeme) == VariableState.DECLARED) {
+    final Binding binding = scopes.isLocal() ? scopes.current(expr.name.lexeme) : null;
+    if (binding != null && binding.state == VariableState.DECLARED) {
       throw new ResolvingError(
           "Can't read local variable in its own initializer",
           expr.name.line,
           expr.name.col,
           lexer.getSourceLine(expr.name.line));
     }
-    resolveLocal(expr, expr.name);
+    scopes.resolve(expr, expr.name);
     return null;
   }
 
   @Override
   public Void visitBlockStmt(Block stmt) {
-    beginScope();
+    // A block declaring nothing gets no scope, so the interpreter can run it in the enclosing one
+    stmt.scoped = false;
+    for (Stmt statement : stmt.statements) {
+      stmt.scoped |= statement instanceof Val
+          || statement instanceof Function
+          || statement instanceof Class;
+    }
+    if (!stmt.scoped) {
+      resolve(stmt.statements);
+      return null;
+    }
+
+    scopes.beginScope();
     resolve(stmt.statements);
-    endScope();
+    for (Stmt statement : stmt.statements) {
+      if (statement instanceof Val val) {
+        val.captured = scopes.current(val.name.lexeme).state == VariableState.CAPTURED;
+      }
+    }
+    scopes.endScope();
     return null;
   }
 
   @Override
   public Void visitClassStmt(Class stmt) {
-    if (scopes.size() > 0) {
+    if (scopes.isLocal()) {
       throw new ResolvingError(
           "Class declared in local scope",
           stmt.name.line,
@@ -206,11 +224,12 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
           lexer.getSourceLine(stmt.name.line));
     }
 
-    declare(stmt.name);
-    define(stmt.name);
+    scopes.declare(stmt.name);
+    scopes.define(stmt.name, null);
 
     ClassType enclosingClass = currentClass;
     currentClass = ClassType.CLASS;
+    scopes.beginFrame(null);
 
     if (stmt.superclass != null) {
       if (stmt.name.lexeme.equals(stmt.superclass.name.lexeme)) {
@@ -223,14 +242,14 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
 
       currentClass = ClassType.SUBCLASS;
 
-      resolveLocal(stmt.superclass, stmt.superclass.name);
+      scopes.resolve(stmt.superclass, stmt.superclass.name);
 
-      beginScope();
-      scopes.getLast().put("SUPER", VariableState.USED);
+      scopes.beginScope();
+      scopes.bind("super", new Binding(VariableState.USED, null));
     }
 
-    beginScope();
-    scopes.getLast().put("THIS", VariableState.USED);
+    scopes.beginScope();
+    scopes.bind("this", new Binding(VariableState.USED, null));
 
     for (Function method : stmt.methods) {
       FunctionType declaration = FunctionType.METHOD;
@@ -240,10 +259,11 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
       resolveFunction(method, declaration);
     }
 
-    endScope();
+    scopes.endScope();
 
-    if (stmt.superclass != null) endScope();
+    if (stmt.superclass != null) scopes.endScope();
 
+    scopes.endFrame();
     currentClass = enclosingClass;
     return null;
   }
@@ -256,8 +276,8 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
 
   @Override
   public Void visitFunctionStmt(Function stmt) {
-    declare(stmt.name);
-    define(stmt.name);
+    scopes.declare(stmt.name);
+    scopes.define(stmt.name, null);
 
     resolveFunction(stmt, FunctionType.FUNCTION);
     return null;
@@ -271,6 +291,11 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     return null;
   }
 
+  @Override
+  public Void visitInvalidStmt(Invalid stmt) {
+    return null;
+  }
+
   @Override
   public Void visitReturnStmt(Return stmt) {
     if (currentFunction == FunctionType.NONE) {
@@ -295,17 +320,20 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
 
   @Override
   public Void visitValStmt(Val stmt) {
-    declare(stmt.name);
-    if (stmt.initializer != null) {
-      resolve(stmt.initializer);
-    }
+    scopes.declare(stmt.name);
+    try {
+      if (stmt.initializer != null) {
+        resolve(stmt.initializer);
+      }
 
-    if (stmt.type.type == Type.IDENTIFIER) {
-      resolveLocal(stmt.type, ((IdentifierTypeExpr) stmt.type).identifier);
+      if (stmt.type.type == Type.IDENTIFIER) {
+        scopes.resolve(stmt.type, ((IdentifierTypeExpr) stmt.type).identifier);
+      }
+    } finally {
+      // Define even on error so later uses are not misreported as self-references
+      scopes.define(stmt.name, null);
     }
 
-    define(stmt.name);
-
     return null;
   }
 
@@ -326,113 +354,43 @@ public class Resolver implements ExprVisitor<Void>, StmtVisitor<Void> {
     FunctionType enclosingFunction = currentFunction;
     currentFunction = type;
 
-    beginScope();
+    scopes.beginFrame(function.captures);
+    scopes.beginScope();
     for (Parameter parameter : function.parameters) {
-      declare(parameter.name);
-      define(parameter.name);
+      scopes.declare(parameter.name);
+      scopes.define(parameter.name, null);
     }
     resolve(function.body);
-    endScope();
+    scopes.endScope();
+    scopes.endFrame();
     currentFunction = enclosingFunction;
   }
 
   /**
-   * Declares a variable in the current scope.
-   *
-   * @param name The name of the variable.
-   * @throws ResolvingError if a variable with the same name already exists in the scope.
-   */
-  private void declare(Token name) {
-    Map<String, VariableState> scope = scopes.isEmpty() ? globals : scopes.getLast();
-
-    if (scope.containsKey(name.lexeme)) {
-      throw new ResolvingError(
-          "Already a variable with this name in this scope",
-          name.line,
-          name.col,
-          lexer.getSourceLine(name.line));
-    }
-
-    scope.put(name.lexeme, VariableState.DECLARED);
-  }
-
-  /**
-   * Defines a variable in the current scope.
+   * Resolves a statement. In diagnostics mode an error is reported, the scopes and context opened
+   * by the statement are unwound, and resolution carries on with the next statement.
    *
-   * @param name The name of the variable to define.
-   */
-  private void define(Token name) {
-    Map<String, VariableState> scope = scopes.isEmpty() ? globals : scopes.getLast();
-    scope.put(name.lexeme, VariableState.DEFINED);
-  }
-
-  /**
-   * Resolves a local expression within the scopes.
-   *
-   * @param expr The expression to resolve.
-   * @param name The name of the expression.
-   * @throws ResolvingError if the variable is undefined.
+   * @param statement The statement to resolve.
    */
-  private void resolveLocal(Expr expr, Token name) {
-    for (int i = scopes.size() - 1; i >= 0; i--) {
-      if (scopes.get(i).containsKey(name.lexeme)) {
-        scopes.get(i).put(name.lexeme, VariableState.USED);
-        interpreter.resolve(expr, scopes.size() - 1 - i);
-        return;
-      }
-    }
-
-    if (globals.containsKey(name.lexeme)) {
-      globals.put(name.lexeme, VariableState.USED);
+  private void resolve(Stmt statement) {
+    if (diagnostics == null) {
+      statement.accept(this);
       return;
     }
-
-    throw new ResolvingError(
-        "Undefined Variable", name.line, name.col, lexer.getSourceLine(name.line));
-  }
-
-  /**
-   * Resolves a local type expression within the scopes.
-   *
-   * @param typeExpr The type expression to resolve.
-   * @param name The name of the type expression.
-   * @throws ResolvingError if the variable is undefined.
-   */
-  private void resolveLocal(TypeExpr typeExpr, Token name) {
-    for (int i = scopes.size() - 1; i >= 0; i--) {
-      if (scopes.get(i).containsKey(name.lexeme)) {
-        scopes.get(i).put(name.lexeme, VariableState.USED);
-        interpreter.resolve(typeExpr, scopes.size() - 1 - i);
-        return;
-      }
-    }
-
-    if (globals.containsKey(name.lexeme)) {
-      globals.put(name.lexeme, VariableState.USED);
-      return;
+    if (diagnostics.isFull()) return;
+
+    final int depth = scopes.depth();
+    final int frameDepth = scopes.frameDepth();
+    final ClassType enclosingClass = currentClass;
+    final FunctionType enclosingFunction = currentFunction;
+    try {
+      statement.accept(this);
+    } catch (ResolvingError error) {
+      diagnostics.report(Diagnostic.of(error));
+      scopes.unwind(depth, frameDepth);
+      currentClass = enclosingClass;
+      currentFunction = enclosingFunction;
     }
-
-    throw new ResolvingError(
-        "Undefined Variable", name.line, name.col, lexer.getSourceLine(name.line));
-  }
-
-  /** Begins a new scope. */
-  private void beginScope() {
-    scopes.add(new HashMap<>());
-  }
-
-  /** Ends the current scope. */
-  private void endScope() {
-    scopes.removeLast();
-  }
-
-  /**
-   * Resolves a statement.
-   *
-   * @param statement The statement to resolve.
-   */
-  private void resolve(Stmt statement) {
-    statement.accept(this);
   }
 
   /**
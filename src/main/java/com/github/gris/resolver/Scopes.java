@@ -0,0 +1,317 @@
+package com.github.gris.resolver;
+
+import com.github.gris.ast.Capture;
+import com.github.gris.ast.expr.Expr;
+import com.github.gris.ast.expr.Super;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.lexer.Token;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.TypeExpr;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The scopes and frames of a program being resolved, shared by the {@link Resolver} and the
+ * {@link Analyzer}. Resolving a name gives the interpreter its scope depth, its index among the
+ * captures of the current function, or its global slot, capturing it into every function between
+ * the current one and the one declaring it.
+ */
+final class Scopes {
+  /** The lexer used for error reporting. */
+  private final Lexer lexer;
+
+  /** The interpreter receiving the resolved variables. */
+  private final Interpreter interpreter;
+
+  /** Global variables, with their states and types. */
+  private final Map<String, Binding> globals = new HashMap<>();
+
+  /** The scopes, each binding variable names to their states and types. */
+  private final LinkedList<Map<String, Binding>> scopes = new LinkedList<>();
+
+  /** The frames owning the scopes, from the top-level program to the innermost function. */
+  private final LinkedList<Frame> frames = new LinkedList<>();
+
+  /**
+   * Constructs the scopes of a program, holding only its globals.
+   *
+   * @param lexer The lexer used for error reporting.
+   * @param interpreter The interpreter receiving the resolved variables.
+   */
+  Scopes(Lexer lexer, Interpreter interpreter) {
+    this.lexer = lexer;
+    this.interpreter = interpreter;
+    this.frames.add(new Frame(0, null));
+  }
+
+  /**
+   * Checks if code is being resolved in a local scope rather than at the top level.
+   *
+   * @return True if there is a local scope.
+   */
+  boolean isLocal() {
+    return !scopes.isEmpty();
+  }
+
+  /**
+   * Returns the binding of a global variable.
+   *
+   * @param name The name of the variable.
+   * @return The binding, or null if there is no such global.
+   */
+  Binding global(String name) {
+    return globals.get(name);
+  }
+
+  /**
+   * Returns the binding of a variable in the current scope, which is the globals at the top level.
+   *
+   * @param name The name of the variable.
+   * @return The binding, or null if the current scope has no such variable.
+   */
+  Binding current(String name) {
+    return (scopes.isEmpty() ? globals : scopes.getLast()).get(name);
+  }
+
+  /**
+   * Binds a name in the current scope without checking for an existing variable, as for 'this'
+   * and 'super', or for built-ins among the globals.
+   *
+   * @param name The name.
+   * @param binding The binding.
+   */
+  void bind(String name, Binding binding) {
+    (scopes.isEmpty() ? globals : scopes.getLast()).put(name, binding);
+  }
+
+  /** Begins a new scope. */
+  void beginScope() {
+    scopes.add(new HashMap<>());
+  }
+
+  /** Ends the current scope. */
+  void endScope() {
+    scopes.removeLast();
+  }
+
+  /**
+   * Begins a frame, for a function or a class body, whose scopes begin after the current ones.
+   *
+   * @param captures The capture list of the function, or null if the frame is not a function.
+   */
+  void beginFrame(List<Capture> captures) {
+    frames.add(new Frame(scopes.size(), captures));
+  }
+
+  /** Ends the current frame. */
+  void endFrame() {
+    frames.removeLast();
+  }
+
+  /**
+   * Returns the number of scopes.
+   *
+   * @return The number of scopes.
+   */
+  int depth() {
+    return scopes.size();
+  }
+
+  /**
+   * Returns the number of frames, including the top-level program's.
+   *
+   * @return The number of frames.
+   */
+  int frameDepth() {
+    return frames.size();
+  }
+
+  /**
+   * Ends the scopes and frames opened since the given depths, as after an error.
+   *
+   * @param depth The number of scopes to keep.
+   * @param frameDepth The number of frames to keep.
+   */
+  void unwind(int depth, int frameDepth) {
+    while (scopes.size() > depth) endScope();
+    while (frames.size() > frameDepth) endFrame();
+  }
+
+  /**
+   * Declares a variable in the current scope.
+   *
+   * @param name The name of the variable.
+   * @throws ResolvingError if a variable with the same name already exists in the scope.
+   */
+  void declare(Token name) {
+    final Map<String, Binding> scope = scopes.isEmpty() ? globals : scopes.getLast();
+
+    if (scope.containsKey(name.lexeme)) {
+      throw new ResolvingError(
+          "Already a variable with this name in this scope",
+          name.line,
+          name.col,
+          lexer.getSourceLine(name.line));
+    }
+
+    scope.put(name.lexeme, new Binding(VariableState.DECLARED, null));
+  }
+
+  /**
+   * Defines a variable in the current scope.
+   *
+   * @param name The name of the variable to define.
+   * @param type The type of the variable, or null if it couldn't be determined or isn't tracked.
+   */
+  void define(Token name, TypeExpr type) {
+    bind(name.lexeme, new Binding(VariableState.DEFINED, type));
+  }
+
+  /**
+   * Looks a variable up in the scopes and then the globals, without resolving it.
+   *
+   * @param name The name of the variable.
+   * @return The binding, or null if the variable is undefined.
+   */
+  Binding lookup(Token name) {
+    for (int i = scopes.size() - 1; i >= 0; i--) {
+      final Binding binding = scopes.get(i).get(name.lexeme);
+      if (binding != null) return binding;
+    }
+    return globals.get(name.lexeme);
+  }
+
+  /**
+   * Resolves a variable within the scopes. A variable of the current function is resolved to its
+   * scope depth, one of an enclosing function to its index among the captures, and a global to its
+   * slot.
+   *
+   * @param expr The expression to resolve.
+   * @param name The name of the variable.
+   * @return The binding of the variable.
+   * @throws ResolvingError if the variable is undefined.
+   */
+  Binding resolve(Expr expr, Token name) {
+    for (int i = scopes.size() - 1; i >= 0; i--) {
+      final Binding binding = scopes.get(i).get(name.lexeme);
+      if (binding != null) {
+        if (binding.state != VariableState.CAPTURED) binding.state = VariableState.USED;
+        if (frameOf(i) == frames.size() - 1) {
+          interpreter.resolve(expr, scopes.size() - 1 - i);
+        } else {
+          interpreter.capture(expr, capture(frames.size() - 1, i, name.lexeme));
+        }
+        return binding;
+      }
+    }
+
+    final Binding global = globals.get(name.lexeme);
+    if (global != null) {
+      global.state = VariableState.USED;
+      interpreter.resolveGlobal(expr, name.lexeme);
+      return global;
+    }
+
+    throw new ResolvingError(
+        "Undefined Variable", name.line, name.col, lexer.getSourceLine(name.line));
+  }
+
+  /**
+   * Resolves a type expression naming a class within the scopes.
+   *
+   * @param typeExpr The type expression to resolve.
+   * @param name The name of the class.
+   * @return The binding of the class.
+   * @throws ResolvingError if the class is undefined.
+   */
+  Binding resolve(TypeExpr typeExpr, Token name) {
+    for (int i = scopes.size() - 1; i >= 0; i--) {
+      final Binding binding = scopes.get(i).get(name.lexeme);
+      if (binding != null) {
+        binding.state = VariableState.USED;
+        return binding;
+      }
+    }
+
+    final Binding global = globals.get(name.lexeme);
+    if (global != null) {
+      global.state = VariableState.USED;
+      return global;
+    }
+
+    throw new ResolvingError(
+        "Undefined Variable", name.line, name.col, lexer.getSourceLine(name.line));
+  }
+
+  /**
+   * Resolves a 'super' expression, capturing 'super' and its receiver 'this' into the current
+   * function. Must be called inside a subclass.
+   *
+   * @param expr The 'super' expression.
+   * @return The binding of 'super'.
+   */
+  Binding resolveSuper(Super expr) {
+    int superScope = -1;
+    int thisScope = -1;
+    for (int i = scopes.size() - 1; i >= 0; i--) {
+      if (superScope < 0 && scopes.get(i).containsKey("super")) superScope = i;
+      if (thisScope < 0 && scopes.get(i).containsKey("this")) thisScope = i;
+    }
+    interpreter.capture(expr, captureReceiver(frames.size() - 1, superScope, thisScope));
+    return scopes.get(superScope).get("super");
+  }
+
+  /**
+   * Finds the frame owning a scope.
+   *
+   * @param scope The index of the scope.
+   * @return The index of the frame.
+   */
+  private int frameOf(int scope) {
+    int frame = frames.size() - 1;
+    while (frames.get(frame).base > scope) frame--;
+    return frame;
+  }
+
+  /**
+   * Captures a variable of an enclosing frame into a function, and into every function between
+   * them.
+   *
+   * @param frame The index of the capturing function's frame.
+   * @param scope The index of the scope declaring the variable.
+   * @param name The name of the variable.
+   * @return The index of the capture in the function.
+   */
+  private int capture(int frame, int scope, String name) {
+    final Frame function = frames.get(frame);
+    if (frameOf(scope) == frame - 1) {
+      scopes.get(scope).get(name).state = VariableState.CAPTURED;
+      return function.add(new Capture(name, true, function.base - 1 - scope));
+    }
+    return function.add(new Capture(name, false, capture(frame - 1, scope, name)));
+  }
+
+  /**
+   * Captures 'super' and 'this' into a function as adjacent captures, so a 'super' expression
+   * finds its receiver right after the superclass.
+   *
+   * @param frame The index of the capturing function's frame.
+   * @param superScope The index of the scope declaring 'super'.
+   * @param thisScope The index of the scope declaring 'this'.
+   * @return The index of the 'super' capture in the function.
+   */
+  private int captureReceiver(int frame, int superScope, int thisScope) {
+    final Frame function = frames.get(frame);
+    if (frameOf(superScope) == frame - 1) {
+      return function.addPair(
+          new Capture("super", true, function.base - 1 - superScope),
+          new Capture("this", true, function.base - 1 - thisScope));
+    }
+    final int index = captureReceiver(frame - 1, superScope, thisScope);
+    return function.addPair(
+        new Capture("super", false, index), new Capture("this", false, index + 1));
+  }
+}
@@ -17,5 +17,10 @@ public enum VariableState {
     /**
      * Indicates that the variable has been used within the program.
      */
-    USED
+    USED,
+
+    /**
+     * Indicates that the variable has been captured by a closure.
+     */
+    CAPTURED
 }
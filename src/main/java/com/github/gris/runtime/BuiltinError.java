@@ -0,0 +1,18 @@
+package com.github.gris.runtime;
+
+/**
+ * Represents a failure of a built-in function, such as an index out of bounds or a file that
+ * cannot be read. Built-ins do not know where they were called, so the interpreter raises it
+ * again as a {@link RuntimeError} at the call.
+ */
+public class BuiltinError extends RuntimeException {
+  /**
+   * Constructs a BuiltinError with a message and the exception that caused it.
+   *
+   * @param message The detail message.
+   * @param cause The exception that caused the failure.
+   */
+  public BuiltinError(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
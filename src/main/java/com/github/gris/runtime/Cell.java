@@ -0,0 +1,73 @@
+package com.github.gris.runtime;
+
+import com.github.gris.runtime.value.GrisNumber;
+import com.github.gris.runtime.value.GrisType;
+
+/**
+ * Holds the value of a variable. Closures share the cells of the variables they capture, so an
+ * assignment on either side is seen by both.
+ *
+ * <p>A number stored by the interpreter's numeric path is kept unboxed, and only wrapped in a
+ * {@link GrisNumber} when it is read as a general value; numeric reads take it as it is.
+ *
+ * <p>A cell is only read and written by one thread; globals shared between threads are held in a
+ * {@link SharedCell} instead.
+ */
+public class Cell {
+  /** The value of the variable, unless it is held unboxed. */
+  private GrisType value;
+
+  /** The value of the variable, if it is held unboxed. */
+  private double number;
+
+  /** Whether the value is held unboxed in {@link #number}. */
+  private boolean unboxed;
+
+  /**
+   * Constructs a cell holding the given value.
+   *
+   * @param value The initial value of the variable.
+   */
+  public Cell(GrisType value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns the value of the variable, boxing it if it is held unboxed.
+   *
+   * @return The value.
+   */
+  public GrisType get() {
+    return unboxed ? new GrisNumber(number) : value;
+  }
+
+  /**
+   * Returns the value of a variable known to hold a number.
+   *
+   * @return The number.
+   */
+  public double getNumber() {
+    return unboxed ? number : ((GrisNumber) value).value;
+  }
+
+  /**
+   * Sets the value of the variable.
+   *
+   * @param value The new value.
+   */
+  public void set(GrisType value) {
+    this.value = value;
+    this.unboxed = false;
+  }
+
+  /**
+   * Sets the variable to a number, held unboxed.
+   *
+   * @param number The new value.
+   */
+  public void setNumber(double number) {
+    this.number = number;
+    this.value = null;
+    this.unboxed = true;
+  }
+}
@@ -1,13 +1,24 @@
 package com.github.gris.runtime;
 
+import com.github.gris.ast.Capture;
 import com.github.gris.lexer.Lexer;
 import com.github.gris.lexer.Token;
 import com.github.gris.runtime.value.GrisType;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
-/** Represents an environment in the Gris language runtime. */
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents an environment in the Gris language runtime. Each variable is held in a {@link Cell},
+ * which closures capture directly, so a function's environment only encloses the scopes of its
+ * own body.
+ *
+ * <p>Only the global environment may be shared by interpreters on several threads, when its table
+ * is. It then holds its cells in a concurrent map, and each in a {@link SharedCell}; the
+ * environments of blocks and function bodies belong to one thread and stay unsynchronized.
+ */
 public class Environment {
   /** The lexer used for error reporting. */
   private Lexer lexer;
@@ -15,17 +26,37 @@ public class Environment {
   /** The enclosing environment, if any. */
   final Environment enclosing;
 
-  /** The map of variable values within the environment. */
-  public final Map<String, GrisType> values = new HashMap<>();
+  /** The map of variable cells within the environment. */
+  public final Map<String, Cell> values;
+
+  /** The table every definition is also stored in, for the global environment; otherwise null. */
+  private final GlobalTable table;
 
   /**
-   * Constructs a new environment with the given lexer.
+   * Constructs a new global environment with the given lexer, holding the globals already bound
+   * in its table.
    *
    * @param lexer The lexer used for error reporting.
+   * @param table The table holding the globals by slot.
    */
-  public Environment(Lexer lexer) {
+  public Environment(Lexer lexer, GlobalTable table) {
     this.lexer = lexer;
     this.enclosing = null;
+    this.table = table;
+    this.values = table.isShared() ? new ConcurrentHashMap<>() : new HashMap<>();
+
+    final List<String> names = table.names();
+    for (int slot = 0; slot < names.size(); slot++) {
+      final Cell cell = table.cell(slot);
+      if (cell != null) values.put(names.get(slot), cell);
+    }
+  }
+
+  /** Constructs a new environment for the body of a function, with no enclosing environment. */
+  public Environment() {
+    this.enclosing = null;
+    this.table = null;
+    this.values = new HashMap<>();
   }
 
   /**
@@ -35,21 +66,23 @@ public class Environment {
    */
   public Environment(Environment enclosing) {
     this.enclosing = enclosing;
+    this.table = null;
+    this.values = new HashMap<>();
   }
 
   /**
-   * Retrieves the value of a variable by its name.
+   * Retrieves the cell of a variable by its name.
    *
    * @param name The token representing the name of the variable.
-   * @return The value of the variable.
+   * @return The cell holding the variable.
    * @throws RuntimeError If the variable is not defined.
    */
-  GrisType get(Token name) {
-
-    if(values.containsKey(name.lexeme)) return values.get(name.lexeme);
+  Cell cell(Token name) {
+    final Cell cell = values.get(name.lexeme);
+    if (cell != null) return cell;
 
     if (enclosing != null) {
-      return enclosing.get(name);
+      return enclosing.cell(name);
     }
 
     throw new RuntimeError(
@@ -67,18 +100,18 @@ public class Environment {
    * @return The value of the variable.
    */
   public GrisType getAt(int distance, String name) {
-    return ancestor(distance).values.get(name);
+    return ancestor(distance).values.get(name).get();
   }
 
   /**
-   * Assigns a value to a variable in an ancestor environment.
+   * Retrieves the cell of a variable in an ancestor environment.
    *
    * @param distance The distance to the ancestor environment.
    * @param name The name of the variable.
-   * @param value The value to be assigned.
+   * @return The cell holding the variable.
    */
-  void assignAt(int distance, Token name, GrisType value) {
-    ancestor(distance).values.put(name.lexeme, value);
+  Cell cellAt(int distance, String name) {
+    return ancestor(distance).values.get(name);
   }
 
   /**
@@ -89,8 +122,9 @@ public class Environment {
    * @throws RuntimeError If the variable is not defined.
    */
   void assign(Token name, GrisType value) {
-    if (values.containsKey(name.lexeme)) {
-      values.put(name.lexeme, value);
+    final Cell cell = values.get(name.lexeme);
+    if (cell != null) {
+      cell.set(value);
       return;
     }
 
@@ -111,9 +145,45 @@ public class Environment {
    *
    * @param name The name of the variable.
    * @param value The value of the variable.
+   * @return The cell holding the variable.
+   */
+  public Cell define(String name, GrisType value) {
+    final Cell cell = table != null && table.isShared() ? new SharedCell(value) : new Cell(value);
+    values.put(name, cell);
+    if (table != null) table.bind(name, cell);
+    return cell;
+  }
+
+  /**
+   * Defines a variable in the current environment, reusing the cell of an earlier definition of
+   * the same name. Only used for variables no closure captures, which can't observe the reuse.
+   *
+   * @param name The name of the variable.
+   * @param value The value of the variable.
+   * @return The cell holding the variable.
    */
-  public void define(String name, GrisType value) {
-    values.put(name, value);
+  public Cell redefine(String name, GrisType value) {
+    final Cell cell = values.get(name);
+    if (cell == null) return define(name, value);
+
+    cell.set(value);
+    return cell;
+  }
+
+  /**
+   * Collects the cells captured by a function declared in this environment.
+   *
+   * @param captures The captures computed by the resolver for the function.
+   * @param enclosing The cells captured by the function executing the declaration, if any.
+   * @return The captured cells, in the order of {@code captures}.
+   */
+  public Cell[] capture(List<Capture> captures, Cell[] enclosing) {
+    final Cell[] cells = new Cell[captures.size()];
+    for (int i = 0; i < cells.length; i++) {
+      final Capture capture = captures.get(i);
+      cells[i] = capture.local ? cellAt(capture.index, capture.name) : enclosing[capture.index];
+    }
+    return cells;
   }
 
   /**
@@ -0,0 +1,138 @@
+package com.github.gris.runtime;
+
+import com.github.gris.runtime.value.GrisType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the cells of the global variables, including the built-in functions, in an array. Each name
+ * is given a fixed slot the first time the resolver or the global environment sees it, so a global
+ * read is an array load instead of a lookup by name.
+ */
+public final class GlobalTable {
+  /** The slot given to each name. */
+  private final Map<String, Integer> slots = new HashMap<>();
+
+  /** The names, in slot order. */
+  private final List<String> names = new ArrayList<>();
+
+  /** Whether interpreters running at once share the table, so it is only changed by copying. */
+  private final boolean shared;
+
+  /** The cells, indexed by slot; null until the global is defined. */
+  private volatile Cell[] cells = new Cell[16];
+
+  /** Constructs an empty table, for one interpreter. */
+  public GlobalTable() {
+    this(false);
+  }
+
+  /**
+   * Constructs an empty table.
+   *
+   * @param shared Whether interpreters on several threads share the table.
+   */
+  public GlobalTable(boolean shared) {
+    this.shared = shared;
+  }
+
+  /**
+   * Constructs a table giving every name the slot it has in another table, with a new cell for
+   * each cell bound there, holding its value as it is now.
+   *
+   * @param other The table to copy.
+   */
+  private GlobalTable(GlobalTable other) {
+    shared = other.shared;
+    slots.putAll(other.slots);
+    names.addAll(other.names);
+
+    final Cell[] source = other.cells;
+    final Cell[] copy = new Cell[source.length];
+    for (int slot = 0; slot < source.length; slot++) {
+      if (source[slot] == null) continue;
+      final GrisType value = source[slot].get();
+      copy[slot] = shared ? new SharedCell(value) : new Cell(value);
+    }
+    cells = copy;
+  }
+
+  /**
+   * Checks if interpreters on several threads share the table.
+   *
+   * @return True if the table is shared.
+   */
+  boolean isShared() {
+    return shared;
+  }
+
+  /**
+   * Returns a copy of the table, with the same slots and new cells holding the current values.
+   * The values themselves are not copied.
+   *
+   * @return The new table.
+   */
+  GlobalTable copy() {
+    return new GlobalTable(this);
+  }
+
+  /**
+   * Returns the slot of a global, giving it the next free one if it has none.
+   *
+   * @param name The name of the global.
+   * @return The slot of the global.
+   */
+  public synchronized int slot(String name) {
+    final Integer slot = slots.get(name);
+    if (slot != null) return slot;
+
+    final int next = names.size();
+    slots.put(name, next);
+    names.add(name);
+    if (next == cells.length) cells = Arrays.copyOf(cells, next * 2);
+    return next;
+  }
+
+  /**
+   * Returns the names of the globals, in slot order.
+   *
+   * @return The names.
+   */
+  public List<String> names() {
+    return names;
+  }
+
+  /**
+   * Stores the cell of a global being defined in its slot.
+   *
+   * @param name The name of the global.
+   * @param cell The cell holding its value.
+   */
+  synchronized void bind(String name, Cell cell) {
+    // The slot is taken first, as giving a new name one may replace the array
+    final int slot = slot(name);
+    if (!shared) {
+      cells[slot] = cell;
+      return;
+    }
+
+    // Shared readers load the array without locking, so it is copied and published whole
+    final Cell[] copy = cells.clone();
+    copy[slot] = cell;
+    cells = copy;
+  }
+
+  /**
+   * Retrieves the cell in a slot.
+   *
+   * @param slot The slot.
+   * @return The cell, or null if the global has not been defined yet.
+   */
+  Cell cell(int slot) {
+    return cells[slot];
+  }
+}
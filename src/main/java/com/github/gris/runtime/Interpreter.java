@@ -4,18 +4,17 @@ import com.github.gris.ast.expr.*;
 import com.github.gris.ast.stmt.*;
 import com.github.gris.ast.stmt.Class;
 import com.github.gris.builtin.Builtin;
-import com.github.gris.builtin.export.*;
+import com.github.gris.builtin.BuiltinRegistry;
 import com.github.gris.lexer.Lexer;
-import com.github.gris.typing.type.TypeExpr;
+import com.github.gris.typing.type.ArrayTypeExpr;
+import com.github.gris.typing.type.Type;
 import com.github.gris.ast.visitor.ExprVisitor;
 import com.github.gris.ast.visitor.StmtVisitor;
 import com.github.gris.lexer.Token;
 import com.github.gris.lexer.TokenType;
-import com.github.gris.runtime.union.ExprUnion;
-import com.github.gris.runtime.union.ExprUnionTypeExpr;
-import com.github.gris.runtime.union.TypeExprUnion;
 import com.github.gris.runtime.value.*;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -29,11 +28,17 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
   /** The global environment. */
   public final Environment globals;
 
+  /** The cells of the global environment, by slot. */
+  public final GlobalTable globalTable;
+
   /** The current environment. */
   private Environment environment;
 
-  /** A map to keep track of local variables and their scopes. */
-  public final Map<ExprUnionTypeExpr, Integer> locals = new HashMap<>();
+  /** The cells captured by the function being executed, or null in top-level code. */
+  private Cell[] closure;
+
+  /** The tasks spawned by the program, shared with every fork of the interpreter. */
+  private final Tasks tasks;
 
   /**
    * Constructs an Interpreter object with the given lexer.
@@ -41,139 +46,264 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
    * @param lexer The lexer used for error reporting.
    */
   public Interpreter(Lexer lexer) {
+    this(lexer, false);
+  }
+
+  /**
+   * Constructs an Interpreter object with the given lexer, choosing whether the globals are shared
+   * with the interpreters it forks. Shared globals are seen and assigned by every task and
+   * parallel worker at once, each assignment atomically; otherwise each fork has its own copy.
+   *
+   * @param lexer The lexer used for error reporting.
+   * @param sharedGlobals Whether forks share the globals rather than copy them.
+   */
+  public Interpreter(Lexer lexer, boolean sharedGlobals) {
     this.lexer = lexer;
-    this.globals = new Environment(lexer);
+    this.globalTable = new GlobalTable(sharedGlobals);
+    this.tasks = new Tasks();
+    this.globals = new Environment(lexer, globalTable);
     this.environment = this.globals;
 
-    Builtin abs = AbsExport.export();
-    globals.define(abs.name, abs.function);
-
-    Builtin charAt = CharAtExport.export();
-    globals.define(charAt.name, charAt.function);
-
-    Builtin len = LenExport.export();
-    globals.define(len.name, len.function);
+    for (Builtin builtin : BuiltinRegistry.builtins()) {
+      globals.define(builtin.name, builtin.function);
+    }
+  }
 
-    Builtin print = PrintExport.export();
-    globals.define(print.name, print.function);
+  /**
+   * Constructs an interpreter sharing the resolved program of another, and either sharing its
+   * globals or holding its own copy of them as they are now.
+   *
+   * @param program The interpreter the program was resolved for.
+   * @param tasks The tasks the new interpreter's spawned tasks are added to.
+   * @param copyGlobals Whether to copy the globals rather than share them.
+   */
+  Interpreter(Interpreter program, Tasks tasks, boolean copyGlobals) {
+    this.lexer = program.lexer;
+    this.tasks = tasks;
+    this.globalTable = copyGlobals ? program.globalTable.copy() : program.globalTable;
+    this.globals = copyGlobals ? new Environment(lexer, globalTable) : program.globals;
+    this.environment = this.globals;
+  }
 
-    Builtin println = PrintlnExport.export();
-    globals.define(println.name, println.function);
+  /**
+   * Creates an interpreter for running functions of this program on another thread. The program
+   * and the resolver's tables are shared, as nothing changes them once it runs. Unless this
+   * interpreter shares its globals, they are copied, so assignments to them on either side are not
+   * seen by the other. Values reachable from the globals, such as arrays and instances, are shared
+   * and must only be read.
+   *
+   * <p>Must be called on the thread running this interpreter, before the other thread starts.
+   *
+   * @return The new interpreter.
+   */
+  public Interpreter fork() {
+    return new Interpreter(this, tasks, !globalTable.isShared());
   }
 
   /**
-   * Interprets a list of statements.
+   * Captures the globals of the program as they are now, typically once its top-level code has
+   * run, so that interpreters can be started from them without running it again.
    *
-   * @param statements The list of statements to interpret.
+   * <p>Must be called on the thread running this interpreter, while it is not running.
+   *
+   * @return The snapshot.
    */
-  public void interpret(List<Stmt> statements) {
-    for (Stmt statement : statements) {
-      execute(statement);
-    }
+  public Snapshot snapshot() {
+    return new Snapshot(new Interpreter(this, new Tasks(), true));
   }
 
-  public GrisType visitAssignExpr(Assign expr) {
-    GrisType value = this.evaluate(expr.value);
+  /**
+   * Calls a global function of the program, then waits for the tasks it spawned to finish. This
+   * is how work is run on an interpreter forked from a {@link Snapshot}.
+   *
+   * @param name The name of the function.
+   * @param arguments The arguments to call it with.
+   * @return The result of the function.
+   * @throws IllegalArgumentException If the program has no global function of that name.
+   * @throws RuntimeError If the function or a task it spawned fails.
+   */
+  public GrisType call(String name, List<GrisType> arguments) {
+    final Cell cell = globals.values.get(name);
+    if (cell == null || !(cell.get() instanceof GrisCallable function)) {
+      throw new IllegalArgumentException(
+          String.format("No global function named '%s'", name));
+    }
 
+    tasks.begin();
+    final GrisType result;
+    try {
+      result = function.call(this, arguments);
+    } catch (RuntimeError error) {
+      throw tasks.failure(error);
+    }
+    tasks.await();
+    return result;
+  }
 
-    Integer distance = null;
-    for (Map.Entry<ExprUnionTypeExpr, Integer> local : locals.entrySet()) {
-      if (((ExprUnion) local.getKey()).value == expr) {
-        distance = local.getValue();
-        break;
+  /**
+   * Interprets a list of statements, then waits for the tasks they spawned to finish.
+   *
+   * @param statements The list of statements to interpret.
+   * @throws RuntimeError If a statement or a spawned task fails.
+   */
+  public void interpret(List<Stmt> statements) {
+    tasks.begin();
+    try {
+      for (Stmt statement : statements) {
+        execute(statement);
       }
+    } catch (RuntimeError error) {
+      throw tasks.failure(error);
     }
+    tasks.await();
+  }
 
+  /**
+   * Runs a function as a task on a new virtual thread, with its own fork of this interpreter.
+   * Tasks share values through channels and other values reachable from the globals; assignments
+   * to the globals themselves stay on the task's copy, unless the globals are shared.
+   *
+   * @param function The function to run, taking no arguments.
+   */
+  public void spawn(GrisCallable function) {
+    final Interpreter worker = fork();
+    tasks.spawn(() -> function.call0(worker));
+  }
 
-    if (distance != null) {
-      this.environment.assignAt(distance, expr.name, value);
-    } else {
-      this.globals.assign(expr.name, value);
-    }
+  public GrisType visitAssignExpr(Assign expr) {
+    if (expr.numeric) return new GrisNumber(this.assignNumber(expr));
 
+    GrisType value = this.evaluate(expr.value);
+    this.variable(expr.name, expr).set(value);
     return value;
   }
 
   @Override
   public GrisType visitBinaryExpr(Binary expr) {
-    final GrisType left = this.evaluate(expr.left);
-    final GrisType right = this.evaluate(expr.right);
-
     switch (expr.operator.type) {
       case BANG_EQUAL -> {
-        return new GrisBoolean(!left.isEqual(right).value);
-      }
-      case CARET -> {
-        int leftInt = (int) ((GrisNumber) left).value;
-        int rightInt = (int) ((GrisNumber) right).value;
-        return new GrisNumber(Math.pow(leftInt, rightInt));
+        final GrisType left = this.evaluate(expr.left);
+        return new GrisBoolean(!left.isEqual(this.evaluate(expr.right)).value);
       }
       case EQUAL_EQUAL -> {
-        return left.isEqual(right);
+        final GrisType left = this.evaluate(expr.left);
+        return left.isEqual(this.evaluate(expr.right));
+      }
+      case PLUS -> {
+        // Strings are concatenated; a sum known to be numeric stays on the unboxed path below
+        if (!isNumeric(expr.left)) {
+          final GrisType left = this.evaluate(expr.left);
+          if (left instanceof GrisString string) {
+            return string.concat((GrisString) this.evaluate(expr.right));
+          }
+          return new GrisNumber(((GrisNumber) left).value + this.evaluateNumber(expr.right));
+        }
       }
+    }
+
+    // The remaining operators only take numbers, as checked by the type checker
+    final double left = this.evaluateNumber(expr.left);
+    final double right = this.evaluateNumber(expr.right);
+
+    switch (expr.operator.type) {
       case GREATER -> {
-        return new GrisBoolean(((GrisNumber) left).value > ((GrisNumber) right).value);
+        return new GrisBoolean(left > right);
       }
       case GREATER_EQUAL -> {
-        return new GrisBoolean(((GrisNumber) left).value >= ((GrisNumber) right).value);
+        return new GrisBoolean(left >= right);
       }
       case LESS -> {
-        return new GrisBoolean(((GrisNumber) left).value < ((GrisNumber) right).value);
+        return new GrisBoolean(left < right);
       }
       case LESS_EQUAL -> {
-        return new GrisBoolean(((GrisNumber) left).value <= ((GrisNumber) right).value);
-      }
-      case MINUS -> {
-        return new GrisNumber(((GrisNumber) left).value - ((GrisNumber) right).value);
-      }
-      case MODULO -> {
-        return new GrisNumber(((GrisNumber) left).value % ((GrisNumber) right).value);
-      }
-      case PLUS -> {
-        return new GrisNumber(((GrisNumber) left).value + ((GrisNumber) right).value);
-      }
-      case SLASH -> {
-        return new GrisNumber(((GrisNumber) left).value / ((GrisNumber) right).value);
-      }
-      case STAR -> {
-        return new GrisNumber(((GrisNumber) left).value * ((GrisNumber) right).value);
+        return new GrisBoolean(left <= right);
       }
     }
-    // Unreachable
-    return null;
+    return new GrisNumber(arithmetic(expr.operator.type, left, right));
   }
 
   @Override
   public GrisType visitCallExpr(Call expr) {
-    Object callee = evaluate(expr.callee);
+    final GrisCallable function;
+    if (expr.callee instanceof Get get) {
+      // A method of an array, a channel, a map or a file is applied directly, without binding it
+      final GrisType object = evaluate(get.object);
+      if (object instanceof GrisArray array) return arrayCall(array, get.name, expr.arguments);
+      if (object instanceof GrisChannel channel) {
+        return applyChannel(channel, get.name, argument(expr.arguments));
+      }
+      if (object instanceof GrisMap map) return mapCall(map, get.name, expr.arguments);
+      if (object instanceof GrisFile file) return callFile(file, get.name);
+      function = (GrisCallable) property(object, get.name);
+    } else {
+      function = (GrisCallable) evaluate(expr.callee);
+    }
+
+    try {
+      return invoke(function, expr.arguments);
+    } catch (BuiltinError error) {
+      throw builtinError(error, expr);
+    }
+  }
+
+  /**
+   * Creates the runtime error reporting a built-in's failure at the call that made it.
+   *
+   * @param error The failure of the built-in.
+   * @param expr The call.
+   * @return The runtime error.
+   */
+  private RuntimeError builtinError(BuiltinError error, Call expr) {
+    return new RuntimeError(
+        error.getMessage(),
+        expr.parenthesis.line,
+        expr.parenthesis.col,
+        lexer.getSourceLine(expr.parenthesis.line));
+  }
+
+  /**
+   * Calls a callable, evaluating its arguments.
+   *
+   * @param function The callable.
+   * @param argumentExprs The argument expressions of the call.
+   * @return The result of the call.
+   */
+  private GrisType invoke(GrisCallable function, List<Expr> argumentExprs) {
+    // Calls of up to two arguments go through the arity-specific entry points, without a list
+    switch (argumentExprs.size()) {
+      case 0 -> {
+        return function.call0(this);
+      }
+      case 1 -> {
+        return function.call1(this, evaluate(argumentExprs.get(0)));
+      }
+      case 2 -> {
+        final GrisType first = evaluate(argumentExprs.get(0));
+        return function.call2(this, first, evaluate(argumentExprs.get(1)));
+      }
+    }
 
     List<GrisType> arguments = new ArrayList<>();
-    for (Expr argument : expr.arguments) {
+    for (Expr argument : argumentExprs) {
       arguments.add(evaluate(argument));
     }
 
-    GrisCallable function = (GrisCallable) callee;
-
     return function.call(this, arguments);
   }
 
   @Override
   public GrisType visitGetExpr(Get expr) {
-    Object object = evaluate(expr.object);
-    if (object instanceof GrisClassInstance) {
-      return ((GrisClassInstance) object).get(expr.name);
-    }
-
-    return null;
+    return property(evaluate(expr.object), expr.name);
   }
 
   @Override
   public GrisType visitGroupingExpr(Grouping expr) {
-    return this.evaluate(expr);
+    return this.evaluate(expr.expression);
   }
 
   @Override
   public GrisType visitLiteralExpr(Literal expr) {
+    if (expr.runtimeValue != null) return expr.runtimeValue;
     if (expr.value == null) return null;
     switch (expr.type) {
       case BOOLEAN -> {
@@ -214,9 +344,10 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
 
   @Override
   public GrisType visitSuperExpr(Super expr) {
-    final int distance = this.locals.get(expr);
-    final GrisClass superclass = (GrisClass) this.environment.getAt(distance, "SUPER");
-    final GrisClassInstance object = (GrisClassInstance) environment.getAt(distance - 1, "THIS");
+    // The resolver captures the receiver right after 'super'
+    final int index = expr.index;
+    final GrisClass superclass = (GrisClass) this.closure[index].get();
+    final GrisClassInstance object = (GrisClassInstance) this.closure[index + 1].get();
     final GrisFunction method = superclass.findMethod(expr.method.lexeme);
 
     return method.bind(object);
@@ -224,9 +355,7 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
 
   @Override
   public GrisType visitTernaryExpr(Ternary expr) {
-    final GrisBoolean condition = (GrisBoolean) evaluate(expr.condition);
-
-    if (condition.value) {
+    if (evaluateCondition(expr.condition)) {
       return evaluate(expr.thenBranch);
     } else {
       return evaluate(expr.elseBranch);
@@ -235,23 +364,17 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
 
   @Override
   public GrisType visitThisExpr(This expr) {
-    try {
-      return this.lookUpVariable(expr.keyword, expr);
-    } catch (Exception exception) {
-      return null;
-    }
+    return this.lookUpVariable(expr.keyword, expr);
   }
 
   @Override
   public GrisType visitUnaryExpr(Unary expr) {
-    final GrisType right = evaluate(expr.right);
-
     switch (expr.operator.type) {
       case BANG -> {
-        return new GrisBoolean(!((GrisBoolean) right).value);
+        return new GrisBoolean(!((GrisBoolean) evaluate(expr.right)).value);
       }
       case MINUS -> {
-        return new GrisNumber(-((GrisNumber) right).value);
+        return new GrisNumber(-evaluateNumber(expr.right));
       }
     }
     // Unreachable
@@ -265,6 +388,12 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
 
   @Override
   public Void visitBlockStmt(Block stmt) {
+    if (!stmt.scoped) {
+      for (Stmt statement : stmt.statements) {
+        execute(statement);
+      }
+      return null;
+    }
     executeBlock(stmt.statements, new Environment(environment));
     return null;
   }
@@ -277,46 +406,49 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
     }
     this.environment.define(stmt.name.lexeme, new GrisVoid());
 
+    // Methods capture 'super' from here, and 'this' from the scope each binding adds to it
+    Environment scope = null;
     if (superclass != null) {
-      this.environment = new Environment(environment);
-      environment.define("SUPER", superclass);
+      scope = new Environment();
+      scope.define("super", superclass);
     }
 
     Map<String, GrisFunction> methods = new HashMap<>();
     for (Function method : stmt.methods) {
       GrisFunction function =
-          new GrisFunction(method, environment, method.name.lexeme.equals("constructor"));
+          new GrisFunction(method, scope, method.name.lexeme.equals("constructor"));
       methods.put(method.name.lexeme, function);
     }
 
     GrisClass klass = new GrisClass(stmt.name.lexeme, superclass, methods);
 
-    if (superclass != null) {
-      environment = environment.enclosing;
-    }
-
     environment.assign(stmt.name, klass);
     return null;
   }
 
   @Override
   public Void visitExpressionStmt(Expression stmt) {
-    evaluate(stmt.expression);
+    // A numeric assignment's value is discarded here, so it is never boxed
+    if (stmt.expression instanceof Assign assign && assign.numeric) {
+      assignNumber(assign);
+    } else {
+      evaluate(stmt.expression);
+    }
     return null;
   }
 
   @Override
   public Void visitFunctionStmt(Function stmt) {
-    GrisFunction function = new GrisFunction(stmt, environment, false);
-    environment.define(stmt.name.lexeme, function);
+    // Defined first, so that a recursive local function can capture its own cell
+    environment.define(stmt.name.lexeme, null);
+    GrisFunction function = new GrisFunction(stmt, environment.capture(stmt.captures, closure));
+    environment.cellAt(0, stmt.name.lexeme).set(function);
     return null;
   }
 
   @Override
   public Void visitIfStmt(If stmt) {
-    final GrisBoolean condition = (GrisBoolean) evaluate(stmt.condition);
-
-    if (condition.value) {
+    if (evaluateCondition(stmt.condition)) {
       execute(stmt.thenBranch);
     } else if (stmt.elseBranch != null) {
       execute(stmt.elseBranch);
@@ -324,6 +456,12 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
     return null;
   }
 
+  @Override
+  public Void visitInvalidStmt(Invalid stmt) {
+    throw new RuntimeError(
+        "Statement failed to parse", stmt.error.line, stmt.error.col, stmt.error.sourceLine);
+  }
+
   @Override
   public Void visitReturnStmt(Return stmt) {
     final GrisType value = stmt.value != null ? evaluate(stmt.value) : new GrisVoid();
@@ -332,18 +470,41 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
 
   @Override
   public Void visitValStmt(Val stmt) {
+    if (stmt.numeric) {
+      final double number = evaluateNumber(stmt.initializer);
+      final Cell cell =
+          stmt.captured
+              ? environment.define(stmt.name.lexeme, null)
+              : environment.redefine(stmt.name.lexeme, null);
+      cell.setNumber(number);
+      return null;
+    }
+
     GrisType value = null;
     if (stmt.initializer != null) {
       value = evaluate(stmt.initializer);
     }
-    environment.define(stmt.name.lexeme, value);
+    if (stmt.captured) {
+      environment.define(stmt.name.lexeme, value);
+    } else {
+      environment.redefine(stmt.name.lexeme, value);
+    }
 
     return null;
   }
 
   @Override
   public Void visitWhileStmt(While stmt) {
-    while (((GrisBoolean) evaluate(stmt.condition)).value) {
+    if (stmt.body instanceof Block body && body.scoped) {
+      // Closures hold cells rather than environments, so one environment serves every iteration
+      final Environment iteration = new Environment(environment);
+      while (evaluateCondition(stmt.condition)) {
+        executeBlock(body.statements, iteration);
+      }
+      return null;
+    }
+
+    while (evaluateCondition(stmt.condition)) {
       execute(stmt.body);
     }
     return null;
@@ -355,10 +516,492 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
    * @param expr The expression to be evaluated.
    * @return The result of evaluating the expression.
    */
-  private GrisType evaluate(Expr expr) {
+  public GrisType evaluate(Expr expr) {
     return expr.accept(this);
   }
 
+  /**
+   * Evaluates an expression the type checker has proven to be a number, without boxing the
+   * intermediate results of arithmetic. Numbers held unboxed in variables or arrays are read as
+   * they are, and a call with one argument, or with a number as its second of two, goes through
+   * the callee's primitive entry point.
+   *
+   * @param expr The expression to be evaluated.
+   * @return The numeric value of the expression.
+   */
+  public double evaluateNumber(Expr expr) {
+    switch (expr) {
+      case Literal literal when literal.value instanceof Double number -> {
+        return number;
+      }
+      case Variable variable -> {
+        return variable(variable.name, variable).getNumber();
+      }
+      case Grouping grouping -> {
+        return evaluateNumber(grouping.expression);
+      }
+      case Unary unary when unary.operator.type == TokenType.MINUS -> {
+        return -evaluateNumber(unary.right);
+      }
+      case Binary binary when isArithmetic(binary.operator.type) -> {
+        final double left = evaluateNumber(binary.left);
+        return arithmetic(binary.operator.type, left, evaluateNumber(binary.right));
+      }
+      case Assign assign when assign.numeric -> {
+        return assignNumber(assign);
+      }
+      case Call call
+          when call.callee instanceof Get get
+              && get.object.resolvedType instanceof ArrayTypeExpr -> {
+        final GrisArray array = (GrisArray) evaluate(get.object);
+        if (call.arguments.isEmpty()) return array.size();
+        return array.getNumber(index(array, evaluateNumber(call.arguments.get(0)), get.name));
+      }
+      case Call call when call.arguments.size() == 1 -> {
+        final GrisCallable function = (GrisCallable) evaluate(call.callee);
+        try {
+          return function.callNumber1(this, evaluate(call.arguments.get(0)));
+        } catch (BuiltinError error) {
+          throw builtinError(error, call);
+        }
+      }
+      case Call call when call.arguments.size() == 2 && isNumeric(call.arguments.get(1)) -> {
+        final GrisCallable function = (GrisCallable) evaluate(call.callee);
+        final GrisType first = evaluate(call.arguments.get(0));
+        try {
+          return function.callNumber2(this, first, evaluateNumber(call.arguments.get(1)));
+        } catch (BuiltinError error) {
+          throw builtinError(error, call);
+        }
+      }
+      default -> {
+        return ((GrisNumber) evaluate(expr)).value;
+      }
+    }
+  }
+
+  /**
+   * Applies one of an array's methods to arguments that are already evaluated, as when the method
+   * was taken from the array as a value before being called.
+   *
+   * @param array The array.
+   * @param method The token representing the name of the method.
+   * @param arguments The arguments of the call.
+   * @return The result of the method.
+   */
+  public GrisType callArray(GrisArray array, Token method, List<GrisType> arguments) {
+    switch (method.lexeme) {
+      case "get" -> {
+        return array.get(index(array, ((GrisNumber) arguments.get(0)).value, method));
+      }
+      case "set" -> {
+        array.set(index(array, ((GrisNumber) arguments.get(0)).value, method), arguments.get(1));
+        return new GrisVoid();
+      }
+      case "push" -> {
+        array.push(arguments.get(0));
+        return new GrisVoid();
+      }
+      default -> {
+        return new GrisNumber(array.size());
+      }
+    }
+  }
+
+  /**
+   * Applies one of an array's methods, evaluating its arguments. Indices, and elements the type
+   * checker has proven to be numbers, are evaluated and stored without boxing.
+   *
+   * @param array The array.
+   * @param method The token representing the name of the method.
+   * @param arguments The argument expressions of the call.
+   * @return The result of the method.
+   */
+  private GrisType arrayCall(GrisArray array, Token method, List<Expr> arguments) {
+    switch (method.lexeme) {
+      case "get" -> {
+        return array.get(index(array, evaluateNumber(arguments.get(0)), method));
+      }
+      case "set" -> {
+        final int index = index(array, evaluateNumber(arguments.get(0)), method);
+        final Expr value = arguments.get(1);
+        if (isNumeric(value)) {
+          array.setNumber(index, evaluateNumber(value));
+        } else {
+          array.set(index, evaluate(value));
+        }
+        return new GrisVoid();
+      }
+      case "push" -> {
+        final Expr value = arguments.get(0);
+        if (isNumeric(value)) {
+          array.pushNumber(evaluateNumber(value));
+        } else {
+          array.push(evaluate(value));
+        }
+        return new GrisVoid();
+      }
+      default -> {
+        return new GrisNumber(array.size());
+      }
+    }
+  }
+
+  /**
+   * Applies one of a map's methods to arguments that are already evaluated, as when the method
+   * was taken from the map as a value before being called.
+   *
+   * @param map The map.
+   * @param method The token representing the name of the method.
+   * @param arguments The arguments of the call.
+   * @return The result of the method.
+   */
+  public GrisType callMap(GrisMap map, Token method, List<GrisType> arguments) {
+    final GrisType key = arguments.isEmpty() ? null : arguments.get(0);
+    return applyMap(map, method, key, arguments.size() > 1 ? arguments.get(1) : null);
+  }
+
+  /**
+   * Applies one of a map's methods, evaluating its arguments.
+   *
+   * @param map The map.
+   * @param method The token representing the name of the method.
+   * @param arguments The argument expressions of the call.
+   * @return The result of the method.
+   */
+  private GrisType mapCall(GrisMap map, Token method, List<Expr> arguments) {
+    final GrisType key = arguments.isEmpty() ? null : evaluate(arguments.get(0));
+    return applyMap(map, method, key, arguments.size() > 1 ? evaluate(arguments.get(1)) : null);
+  }
+
+  /**
+   * Applies one of a map's methods.
+   *
+   * @param map The map.
+   * @param method The token representing the name of the method.
+   * @param key The key argument, or null if the method takes none.
+   * @param value The value argument, or null if the method takes none.
+   * @return The result of the method.
+   * @throws RuntimeError If the key is not a number or a string, or is missing from the map.
+   */
+  private GrisType applyMap(GrisMap map, Token method, GrisType key, GrisType value) {
+    switch (method.lexeme) {
+      case "get" -> {
+        final GrisType found = map.get(key(key, method));
+        if (found == null) {
+          throw new RuntimeError(
+              String.format("Key '%s' is not in the map", key.toGrisString().value()),
+              method.line,
+              method.col,
+              lexer.getSourceLine(method.line));
+        }
+        return found;
+      }
+      case "set" -> {
+        map.set(key(key, method), value);
+        return new GrisVoid();
+      }
+      case "has" -> {
+        return new GrisBoolean(map.has(key(key, method)));
+      }
+      case "remove" -> {
+        return new GrisBoolean(map.remove(key(key, method)));
+      }
+      case "keys" -> {
+        return map.keys();
+      }
+      default -> {
+        return new GrisNumber(map.size());
+      }
+    }
+  }
+
+  /**
+   * Checks that a value can be used as the key of a map.
+   *
+   * @param key The key.
+   * @param method The token representing the method the key was given to, for error reporting.
+   * @return The key.
+   * @throws RuntimeError If the key is not a number or a string.
+   */
+  private GrisType key(GrisType key, Token method) {
+    if (!GrisMap.isKey(key)) {
+      throw new RuntimeError(
+          "Map keys must be numbers or strings",
+          method.line,
+          method.col,
+          lexer.getSourceLine(method.line));
+    }
+    return key;
+  }
+
+  /**
+   * Applies one of a file's methods.
+   *
+   * @param file The file.
+   * @param method The token representing the name of the method.
+   * @return The result of the method.
+   * @throws RuntimeError If a line is read past the end of the file, or the file cannot be read.
+   */
+  public GrisType callFile(GrisFile file, Token method) {
+    switch (method.lexeme) {
+      case "hasLine" -> {
+        return new GrisBoolean(file.hasLine());
+      }
+      case "readLine" -> {
+        if (!file.hasLine()) {
+          throw new RuntimeError(
+              "No line left to read", method.line, method.col, lexer.getSourceLine(method.line));
+        }
+        try {
+          return file.readLine();
+        } catch (UncheckedIOException error) {
+          throw new RuntimeError(
+              error.getMessage(), method.line, method.col, lexer.getSourceLine(method.line));
+        }
+      }
+      default -> {
+        file.close();
+        return new GrisVoid();
+      }
+    }
+  }
+
+  /**
+   * Applies a method of a channel to arguments already evaluated, for a method used as a value.
+   *
+   * @param channel The channel.
+   * @param method The token representing the name of the method.
+   * @param arguments The arguments, holding the value for {@code send}.
+   * @return The result of the method.
+   * @throws RuntimeError If the method cannot complete.
+   */
+  public GrisType callChannel(GrisChannel channel, Token method, List<GrisType> arguments) {
+    return applyChannel(channel, method, arguments.isEmpty() ? null : arguments.get(0));
+  }
+
+  /**
+   * Applies a method of a channel. Sending and receiving wait for the channel, on the thread of
+   * the task calling them.
+   *
+   * @param channel The channel.
+   * @param method The token representing the name of the method.
+   * @param value The value to send, or null for the other methods.
+   * @return The result of the method.
+   * @throws RuntimeError If a value is sent on a closed channel, received from one closed and
+   *     drained, or the wait is interrupted.
+   */
+  private GrisType applyChannel(GrisChannel channel, Token method, GrisType value) {
+    try {
+      switch (method.lexeme) {
+        case "send" -> {
+          channel.send(value);
+          return new GrisVoid();
+        }
+        case "hasNext" -> {
+          return new GrisBoolean(channel.hasNext());
+        }
+        case "receive" -> {
+          return channel.receive();
+        }
+        default -> {
+          channel.close();
+          return new GrisVoid();
+        }
+      }
+    } catch (IllegalStateException error) {
+      throw new RuntimeError(
+          error.getMessage(), method.line, method.col, lexer.getSourceLine(method.line));
+    }
+  }
+
+  /**
+   * Evaluates the argument of a method taking at most one.
+   *
+   * @param argumentExprs The argument expressions of the call.
+   * @return The value of the argument, or null if there is none.
+   */
+  private GrisType argument(List<Expr> argumentExprs) {
+    return argumentExprs.isEmpty() ? null : evaluate(argumentExprs.get(0));
+  }
+
+  /**
+   * Checks that a number indexes an element of an array.
+   *
+   * @param array The array.
+   * @param index The index.
+   * @param method The token representing the method the index was given to, for error reporting.
+   * @return The index as an int.
+   * @throws RuntimeError If the index is not a whole number within the bounds of the array.
+   */
+  private int index(GrisArray array, double index, Token method) {
+    final int position = (int) index;
+    if (position != index || position < 0 || position >= array.size()) {
+      throw new RuntimeError(
+          String.format(
+              "Array index '%s' is out of bounds for length %d", index, array.size()),
+          method.line,
+          method.col,
+          lexer.getSourceLine(method.line));
+    }
+    return position;
+  }
+
+  /**
+   * Retrieves a property of a class instance, or a method of an array, a channel, a map or a file
+   * bound to it.
+   *
+   * @param object The object whose property is retrieved.
+   * @param name The token representing the name of the property.
+   * @return The property, or null if the object has no properties.
+   */
+  private GrisType property(GrisType object, Token name) {
+    if (object instanceof GrisClassInstance instance) return instance.get(name);
+    if (object instanceof GrisArray array) return array.method(name);
+    if (object instanceof GrisChannel channel) return channel.method(name);
+    if (object instanceof GrisMap map) return map.method(name);
+    if (object instanceof GrisFile file) return file.method(name);
+    return null;
+  }
+
+  /**
+   * Evaluates the condition of an if, while or ternary, without boxing the result of a
+   * comparison or logical operator.
+   *
+   * @param expr The condition to be evaluated.
+   * @return The boolean value of the condition.
+   */
+  private boolean evaluateCondition(Expr expr) {
+    switch (expr) {
+      case Binary binary when isComparison(binary.operator.type) -> {
+        final double left = evaluateNumber(binary.left);
+        final double right = evaluateNumber(binary.right);
+        return switch (binary.operator.type) {
+          case GREATER -> left > right;
+          case GREATER_EQUAL -> left >= right;
+          case LESS -> left < right;
+          default -> left <= right;
+        };
+      }
+      // Both sides of an equality share a type, so a number on either makes it numeric
+      case Binary binary
+          when isEquality(binary.operator.type)
+              && (isNumeric(binary.left) || isNumeric(binary.right)) -> {
+        final double left = evaluateNumber(binary.left);
+        final boolean equal = left == evaluateNumber(binary.right);
+        return binary.operator.type == TokenType.EQUAL_EQUAL ? equal : !equal;
+      }
+      case Logical logical -> {
+        final boolean left = evaluateCondition(logical.left);
+        if (logical.operator.type == TokenType.OR) {
+          return left || evaluateCondition(logical.right);
+        }
+        return left && evaluateCondition(logical.right);
+      }
+      case Unary unary when unary.operator.type == TokenType.BANG -> {
+        return !evaluateCondition(unary.right);
+      }
+      case Grouping grouping -> {
+        return evaluateCondition(grouping.expression);
+      }
+      default -> {
+        return ((GrisBoolean) evaluate(expr)).value;
+      }
+    }
+  }
+
+  /**
+   * Evaluates a numeric assignment, storing the value unboxed.
+   *
+   * @param expr The assignment, which the type checker marked numeric.
+   * @return The assigned value.
+   */
+  private double assignNumber(Assign expr) {
+    final double value = evaluateNumber(expr.value);
+    variable(expr.name, expr).setNumber(value);
+    return value;
+  }
+
+  /**
+   * Applies an arithmetic operator.
+   *
+   * @param operator The type of the operator.
+   * @param left The left operand.
+   * @param right The right operand.
+   * @return The result.
+   */
+  private static double arithmetic(TokenType operator, double left, double right) {
+    switch (operator) {
+      case CARET -> {
+        return Math.pow((int) left, (int) right);
+      }
+      case MINUS -> {
+        return left - right;
+      }
+      case MODULO -> {
+        return left % right;
+      }
+      case PLUS -> {
+        return left + right;
+      }
+      case SLASH -> {
+        return left / right;
+      }
+      case STAR -> {
+        return left * right;
+      }
+    }
+    throw new IllegalArgumentException("Not an arithmetic operator: " + operator);
+  }
+
+  /**
+   * Checks if an operator takes two numbers and returns a number.
+   *
+   * @param operator The type of the operator.
+   * @return True for the arithmetic operators.
+   */
+  private static boolean isArithmetic(TokenType operator) {
+    return switch (operator) {
+      case CARET, MINUS, MODULO, PLUS, SLASH, STAR -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Checks if an operator compares two values for equality.
+   *
+   * @param operator The type of the operator.
+   * @return True for the equality operators.
+   */
+  private static boolean isEquality(TokenType operator) {
+    return operator == TokenType.EQUAL_EQUAL || operator == TokenType.BANG_EQUAL;
+  }
+
+  /**
+   * Checks if an expression is known to be a number, either as a literal or by its checked type.
+   *
+   * @param expr The expression to check.
+   * @return True if the expression is a number.
+   */
+  private static boolean isNumeric(Expr expr) {
+    if (expr instanceof Literal literal) return literal.value instanceof Double;
+    return expr.resolvedType != null && expr.resolvedType.type == Type.NUMBER;
+  }
+
+
+  /**
+   * Checks if an operator compares two numbers.
+   *
+   * @param operator The type of the operator.
+   * @return True for the ordering operators.
+   */
+  private static boolean isComparison(TokenType operator) {
+    return switch (operator) {
+      case GREATER, GREATER_EQUAL, LESS, LESS_EQUAL -> true;
+      default -> false;
+    };
+  }
+
   /**
    * Executes a statement by invoking its corresponding visitor method.
    *
@@ -386,6 +1029,23 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
     }
   }
 
+  /**
+   * Executes the body of a function within the specified environment and captured cells.
+   *
+   * @param statements The statements of the function's body.
+   * @param environment The environment holding the function's parameters.
+   * @param captures The cells captured by the function.
+   */
+  public void executeBody(List<Stmt> statements, Environment environment, Cell[] captures) {
+    final Cell[] previous = this.closure;
+    try {
+      this.closure = captures;
+      executeBlock(statements, environment);
+    } finally {
+      this.closure = previous;
+    }
+  }
+
   /**
    * Looks up a variable in the current or global environment.
    *
@@ -394,20 +1054,39 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
    * @return The value of the variable, if found; otherwise, null.
    */
   private GrisType lookUpVariable(Token name, Expr expr) {
-    Integer distance = null;
-    for (Map.Entry<ExprUnionTypeExpr, Integer> local : locals.entrySet()) {
-      if (((ExprUnion) local.getKey()).value == expr) {
-        distance = local.getValue();
-        break;
+    return variable(name, expr).get();
+  }
+
+  /**
+   * Finds the cell of the variable an expression refers to, from the binding the resolver recorded
+   * on the expression.
+   *
+   * @param name The name of the variable.
+   * @param expr The expression referring to the variable.
+   * @return The cell holding the variable.
+   * @throws RuntimeError If the variable is not defined.
+   */
+  private Cell variable(Token name, Expr expr) {
+    switch (expr.binding) {
+      case Expr.LOCAL -> {
+        return environment.cellAt(expr.index, name.lexeme);
+      }
+      case Expr.CAPTURED -> {
+        return closure[expr.index];
+      }
+      case Expr.GLOBAL -> {
+        final Cell cell = globalTable.cell(expr.index);
+        if (cell != null) return cell;
       }
+      default -> {}
     }
 
-
-    if (distance != null) {
-      return environment.getAt(distance, name.lexeme);
-    } else {
-      return globals.get(name);
-    }
+    // A global whose slot is still empty has not been defined yet
+    throw new RuntimeError(
+        String.format("Undefined variable name '%s'", name.lexeme),
+        name.line,
+        name.col,
+        lexer.getSourceLine(name.line));
   }
 
   /**
@@ -417,16 +1096,39 @@ public class Interpreter implements ExprVisitor<GrisType>, StmtVisitor<Void> {
    * @param depth The depth of the local variable scope.
    */
   public void resolve(Expr expr, int depth) {
-    locals.put(new ExprUnion(expr), depth);
+    expr.binding = Expr.LOCAL;
+    expr.index = depth;
   }
 
   /**
-   * Resolves a type expression's local variable scope depth.
+   * Resolves an expression to a variable captured by the enclosing function.
    *
-   * @param typeExpr The type expression for which the scope depth is being resolved.
-   * @param depth The depth of the local variable scope.
+   * @param expr The expression referring to the captured variable.
+   * @param index The index of the variable among the function's captures.
+   */
+  public void capture(Expr expr, int index) {
+    expr.binding = Expr.CAPTURED;
+    expr.index = index;
+  }
+
+  /**
+   * Resolves an expression to the slot of a global variable.
+   *
+   * @param expr The expression referring to the global variable.
+   * @param name The name of the global variable.
+   */
+  public void resolveGlobal(Expr expr, String name) {
+    expr.binding = Expr.GLOBAL;
+    expr.index = globalTable.slot(name);
+  }
+
+  /**
+   * Checks if an expression refers to a local or captured variable, rather than a global one.
+   *
+   * @param expr The expression to check.
+   * @return True if the resolver bound the expression to a scope below the globals.
    */
-  public void resolve(TypeExpr typeExpr, int depth) {
-    locals.put(new TypeExprUnion(typeExpr), depth);
+  public boolean isResolved(Expr expr) {
+    return expr.binding == Expr.LOCAL || expr.binding == Expr.CAPTURED;
   }
 }
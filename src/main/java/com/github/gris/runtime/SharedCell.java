@@ -0,0 +1,45 @@
+package com.github.gris.runtime;
+
+import com.github.gris.runtime.value.GrisNumber;
+import com.github.gris.runtime.value.GrisType;
+
+/**
+ * Holds the value of a global shared by interpreters running on several threads. The value is
+ * kept in a single volatile field, so every assignment is atomic and seen by the next read on any
+ * thread; numbers are boxed when assigned rather than when read, as an unboxed number and its flag
+ * could not be written together.
+ */
+final class SharedCell extends Cell {
+  /** The value of the variable. */
+  private volatile GrisType value;
+
+  /**
+   * Constructs a shared cell holding the given value.
+   *
+   * @param value The initial value of the variable.
+   */
+  SharedCell(GrisType value) {
+    super(null);
+    this.value = value;
+  }
+
+  @Override
+  public GrisType get() {
+    return value;
+  }
+
+  @Override
+  public double getNumber() {
+    return ((GrisNumber) value).value;
+  }
+
+  @Override
+  public void set(GrisType value) {
+    this.value = value;
+  }
+
+  @Override
+  public void setNumber(double number) {
+    this.value = new GrisNumber(number);
+  }
+}
@@ -0,0 +1,34 @@
+package com.github.gris.runtime;
+
+/**
+ * The globals of a program captured after its top-level code ran, such as the classes and
+ * functions it declared and the tables it computed. Interpreters forked from a snapshot start from
+ * these globals without running the top-level code again, and only call functions of the program.
+ *
+ * <p>A fork gets its own cells for the globals, initialized from the snapshot, so assignments to
+ * the globals made by one fork are not seen by the snapshot or other forks. The values held are
+ * not copied: classes, functions and tables are shared, and must only be read. A snapshot never
+ * changes, so it may be forked from any thread.
+ */
+public final class Snapshot {
+  /** The interpreter holding the captured globals, which is never run. */
+  private final Interpreter frozen;
+
+  /**
+   * Constructs a snapshot over an interpreter holding a copy of the globals.
+   *
+   * @param frozen The interpreter holding the captured globals.
+   */
+  Snapshot(Interpreter frozen) {
+    this.frozen = frozen;
+  }
+
+  /**
+   * Creates an interpreter starting from the captured globals, with tasks of its own.
+   *
+   * @return The new interpreter.
+   */
+  public Interpreter fork() {
+    return new Interpreter(frozen, new Tasks(), true);
+  }
+}
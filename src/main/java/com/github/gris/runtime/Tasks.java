@@ -0,0 +1,115 @@
+package com.github.gris.runtime;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps track of the tasks spawned by a program, each running on its own virtual thread. A program
+ * ends once its tasks have, including tasks they spawned in turn, and the first error raised by a
+ * task is raised again at that point. That error also interrupts the program and the other tasks,
+ * so none of them is left waiting on a channel the failed task would have used.
+ */
+final class Tasks {
+  /** The threads of the tasks not yet waited for. */
+  private final Queue<Thread> threads = new ConcurrentLinkedQueue<>();
+
+  /** The threads of the tasks still running. */
+  private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+
+  /** The first error raised by a task, or null. */
+  private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+  /** The thread running the program, which waits for the tasks, or null. */
+  private volatile Thread owner;
+
+  /**
+   * Marks the current thread as the one running the program, to be interrupted if a task fails.
+   */
+  void begin() {
+    owner = Thread.currentThread();
+  }
+
+  /**
+   * Starts a task on a new virtual thread.
+   *
+   * @param body The work of the task.
+   */
+  void spawn(Runnable body) {
+    final Thread thread =
+        Thread.ofVirtual()
+            .unstarted(
+                () -> {
+                  try {
+                    body.run();
+                  } catch (RuntimeException error) {
+                    fail(error);
+                  } finally {
+                    running.remove(Thread.currentThread());
+                  }
+                });
+    // Queued before it starts, so a wait that has begun cannot miss it
+    threads.add(thread);
+    running.add(thread);
+    thread.start();
+  }
+
+  /**
+   * Records the error of a failed task. The first one interrupts the program and the other tasks,
+   * which are likely waiting for the failed task.
+   *
+   * @param error The error raised by the task.
+   */
+  private void fail(RuntimeException error) {
+    if (!failure.compareAndSet(null, error)) return;
+
+    final Thread current = Thread.currentThread();
+    for (Thread thread : running) {
+      if (thread != current) thread.interrupt();
+    }
+    final Thread program = owner;
+    if (program != null) program.interrupt();
+  }
+
+  /**
+   * Replaces an error raised by the program with the first error raised by a task, if any. An
+   * error in the program is then usually the interruption caused by the failed task.
+   *
+   * @param error The error raised by the program.
+   * @return The error to raise instead.
+   */
+  RuntimeException failure(RuntimeException error) {
+    final RuntimeException cause = failure.get();
+    if (cause == null) return error;
+
+    Thread.interrupted();
+    return cause;
+  }
+
+  /**
+   * Waits for every task to finish, including those spawned while waiting.
+   *
+   * @throws RuntimeException The first error raised by a task, if any.
+   */
+  void await() {
+    Thread thread;
+    while ((thread = threads.poll()) != null) {
+      try {
+        thread.join();
+      } catch (InterruptedException exception) {
+        if (failure.get() != null) break;
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+
+    final RuntimeException error = failure.get();
+    if (error != null) {
+      // Clears an interruption by the failed task that came after the program stopped waiting
+      Thread.interrupted();
+      throw error;
+    }
+  }
+}
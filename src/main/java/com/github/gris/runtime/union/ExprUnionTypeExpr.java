@@ -1,3 +0,0 @@
-package com.github.gris.runtime.union;
-
-public interface ExprUnionTypeExpr { }
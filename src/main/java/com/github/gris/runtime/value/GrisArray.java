@@ -0,0 +1,227 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.lexer.Token;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.Type;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents an array in the Gris language runtime.
+ *
+ * <p>An array holds its elements in a primitive {@code double[]} for as long as every element is
+ * a number, so numbers are stored and read without boxing, and moves them to a {@code
+ * GrisType[]} the first time it is given anything else. An {@code Array<Number>} therefore never
+ * leaves the primitive storage. Both grow by doubling, so pushing is amortized constant time.
+ */
+public class GrisArray extends GrisType {
+  /** The capacity of an array's storage once its first element is pushed. */
+  private static final int INITIAL_CAPACITY = 8;
+
+  /** The elements, while they are all numbers, otherwise null. */
+  private double[] numbers = new double[0];
+
+  /** The elements, once one of them is not a number, otherwise null. */
+  private GrisType[] values;
+
+  /** The number of elements. */
+  private int size;
+
+  /** Constructs an empty GrisArray. */
+  public GrisArray() {
+    super(Type.ARRAY);
+  }
+
+  /**
+   * Returns the number of elements in the array.
+   *
+   * @return The number of elements.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the elements are held in the primitive storage.
+   *
+   * @return True if every element is a number held unboxed.
+   */
+  boolean holdsNumbers() {
+    return numbers != null;
+  }
+
+  /**
+   * Retrieves an element. The index must be within bounds.
+   *
+   * @param index The index of the element.
+   * @return The element.
+   */
+  public GrisType get(int index) {
+    if (numbers != null) return new GrisNumber(numbers[index]);
+    return values[index];
+  }
+
+  /**
+   * Retrieves an element known to be a number, without boxing it when the array holds only
+   * numbers. The index must be within bounds.
+   *
+   * @param index The index of the element.
+   * @return The numeric value of the element.
+   */
+  public double getNumber(int index) {
+    if (numbers != null) return numbers[index];
+    return ((GrisNumber) values[index]).value;
+  }
+
+  /**
+   * Replaces an element. The index must be within bounds.
+   *
+   * @param index The index of the element.
+   * @param value The new element.
+   */
+  public void set(int index, GrisType value) {
+    if (value instanceof GrisNumber number) {
+      setNumber(index, number.value);
+      return;
+    }
+    generalize();
+    values[index] = value;
+  }
+
+  /**
+   * Replaces an element with a number, without boxing it when the array holds only numbers. The
+   * index must be within bounds.
+   *
+   * @param index The index of the element.
+   * @param value The new element.
+   */
+  public void setNumber(int index, double value) {
+    if (numbers != null) {
+      numbers[index] = value;
+    } else {
+      values[index] = new GrisNumber(value);
+    }
+  }
+
+  /**
+   * Appends an element, growing the storage if it is full.
+   *
+   * @param value The element to append.
+   */
+  public void push(GrisType value) {
+    if (value instanceof GrisNumber number) {
+      pushNumber(number.value);
+      return;
+    }
+    generalize();
+    if (size == values.length) values = Arrays.copyOf(values, capacity());
+    values[size++] = value;
+  }
+
+  /**
+   * Appends a number, without boxing it when the array holds only numbers.
+   *
+   * @param value The element to append.
+   */
+  public void pushNumber(double value) {
+    if (numbers == null) {
+      push(new GrisNumber(value));
+      return;
+    }
+    if (size == numbers.length) numbers = Arrays.copyOf(numbers, capacity());
+    numbers[size++] = value;
+  }
+
+  /**
+   * Retrieves one of the array's methods, bound to the array.
+   *
+   * @param name The token representing the name of the method.
+   * @return The bound method.
+   */
+  public GrisCallable method(Token name) {
+    return new Method(this, name);
+  }
+
+  /**
+   * Returns the capacity to grow the storage to when it is full.
+   *
+   * @return The new capacity.
+   */
+  private int capacity() {
+    return Math.max(INITIAL_CAPACITY, size * 2);
+  }
+
+  /** Moves the elements to the storage of arbitrary values, unless they are already there. */
+  private void generalize() {
+    if (numbers == null) return;
+    values = new GrisType[Math.max(numbers.length, INITIAL_CAPACITY)];
+    for (int i = 0; i < size; i++) {
+      values[i] = new GrisNumber(numbers[i]);
+    }
+    numbers = null;
+  }
+
+  /**
+   * Checks if this GrisArray object is equal to another GrisType object. Arrays are equal only to
+   * themselves.
+   *
+   * @param value The GrisType object to compare.
+   * @return A new GrisBoolean object representing the result of the equality comparison.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Converts this GrisArray object to a GrisString object, listing its elements.
+   *
+   * @return A new GrisString object representing the elements of the array.
+   */
+  @Override
+  public GrisString toGrisString() {
+    final StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) builder.append(", ");
+      builder.append(get(i).toGrisString().value());
+    }
+    return new GrisString(builder.append(']').toString());
+  }
+
+  /** A method of an array, bound to the array, for when it is used as a value. */
+  private static final class Method extends GrisCallable {
+    /** The array the method belongs to. */
+    private final GrisArray array;
+
+    /** The token representing the name of the method. */
+    private final Token name;
+
+    /**
+     * Constructs a method bound to an array.
+     *
+     * @param array The array the method belongs to.
+     * @param name The token representing the name of the method.
+     */
+    private Method(GrisArray array, Token name) {
+      super(Type.FUNCTION);
+      this.array = array;
+      this.name = name;
+    }
+
+    @Override
+    public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+      return interpreter.callArray(array, name, arguments);
+    }
+
+    @Override
+    public GrisBoolean isEqual(GrisType value) {
+      return new GrisBoolean(this == value);
+    }
+
+    @Override
+    public GrisString toGrisString() {
+      return new GrisString("<array method " + name.lexeme + ">");
+    }
+  }
+}
@@ -1,11 +1,19 @@
 package com.github.gris.runtime.value;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.github.gris.typing.type.Type;
 import com.github.gris.runtime.Interpreter;
 
-/** Represents a callable entity in the Gris language runtime. */
+/**
+ * Represents a callable entity in the Gris language runtime.
+ *
+ * <p>Besides the general {@link #call(Interpreter, List)}, a callable has entry points for calls
+ * with zero, one and two arguments, which the interpreter uses so that a call doesn't need to
+ * build an argument list. They fall back to the general entry point unless overridden.
+ */
 public abstract class GrisCallable extends GrisType {
   /**
    * Constructs a GrisCallable object with the specified type.
@@ -24,4 +32,63 @@ public abstract class GrisCallable extends GrisType {
    * @return The result of the callable execution.
    */
   public abstract GrisType call(Interpreter interpreter, List<GrisType> arguments);
+
+  /**
+   * Executes the callable object with no arguments.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @return The result of the callable execution.
+   */
+  public GrisType call0(Interpreter interpreter) {
+    return call(interpreter, Collections.emptyList());
+  }
+
+  /**
+   * Executes the callable object with one argument.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param argument The argument passed to the callable.
+   * @return The result of the callable execution.
+   */
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    return call(interpreter, Collections.singletonList(argument));
+  }
+
+  /**
+   * Executes the callable object with two arguments.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param first The first argument passed to the callable.
+   * @param second The second argument passed to the callable.
+   * @return The result of the callable execution.
+   */
+  public GrisType call2(Interpreter interpreter, GrisType first, GrisType second) {
+    return call(interpreter, Arrays.asList(first, second));
+  }
+
+  /**
+   * Executes the callable object with one argument, where its result is known to be a number.
+   * Callables returning a number can override this to skip allocating the result.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param argument The argument passed to the callable.
+   * @return The numeric result of the callable execution.
+   */
+  public double callNumber1(Interpreter interpreter, GrisType argument) {
+    return ((GrisNumber) call1(interpreter, argument)).value;
+  }
+
+  /**
+   * Executes the callable object with two arguments, the second a number, where its result is
+   * known to be a number. Callables taking a number second and returning a number can override
+   * this to skip boxing both the argument and the result.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param first The first argument passed to the callable.
+   * @param second The second argument passed to the callable.
+   * @return The numeric result of the callable execution.
+   */
+  public double callNumber2(Interpreter interpreter, GrisType first, double second) {
+    return ((GrisNumber) call2(interpreter, first, new GrisNumber(second))).value;
+  }
 }
@@ -0,0 +1,214 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.lexer.Token;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents a channel carrying values from one task to another in the Gris language runtime.
+ *
+ * <p>A channel buffers up to a fixed number of values. Sending to a full channel waits until a
+ * value is received, and receiving from an empty one waits until a value is sent or the channel
+ * is closed, so producers and consumers run at the pace of the slower side. Waiting is done on a
+ * {@link ReentrantLock} rather than a monitor, so a virtual thread waiting on a channel gives up
+ * its carrier thread.
+ */
+public class GrisChannel extends GrisType {
+  /** The buffered values, in a ring starting at {@code head}. */
+  private final GrisType[] buffer;
+
+  /** The index of the oldest buffered value. */
+  private int head;
+
+  /** The number of buffered values. */
+  private int count;
+
+  /** Whether the channel has been closed, after which nothing more can be sent. */
+  private boolean closed;
+
+  /** The lock guarding the state of the channel. */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** Signalled when a value is sent, or the channel is closed. */
+  private final Condition notEmpty = lock.newCondition();
+
+  /** Signalled when a value is received, or the channel is closed. */
+  private final Condition notFull = lock.newCondition();
+
+  /**
+   * Constructs a GrisChannel object buffering up to a number of values.
+   *
+   * @param capacity The number of values the channel buffers.
+   * @throws IllegalArgumentException If the capacity is not positive.
+   */
+  public GrisChannel(int capacity) {
+    super(Type.CHANNEL);
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+          String.format("Channel capacity '%d' is not positive", capacity));
+    }
+    this.buffer = new GrisType[capacity];
+  }
+
+  /**
+   * Sends a value, waiting while the channel is full.
+   *
+   * @param value The value to send.
+   * @throws IllegalStateException If the channel is closed, or the wait is interrupted.
+   */
+  public void send(GrisType value) {
+    lock.lock();
+    try {
+      while (count == buffer.length && !closed) await(notFull);
+      if (closed) throw new IllegalStateException("Cannot send on a closed channel");
+
+      buffer[(head + count) % buffer.length] = value;
+      count++;
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Checks if a value can be received, waiting while the channel is empty and open.
+   *
+   * @return True if a value is buffered, false if the channel is closed and drained.
+   * @throws IllegalStateException If the wait is interrupted.
+   */
+  public boolean hasNext() {
+    lock.lock();
+    try {
+      while (count == 0 && !closed) await(notEmpty);
+      return count > 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Receives the oldest value, waiting while the channel is empty and open.
+   *
+   * @return The value.
+   * @throws IllegalStateException If the channel is closed and drained, or the wait is
+   *     interrupted.
+   */
+  public GrisType receive() {
+    lock.lock();
+    try {
+      while (count == 0 && !closed) await(notEmpty);
+      if (count == 0) throw new IllegalStateException("No value left to receive");
+
+      final GrisType value = buffer[head];
+      buffer[head] = null;
+      head = (head + 1) % buffer.length;
+      count--;
+      notFull.signal();
+      return value;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the channel. Values already sent can still be received; waiting senders fail and
+   * waiting receivers are woken once the channel is drained.
+   */
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves one of the channel's methods, bound to the channel.
+   *
+   * @param name The token representing the name of the method.
+   * @return The bound method.
+   */
+  public GrisCallable method(Token name) {
+    return new Method(this, name);
+  }
+
+  /**
+   * Waits on a condition of the lock, keeping the interrupt for the task's thread to see.
+   *
+   * @param condition The condition to wait on.
+   * @throws IllegalStateException If the wait is interrupted.
+   */
+  private static void await(Condition condition) {
+    try {
+      condition.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting on a channel");
+    }
+  }
+
+  /**
+   * Checks if this GrisChannel object is equal to another GrisType object. Channels are equal only
+   * to themselves.
+   *
+   * @param value The GrisType object to compare.
+   * @return A new GrisBoolean object representing the result of the equality comparison.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Converts this GrisChannel object to a GrisString object.
+   *
+   * @return A new GrisString object giving the capacity of the channel.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<channel of " + buffer.length + ">");
+  }
+
+  /** A method of a channel, bound to the channel, for when it is used as a value. */
+  private static final class Method extends GrisCallable {
+    /** The channel the method belongs to. */
+    private final GrisChannel channel;
+
+    /** The token representing the name of the method. */
+    private final Token name;
+
+    /**
+     * Constructs a method bound to a channel.
+     *
+     * @param channel The channel the method belongs to.
+     * @param name The token representing the name of the method.
+     */
+    private Method(GrisChannel channel, Token name) {
+      super(Type.FUNCTION);
+      this.channel = channel;
+      this.name = name;
+    }
+
+    @Override
+    public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+      return interpreter.callChannel(channel, name, arguments);
+    }
+
+    @Override
+    public GrisBoolean isEqual(GrisType value) {
+      return new GrisBoolean(this == value);
+    }
+
+    @Override
+    public GrisString toGrisString() {
+      return new GrisString("<channel method " + name.lexeme + ">");
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.lexer.Token;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.Type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a file opened for reading line by line in the Gris language runtime.
+ *
+ * <p>The file is memory-mapped one window at a time and lines are decoded from it as they are
+ * read, so a file of any size is read in memory bounded by the window and the longest line. Lines
+ * end at a line feed, with an optional carriage return before it, and are decoded as UTF-8. The
+ * file is closed once its last line is read, or when the script closes it.
+ */
+public final class GrisFile extends GrisType {
+  /** The number of bytes mapped at once by default. */
+  private static final long WINDOW = 1L << 26;
+
+  /** The path the file was opened from. */
+  private final String path;
+
+  /** The channel the file is mapped from, or null once closed. */
+  private FileChannel channel;
+
+  /** The size of the file in bytes. */
+  private final long size;
+
+  /** The number of bytes mapped at once. */
+  private final long windowSize;
+
+  /** The offset in the file of the mapped window. */
+  private long windowStart;
+
+  /** The mapped window, positioned at the next unread byte. */
+  private MappedByteBuffer window;
+
+  /** The bytes of the line being read, gathered across windows. */
+  private byte[] line = new byte[256];
+
+  /**
+   * Opens a file for reading.
+   *
+   * @param path The path of the file.
+   * @throws UncheckedIOException If the file cannot be opened.
+   */
+  public GrisFile(String path) {
+    this(path, WINDOW);
+  }
+
+  /**
+   * Opens a file for reading, mapping a given number of bytes at once.
+   *
+   * @param path The path of the file.
+   * @param windowSize The number of bytes mapped at once.
+   * @throws UncheckedIOException If the file cannot be opened.
+   */
+  GrisFile(String path, long windowSize) {
+    super(Type.FILE);
+    this.path = path;
+    this.windowSize = windowSize;
+    try {
+      this.channel = FileChannel.open(Path.of(path), StandardOpenOption.READ);
+      this.size = channel.size();
+      this.window = map(0);
+    } catch (IOException exception) {
+      close();
+      throw new UncheckedIOException(String.format("Cannot read file '%s'", path), exception);
+    }
+  }
+
+  /**
+   * Checks if there is a line left to read.
+   *
+   * @return True if the file has unread bytes.
+   */
+  public boolean hasLine() {
+    return channel != null && windowStart + window.position() < size;
+  }
+
+  /**
+   * Reads the next line, without its line ending. There must be a line left to read.
+   *
+   * @return The line.
+   * @throws UncheckedIOException If the file cannot be read.
+   */
+  public GrisString readLine() {
+    int length = 0;
+    try {
+      while (true) {
+        final int start = window.position();
+        final int end = window.limit();
+        int i = start;
+        while (i < end && window.get(i) != '\n') i++;
+
+        length = gather(start, i, length);
+        if (i < end) {
+          window.position(i + 1);
+          break;
+        }
+        window.position(end);
+        if (windowStart + end >= size) break;
+        windowStart += end;
+        window = map(windowStart);
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(String.format("Cannot read file '%s'", path), exception);
+    }
+
+    if (length > 0 && line[length - 1] == '\r') length--;
+    if (!hasLine()) close();
+    return new GrisString(new String(line, 0, length, StandardCharsets.UTF_8));
+  }
+
+  /** Closes the file. Closing a closed file does nothing. */
+  public void close() {
+    if (channel == null) return;
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // Nothing was written, so there is nothing to lose
+    }
+    channel = null;
+  }
+
+  /**
+   * Retrieves one of the file's methods, bound to the file.
+   *
+   * @param name The token representing the name of the method.
+   * @return The bound method.
+   */
+  public GrisCallable method(Token name) {
+    return new Method(this, name);
+  }
+
+  /**
+   * Copies bytes of the window to the end of the line being read.
+   *
+   * @param start The index in the window of the first byte.
+   * @param end The index in the window after the last byte.
+   * @param length The number of bytes of the line read so far.
+   * @return The number of bytes of the line read now.
+   */
+  private int gather(int start, int end, int length) {
+    final int total = length + end - start;
+    if (total > line.length) line = Arrays.copyOf(line, Math.max(total, line.length * 2));
+    window.get(start, line, length, end - start);
+    return total;
+  }
+
+  /**
+   * Maps the window starting at an offset.
+   *
+   * @param offset The offset in the file.
+   * @return The mapped window.
+   * @throws IOException If the file cannot be mapped.
+   */
+  private MappedByteBuffer map(long offset) throws IOException {
+    final long length = Math.min(windowSize, size - offset);
+    return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+  }
+
+  /**
+   * Checks if this GrisFile object is equal to another GrisType object. Files are equal only to
+   * themselves.
+   *
+   * @param value The GrisType object to compare.
+   * @return A new GrisBoolean object representing the result of the equality comparison.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Converts this GrisFile object to a GrisString object.
+   *
+   * @return A new GrisString object naming the file.
+   */
+  @Override
+  public GrisString toGrisString() {
+    return new GrisString("<file " + path + ">");
+  }
+
+  /** A method of a file, bound to the file, for when it is used as a value. */
+  private static final class Method extends GrisCallable {
+    /** The file the method belongs to. */
+    private final GrisFile file;
+
+    /** The token representing the name of the method. */
+    private final Token name;
+
+    /**
+     * Constructs a method bound to a file.
+     *
+     * @param file The file the method belongs to.
+     * @param name The token representing the name of the method.
+     */
+    private Method(GrisFile file, Token name) {
+      super(Type.FUNCTION);
+      this.file = file;
+      this.name = name;
+    }
+
+    @Override
+    public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+      return interpreter.callFile(file, name);
+    }
+
+    @Override
+    public GrisBoolean isEqual(GrisType value) {
+      return new GrisBoolean(this == value);
+    }
+
+    @Override
+    public GrisString toGrisString() {
+      return new GrisString("<file method " + name.lexeme + ">");
+    }
+  }
+}
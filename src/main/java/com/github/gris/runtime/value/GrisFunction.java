@@ -1,7 +1,7 @@
 package com.github.gris.runtime.value;
 
-import com.github.gris.ast.Parameter;
 import com.github.gris.ast.stmt.Function;
+import com.github.gris.runtime.Cell;
 import com.github.gris.runtime.ReturnError;
 import com.github.gris.runtime.Environment;
 import com.github.gris.runtime.Interpreter;
@@ -14,37 +14,68 @@ public class GrisFunction extends GrisCallable {
   /** The function declaration AST node. */
   private final Function declaration;
 
-  /** The closure environment of the function. */
-  private final Environment closure;
+  /** The cells of the variables the function captures, or null for a method not yet bound. */
+  private final Cell[] captures;
+
+  /** For methods, the scope of the declaring class, holding 'super' if it has a superclass. */
+  private final Environment scope;
+
+  /** For bound methods, the instance bound to 'this'. */
+  private final GrisClassInstance receiver;
 
   /** Indicates whether the function is an initializer (constructor). */
   private final boolean isInitializer;
 
   /**
-   * Constructs a GrisFunction object with the given function declaration, closure environment, and
-   * initializer flag.
+   * Constructs a GrisFunction object with the given function declaration and captured cells.
+   *
+   * @param declaration The function declaration AST node.
+   * @param captures The cells of the variables the function captures.
+   */
+  public GrisFunction(Function declaration, Cell[] captures) {
+    this(declaration, captures, null, null, false);
+  }
+
+  /**
+   * Constructs an unbound method with the given declaration, class scope, and initializer flag.
    *
    * @param declaration The function declaration AST node.
-   * @param closure The closure environment of the function.
+   * @param scope The scope of the declaring class, or null if it has no superclass.
    * @param isInitializer Indicates whether the function is an initializer (constructor).
    */
-  public GrisFunction(Function declaration, Environment closure, boolean isInitializer) {
+  public GrisFunction(Function declaration, Environment scope, boolean isInitializer) {
+    this(declaration, null, scope, null, isInitializer);
+  }
+
+  private GrisFunction(
+      Function declaration,
+      Cell[] captures,
+      Environment scope,
+      GrisClassInstance receiver,
+      boolean isInitializer) {
     super(Type.FUNCTION);
     this.declaration = declaration;
-    this.closure = closure;
+    this.captures = captures;
+    this.scope = scope;
+    this.receiver = receiver;
     this.isInitializer = isInitializer;
   }
 
   /**
-   * Binds the function to a class instance by adding the instance to the closure environment.
+   * Binds the method to a class instance, capturing 'this' and 'super' from the class scope.
    *
    * @param instance The class instance to bind the function to.
-   * @return A new GrisFunction object with the updated closure environment.
+   * @return A new GrisFunction object with its captures filled in.
    */
   public GrisFunction bind(GrisClassInstance instance) {
-    Environment environment = new Environment(closure);
+    Environment environment = new Environment(scope);
     environment.define("this", instance);
-    return new GrisFunction(declaration, environment, isInitializer);
+    return new GrisFunction(
+        declaration,
+        environment.capture(declaration.captures, null),
+        scope,
+        instance,
+        isInitializer);
   }
 
   /**
@@ -56,20 +87,82 @@ public class GrisFunction extends GrisCallable {
    */
   @Override
   public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
-    final Environment environment = new Environment(closure);
+    final Environment environment = new Environment();
 
     for (int i = 0; i < declaration.parameters.size(); i++) {
-      environment.define(declaration.parameters.get(i).name.lexeme, arguments.get(i));
+      environment.define(parameter(i), arguments.get(i));
     }
 
+    return invoke(interpreter, environment);
+  }
+
+  /**
+   * Executes the function with no arguments.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @return The result of the function execution.
+   */
+  @Override
+  public GrisType call0(Interpreter interpreter) {
+    return invoke(interpreter, new Environment());
+  }
+
+  /**
+   * Executes the function with one argument.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param argument The argument passed to the function.
+   * @return The result of the function execution.
+   */
+  @Override
+  public GrisType call1(Interpreter interpreter, GrisType argument) {
+    final Environment environment = new Environment();
+    environment.define(parameter(0), argument);
+    return invoke(interpreter, environment);
+  }
+
+  /**
+   * Executes the function with two arguments.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param first The first argument passed to the function.
+   * @param second The second argument passed to the function.
+   * @return The result of the function execution.
+   */
+  @Override
+  public GrisType call2(Interpreter interpreter, GrisType first, GrisType second) {
+    final Environment environment = new Environment();
+    environment.define(parameter(0), first);
+    environment.define(parameter(1), second);
+    return invoke(interpreter, environment);
+  }
+
+  /**
+   * Returns the name of a parameter.
+   *
+   * @param index The index of the parameter.
+   * @return The name of the parameter.
+   */
+  private String parameter(int index) {
+    return declaration.parameters.get(index).name.lexeme;
+  }
+
+  /**
+   * Executes the body of the function in an environment holding its arguments.
+   *
+   * @param interpreter The interpreter instance used for execution.
+   * @param environment The environment holding the arguments.
+   * @return The result of the function execution.
+   */
+  private GrisType invoke(Interpreter interpreter, Environment environment) {
     try {
-      interpreter.executeBlock(declaration.body, environment);
+      interpreter.executeBody(declaration.body, environment, captures);
     } catch (ReturnError error) {
-      if (isInitializer) return closure.getAt(0, "this");
+      if (isInitializer) return receiver;
       return error.value;
     }
 
-    if (isInitializer) return closure.getAt(0, "this");
+    if (isInitializer) return receiver;
 
     return new GrisVoid();
   }
@@ -0,0 +1,279 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.lexer.Token;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.type.Type;
+
+import java.util.List;
+
+/**
+ * Represents a map from numbers or strings to values in the Gris language runtime.
+ *
+ * <p>The entries are kept in two parallel arrays with open addressing and linear probing, so a
+ * lookup hashes the key once and then scans adjacent slots, without the node allocated per entry
+ * by a chained table. Keys hash by value, consistently with {@link GrisType#isEqual}: numbers that
+ * compare equal hash the same, including {@code 0} and {@code -0}. The table doubles when it is
+ * three quarters full, and removal shifts later entries of a probe sequence back instead of
+ * leaving tombstones.
+ */
+public class GrisMap extends GrisType {
+  /** The capacity of a map's table once its first entry is set; a power of two. */
+  private static final int INITIAL_CAPACITY = 8;
+
+  /** The keys, indexed by slot; null for an empty slot. */
+  private GrisType[] keys = new GrisType[INITIAL_CAPACITY];
+
+  /** The values, indexed by the slot of their key. */
+  private GrisType[] values = new GrisType[INITIAL_CAPACITY];
+
+  /** The number of entries. */
+  private int size;
+
+  /** Constructs an empty GrisMap. */
+  public GrisMap() {
+    super(Type.MAP);
+  }
+
+  /**
+   * Checks if a value can be used as a key.
+   *
+   * @param key The value to check.
+   * @return True if the value is a number or a string.
+   */
+  public static boolean isKey(GrisType key) {
+    return key instanceof GrisNumber || key instanceof GrisString;
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   *
+   * @return The number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Retrieves the value of a key.
+   *
+   * @param key The key, a number or a string.
+   * @return The value, or null if the map has no entry for the key.
+   */
+  public GrisType get(GrisType key) {
+    final int slot = find(key);
+    return slot < 0 ? null : values[slot];
+  }
+
+  /**
+   * Checks if the map has an entry for a key.
+   *
+   * @param key The key, a number or a string.
+   * @return True if the map has an entry for the key.
+   */
+  public boolean has(GrisType key) {
+    return find(key) >= 0;
+  }
+
+  /**
+   * Sets the value of a key, adding an entry if the map has none for it.
+   *
+   * @param key The key, a number or a string.
+   * @param value The value.
+   */
+  public void set(GrisType key, GrisType value) {
+    final int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != null) {
+      if (same(keys[slot], key)) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size * 4 >= keys.length * 3) grow();
+  }
+
+  /**
+   * Removes the entry of a key.
+   *
+   * @param key The key, a number or a string.
+   * @return True if the map had an entry for the key.
+   */
+  public boolean remove(GrisType key) {
+    int slot = find(key);
+    if (slot < 0) return false;
+
+    // Move back every later entry of the probe sequence that would no longer be reachable
+    final int mask = keys.length - 1;
+    int next = (slot + 1) & mask;
+    while (keys[next] != null) {
+      final int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        keys[slot] = keys[next];
+        values[slot] = values[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[slot] = null;
+    values[slot] = null;
+    size--;
+    return true;
+  }
+
+  /**
+   * Collects the keys of the map into an array, in the order of the table.
+   *
+   * @return A new array holding the keys.
+   */
+  public GrisArray keys() {
+    final GrisArray array = new GrisArray();
+    for (GrisType key : keys) {
+      if (key != null) array.push(key);
+    }
+    return array;
+  }
+
+  /**
+   * Retrieves one of the map's methods, bound to the map.
+   *
+   * @param name The token representing the name of the method.
+   * @return The bound method.
+   */
+  public GrisCallable method(Token name) {
+    return new Method(this, name);
+  }
+
+  /**
+   * Finds the slot of a key.
+   *
+   * @param key The key, a number or a string.
+   * @return The slot, or -1 if the map has no entry for the key.
+   */
+  private int find(GrisType key) {
+    final int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != null) {
+      if (same(keys[slot], key)) return slot;
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** Doubles the table, placing every entry again. */
+  private void grow() {
+    final GrisType[] oldKeys = keys;
+    final GrisType[] oldValues = values;
+    keys = new GrisType[oldKeys.length * 2];
+    values = new GrisType[oldKeys.length * 2];
+
+    final int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] == null) continue;
+      int slot = hash(oldKeys[i]) & mask;
+      while (keys[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = oldKeys[i];
+      values[slot] = oldValues[i];
+    }
+  }
+
+  /**
+   * Hashes a key by value, spreading the bits so that close numbers land far apart.
+   *
+   * @param key The key, a number or a string.
+   * @return The hash of the key.
+   */
+  private static int hash(GrisType key) {
+    final int hash;
+    if (key instanceof GrisNumber number) {
+      // Equal numbers must hash the same, and 0 == -0 although their bits differ
+      hash = number.value == 0 ? 0 : Double.hashCode(number.value);
+    } else {
+      hash = ((GrisString) key).hash();
+    }
+    final int spread = hash * 0x9E3779B9;
+    return spread ^ (spread >>> 16);
+  }
+
+  /**
+   * Checks if two keys are equal, as {@link GrisType#isEqual} would, without allocating.
+   *
+   * @param a The first key.
+   * @param b The second key.
+   * @return True if the keys are equal.
+   */
+  private static boolean same(GrisType a, GrisType b) {
+    if (a instanceof GrisNumber x) return b instanceof GrisNumber y && x.value == y.value;
+    return b instanceof GrisString y && ((GrisString) a).contentEquals(y);
+  }
+
+  /**
+   * Checks if this GrisMap object is equal to another GrisType object. Maps are equal only to
+   * themselves.
+   *
+   * @param value The GrisType object to compare.
+   * @return A new GrisBoolean object representing the result of the equality comparison.
+   */
+  @Override
+  public GrisBoolean isEqual(GrisType value) {
+    return new GrisBoolean(this == value);
+  }
+
+  /**
+   * Converts this GrisMap object to a GrisString object, listing its entries.
+   *
+   * @return A new GrisString object representing the entries of the map.
+   */
+  @Override
+  public GrisString toGrisString() {
+    final StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] == null) continue;
+      if (builder.length() > 1) builder.append(", ");
+      builder.append(keys[i].toGrisString().value()).append(": ");
+      builder.append(values[i] == null ? "null" : values[i].toGrisString().value());
+    }
+    return new GrisString(builder.append('}').toString());
+  }
+
+  /** A method of a map, bound to the map, for when it is used as a value. */
+  private static final class Method extends GrisCallable {
+    /** The map the method belongs to. */
+    private final GrisMap map;
+
+    /** The token representing the name of the method. */
+    private final Token name;
+
+    /**
+     * Constructs a method bound to a map.
+     *
+     * @param map The map the method belongs to.
+     * @param name The token representing the name of the method.
+     */
+    private Method(GrisMap map, Token name) {
+      super(Type.FUNCTION);
+      this.map = map;
+      this.name = name;
+    }
+
+    @Override
+    public GrisType call(Interpreter interpreter, List<GrisType> arguments) {
+      return interpreter.callMap(map, name, arguments);
+    }
+
+    @Override
+    public GrisBoolean isEqual(GrisType value) {
+      return new GrisBoolean(this == value);
+    }
+
+    @Override
+    public GrisString toGrisString() {
+      return new GrisString("<map method " + name.lexeme + ">");
+    }
+  }
+}
@@ -2,12 +2,53 @@ package com.github.gris.runtime.value;
 
 import com.github.gris.typing.type.Type;
 
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-/** Represents a string value in the Gris language runtime. */
+/**
+ * Represents a string value in the Gris language runtime.
+ *
+ * <p>A string built by concatenation is a prefix of a {@link StringBuilder} shared with the
+ * strings it was built from. Appending to the string that ends at the builder's current length
+ * extends the builder in place, so building a string in a loop takes linear time rather than
+ * copying the whole string on every step. The prefix a string covers never changes, so strings
+ * stay immutable; only the string at the end of a builder can extend it, and appending to any
+ * other copies it into a new builder. The characters are flattened into a {@link String} only
+ * when they are read, and then kept; only the length is known without flattening.
+ *
+ * <p>A substring is a slice: the flat string it was taken from, with an offset and a length.
+ * Taking one copies nothing and reading its characters reads the backing string, so splitting
+ * and trimming text allocates no characters per token. A slice is only copied out when it would
+ * keep a large backing string alive for a small part of it, or when its whole value is needed.
+ */
 public class GrisString extends GrisType {
-  /** The string value held by this GrisString object. */
-  public final String value;
+  /** Results shorter than this are concatenated into a flat string directly. */
+  private static final int BUILDER_THRESHOLD = 32;
+
+  /** Backing strings longer than this are not kept alive by slices of under a quarter of them. */
+  private static final int PIN_LIMIT = 1024;
+
+  /** The strings of one character, in pages of 256 by the high byte; Latin-1 is preallocated. */
+  private static final AtomicReferenceArray<GrisString[]> CHARACTERS =
+      new AtomicReferenceArray<>(256);
+
+  static {
+    CHARACTERS.set(0, page(0));
+  }
+
+  /** The characters of the string, or null until a builder-backed string or slice is flattened. */
+  private volatile String value;
+
+  /** The builder holding the characters as a prefix, or null unless built by concatenation. */
+  private final StringBuilder builder;
+
+  /** The string this is a slice of, or null unless this is a slice. */
+  private final String source;
+
+  /** The index in the backing string of the first character of a slice. */
+  private final int offset;
+
+  /** The number of characters in the string. */
+  private final int length;
 
   /**
    * Constructs a GrisString object with the specified string value.
@@ -17,6 +58,247 @@ public class GrisString extends GrisType {
   public GrisString(String value) {
     super(Type.STRING);
     this.value = value;
+    this.builder = null;
+    this.source = null;
+    this.offset = 0;
+    this.length = value.length();
+  }
+
+  /**
+   * Constructs a GrisString object covering a prefix of a builder.
+   *
+   * @param builder The builder holding the characters.
+   * @param length The number of characters covered.
+   */
+  private GrisString(StringBuilder builder, int length) {
+    super(Type.STRING);
+    this.builder = builder;
+    this.source = null;
+    this.offset = 0;
+    this.length = length;
+  }
+
+  /**
+   * Constructs a GrisString object covering part of a flat string.
+   *
+   * @param source The string holding the characters.
+   * @param offset The index in the string of the first character covered.
+   * @param length The number of characters covered.
+   */
+  private GrisString(String source, int offset, int length) {
+    super(Type.STRING);
+    this.builder = null;
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Returns the string holding a single character. Characters of the same page as one already
+   * requested are served from a table, so scanning a string one character at a time allocates
+   * nothing once the characters it contains have been seen.
+   *
+   * @param c The character.
+   * @return The shared string of that character.
+   */
+  public static GrisString of(char c) {
+    GrisString[] page = CHARACTERS.get(c >>> 8);
+    if (page == null) {
+      // Racing threads may each build a page; the first one stored is published whole to all
+      final GrisString[] built = page(c >>> 8);
+      page = CHARACTERS.compareAndExchange(c >>> 8, null, built);
+      if (page == null) page = built;
+    }
+    return page[c & 0xFF];
+  }
+
+  /**
+   * Builds the strings of the 256 characters sharing a high byte.
+   *
+   * @param high The high byte of the characters.
+   * @return The strings, indexed by the low byte.
+   */
+  private static GrisString[] page(int high) {
+    final GrisString[] page = new GrisString[256];
+    for (int low = 0; low < 256; low++) {
+      page[low] = new GrisString(String.valueOf((char) (high << 8 | low)));
+    }
+    return page;
+  }
+
+  /**
+   * Returns the characters of the string, flattening them the first time if they are held in a
+   * builder or are a slice.
+   *
+   * @return The string value.
+   */
+  public String value() {
+    String flat = value;
+    if (flat == null) {
+      if (source != null) {
+        flat = source.substring(offset, offset + length);
+      } else {
+        synchronized (builder) {
+          flat = builder.substring(0, length);
+        }
+      }
+      value = flat;
+    }
+    return flat;
+  }
+
+  /**
+   * Returns the number of characters in the string, without flattening it.
+   *
+   * @return The length of the string.
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Returns a character of the string. A slice reads its backing string; a string built by
+   * concatenation is flattened by the first call, as scans read many characters and a flat
+   * string reads them without locking the builder.
+   *
+   * @param index The index of the character.
+   * @return The character.
+   */
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new StringIndexOutOfBoundsException(
+          String.format("Index %d is out of bounds for length %d", index, length));
+    }
+    if (source != null) return source.charAt(offset + index);
+    return value().charAt(index);
+  }
+
+  /**
+   * Returns the characters between two indices, as a slice sharing this string's characters.
+   * Short results and small parts of a large backing string are copied instead.
+   *
+   * @param start The index of the first character, inclusive.
+   * @param end The index after the last character, exclusive.
+   * @return The substring.
+   * @throws StringIndexOutOfBoundsException If the indices are not within the string, in order.
+   */
+  public GrisString slice(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new StringIndexOutOfBoundsException(
+          String.format("Substring %d to %d is out of bounds for length %d", start, end, length));
+    }
+    if (start == 0 && end == length) return this;
+    if (end - start == 1) return of(charAt(start));
+
+    final String backing = source != null ? source : value();
+    final int base = source != null ? offset : 0;
+    if (backing.length() > PIN_LIMIT && (end - start) * 4 < backing.length()) {
+      return new GrisString(backing.substring(base + start, base + end));
+    }
+    return new GrisString(backing, base + start, end - start);
+  }
+
+  /**
+   * Returns the string without leading and trailing whitespace, as a slice of it.
+   *
+   * @return The trimmed string.
+   */
+  public GrisString trim() {
+    int start = 0;
+    int end = length;
+    while (start < end && charAt(start) <= ' ') start++;
+    while (end > start && charAt(end - 1) <= ' ') end--;
+    return slice(start, end);
+  }
+
+  /**
+   * Splits the string around every occurrence of a separator, into slices of it. Adjacent
+   * separators, and separators at either end, yield empty strings; an empty separator splits the
+   * string into its characters.
+   *
+   * @param separator The separator, matched literally.
+   * @return An array of the parts, in order.
+   */
+  public GrisArray split(String separator) {
+    final GrisArray parts = new GrisArray();
+    if (separator.isEmpty()) {
+      for (int i = 0; i < length; i++) {
+        parts.push(of(charAt(i)));
+      }
+      return parts;
+    }
+
+    final String backing = source != null ? source : value();
+    final int base = source != null ? offset : 0;
+    int start = 0;
+    while (true) {
+      final int found = backing.indexOf(separator, base + start) - base;
+      if (found < 0 || found + separator.length() > length) break;
+      parts.push(slice(start, found));
+      start = found + separator.length();
+    }
+    parts.push(slice(start, length));
+    return parts;
+  }
+
+  /**
+   * Checks if two strings hold the same characters, without flattening slices.
+   *
+   * @param other The string to compare with.
+   * @return True if the strings are equal.
+   */
+  public boolean contentEquals(GrisString other) {
+    if (this == other) return true;
+    if (length != other.length) return false;
+    final String a = source != null ? source : value();
+    final String b = other.source != null ? other.source : other.value();
+    final int start = source != null ? offset : 0;
+    return a.regionMatches(start, b, other.source != null ? other.offset : 0, length);
+  }
+
+  /**
+   * Hashes the characters of the string as {@link String#hashCode} does, without flattening
+   * slices.
+   *
+   * @return The hash of the characters.
+   */
+  public int hash() {
+    final String flat = value;
+    if (flat != null) return flat.hashCode();
+    if (source == null) return value().hashCode();
+    int hash = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + source.charAt(i);
+    }
+    return hash;
+  }
+
+  /**
+   * Concatenates another string to this one. If this string ends its builder, the other is
+   * appended to the builder in place; otherwise short results are built flat and longer ones
+   * start a new builder, with room to grow.
+   *
+   * @param other The string to append.
+   * @return A string holding the characters of both.
+   */
+  public GrisString concat(GrisString other) {
+    // Taken before locking, so that no two builders are ever locked at once
+    final String tail = other.value();
+    final int total = length + tail.length();
+    if (builder != null) {
+      synchronized (builder) {
+        if (builder.length() == length) {
+          builder.append(tail);
+          return new GrisString(builder, total);
+        }
+      }
+    }
+
+    final String head = value();
+    if (total < BUILDER_THRESHOLD) return new GrisString(head.concat(tail));
+    final StringBuilder extended = new StringBuilder(Math.max(total, total * 2));
+    extended.append(head).append(tail);
+    return new GrisString(extended, total);
   }
 
   /**
@@ -27,10 +309,10 @@ public class GrisString extends GrisType {
    */
   @Override
   public GrisBoolean isEqual(GrisType value) {
-    if (!(value instanceof GrisString)) {
+    if (!(value instanceof GrisString string)) {
       return new GrisBoolean(false);
     }
-    return new GrisBoolean(Objects.equals(this.value, ((GrisString) value).value));
+    return new GrisBoolean(contentEquals(string));
   }
 
   /**
@@ -40,6 +322,6 @@ public class GrisString extends GrisType {
    */
   @Override
   public GrisString toGrisString() {
-    return new GrisString(this.value);
+    return this;
   }
 }
@@ -0,0 +1,611 @@
+package com.github.gris.typing;
+
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.Return;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.builtin.export.ParallelMapExport;
+import com.github.gris.builtin.export.ParallelReduceExport;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.lexer.Token;
+import com.github.gris.typing.type.*;
+
+import java.util.List;
+
+import static com.github.gris.typing.type.TypeExpr.matchTypeExpr;
+
+/**
+ * The typing rules of the language, shared by {@link Typing} and the fused analyzer that resolves
+ * and types a program in one pass. Each rule is given the types of a construct's parts, already
+ * computed by the caller, and returns the construct's type or throws a {@link TypingError}; only
+ * looking up a variable's type depends on how the caller keeps its scopes.
+ */
+public abstract class TypeRules {
+  /** The lexer used for error reporting. */
+  protected final Lexer lexer;
+
+  /**
+   * Constructs the rules, reporting errors against the given source.
+   *
+   * @param lexer The lexer used for error reporting.
+   */
+  protected TypeRules(Lexer lexer) {
+    this.lexer = lexer;
+  }
+
+  /**
+   * Determines the type of a variable by looking up its name.
+   *
+   * @param name The name of the variable.
+   * @return The type of the variable.
+   * @throws TypingError If the variable is not defined.
+   */
+  protected abstract TypeExpr lookupVariableType(Token name);
+
+  /**
+   * Types an assignment, and marks it numeric if it assigns a number.
+   *
+   * @param expr The assignment.
+   * @param value The type of the assigned value.
+   * @param variable The type of the variable.
+   * @return The type of the assignment.
+   */
+  protected TypeExpr assignType(Assign expr, TypeExpr value, TypeExpr variable) {
+    if (isCallable(variable)) {
+      throw new TypingError(
+          String.format("Cannot assign function to variable '%s'", expr.name.lexeme),
+          expr.name.line,
+          expr.name.col,
+          lexer.getSourceLine(expr.name.line));
+    }
+    if (!matchTypeExpr(value, variable)) {
+      throw new TypingError(
+          String.format(
+              "Variable's of type '%s' does not match that of assignment type '%s'",
+              variable.type, value.type),
+          expr.name.line,
+          expr.name.col,
+          lexer.getSourceLine(expr.name.line));
+    }
+    expr.numeric = variable.type == Type.NUMBER;
+    return value;
+  }
+
+  /**
+   * Types a binary expression.
+   *
+   * @param expr The binary expression.
+   * @param leftType The type of the left operand.
+   * @param rightType The type of the right operand.
+   * @return The type of the expression.
+   */
+  protected TypeExpr binaryType(Binary expr, TypeExpr leftType, TypeExpr rightType) {
+    switch (expr.operator.type) {
+      case BANG_EQUAL, EQUAL_EQUAL -> {
+        if (!matchTypeExpr(leftType, rightType)) {
+          throw new TypingError(
+              String.format(
+                  "Left, type '%s', does not match that of right, type '%s'",
+                  leftType.type, rightType.type),
+              expr.operator.line,
+              expr.operator.col,
+              lexer.getSourceLine(expr.operator.line));
+        }
+        return Types.of(Type.BOOLEAN);
+      }
+      case PLUS -> {
+        // Two strings are concatenated; anything else must be a sum of numbers
+        if (isString(leftType) && isString(rightType)) return Types.of(Type.STRING);
+        checkNumberOperands(expr, leftType, rightType);
+        return Types.of(Type.NUMBER);
+      }
+      case CARET, MINUS, MODULO, SLASH, STAR -> {
+        checkNumberOperands(expr, leftType, rightType);
+        return Types.of(Type.NUMBER);
+      }
+      case GREATER, GREATER_EQUAL, LESS, LESS_EQUAL -> {
+        checkNumberOperands(expr, leftType, rightType);
+        return Types.of(Type.BOOLEAN);
+      }
+    }
+    // Unreachable
+    return null;
+  }
+
+  /**
+   * Types a call.
+   *
+   * @param expr The call.
+   * @param type The type of the callee.
+   * @param typedArguments The types of the arguments.
+   * @return The type of the call's result.
+   */
+  protected TypeExpr callType(Call expr, TypeExpr type, List<TypeExpr> typedArguments) {
+    if (type instanceof FunctionTypeExpr) {
+      if (!((FunctionTypeExpr) type).matchParams(typedArguments)) {
+        throw new TypingError(
+            "Arguments do not match that of callee's parameters",
+            expr.parenthesis.line,
+            expr.parenthesis.col,
+            lexer.getSourceLine(expr.parenthesis.line));
+      }
+      if (type == ParallelMapExport.TYPE) return parallelMapType(expr, typedArguments);
+      if (type == ParallelReduceExport.TYPE) return parallelReduceType(expr, typedArguments);
+      return ((FunctionTypeExpr) type).returnType;
+    } else if (type instanceof ClassTypeExpr klass) {
+      if (klass.initializer != null) {
+        if (klass.initializer.matchParams(typedArguments)) {
+          throw new TypingError(
+              "Arguments do not match that of the class' constructor",
+              expr.parenthesis.line,
+              expr.parenthesis.col,
+              lexer.getSourceLine(expr.parenthesis.line));
+        }
+      }
+      return new ClassInstanceTypeExpr((ClassTypeExpr) type);
+    }
+    // Unreachable
+    return null;
+  }
+
+  /**
+   * Types a call of "parallelMap", whose declared type takes any function of one argument. The
+   * function must take the elements of the source, and the result holds what it returns.
+   *
+   * @param expr The call.
+   * @param arguments The types of the function and the source.
+   * @return The type of the array of results.
+   */
+  private TypeExpr parallelMapType(Call expr, List<TypeExpr> arguments) {
+    if (!(arguments.get(0) instanceof FunctionTypeExpr mapper)) return Types.array(Types.all());
+    if (!matchTypeExpr(mapper.parameters.get(0), elementType(arguments.get(1)))) {
+      throw new TypingError(
+          "Function does not take the elements of the source",
+          expr.parenthesis.line,
+          expr.parenthesis.col,
+          lexer.getSourceLine(expr.parenthesis.line));
+    }
+    return Types.array(mapper.returnType);
+  }
+
+  /**
+   * Types a call of "parallelReduce", whose declared type takes any function of two arguments.
+   * The function must combine two values of the initial value's type into another, and the
+   * elements of the source must be of that type too.
+   *
+   * @param expr The call.
+   * @param arguments The types of the function, the source and the initial value.
+   * @return The type of the initial value, which is the type of the result.
+   */
+  private TypeExpr parallelReduceType(Call expr, List<TypeExpr> arguments) {
+    final TypeExpr initial = arguments.get(2);
+    if (!(arguments.get(0) instanceof FunctionTypeExpr combiner)) return initial;
+    if (!matchTypeExpr(combiner.parameters.get(0), initial)
+        || !matchTypeExpr(combiner.parameters.get(1), initial)
+        || !matchTypeExpr(combiner.returnType, initial)) {
+      throw new TypingError(
+          "Function does not combine values of the initial value's type",
+          expr.parenthesis.line,
+          expr.parenthesis.col,
+          lexer.getSourceLine(expr.parenthesis.line));
+    }
+    if (!matchTypeExpr(elementType(arguments.get(1)), initial)) {
+      throw new TypingError(
+          "Elements of the source do not match the initial value's type",
+          expr.parenthesis.line,
+          expr.parenthesis.col,
+          lexer.getSourceLine(expr.parenthesis.line));
+    }
+    return initial;
+  }
+
+  /**
+   * Returns the type of the elements a parallel built-in takes from its source: the elements of
+   * an array, or the numbers below a count.
+   *
+   * @param source The type of the source.
+   * @return The type of its elements.
+   */
+  private static TypeExpr elementType(TypeExpr source) {
+    return source instanceof ArrayTypeExpr array ? array.element : Types.of(Type.NUMBER);
+  }
+
+  /**
+   * Checks that a callee can be called, before its arguments are typed.
+   *
+   * @param expr The call.
+   * @param type The type of the callee.
+   */
+  protected void checkCallable(Call expr, TypeExpr type) {
+    if (!isCallable(type)) {
+      throw new TypingError(
+          "Expression is not callable",
+          expr.parenthesis.line,
+          expr.parenthesis.col,
+          lexer.getSourceLine(expr.parenthesis.line));
+    }
+  }
+
+  /**
+   * Types a property access, or the access of one of the methods of an array, a channel, a map
+   * or a file.
+   *
+   * @param expr The property access.
+   * @param type The type of the object.
+   * @param currentClass The class whose methods are being checked, or null.
+   * @return The type of the property.
+   */
+  protected TypeExpr getType(Get expr, TypeExpr type, ClassTypeExpr currentClass) {
+    if (type instanceof ArrayTypeExpr array) {
+      final FunctionTypeExpr method = array.getMethod(expr.name.lexeme);
+      if (method == null)
+        throw new TypingError(
+            "Array does not have method",
+            expr.name.line,
+            expr.name.col,
+            lexer.getSourceLine(expr.name.line));
+      return method;
+    }
+
+    if (type instanceof ChannelTypeExpr channel) {
+      final FunctionTypeExpr method = channel.getMethod(expr.name.lexeme);
+      if (method == null)
+        throw new TypingError(
+            "Channel does not have method",
+            expr.name.line,
+            expr.name.col,
+            lexer.getSourceLine(expr.name.line));
+      return method;
+    }
+
+    if (type.type == Type.FILE) {
+      final FunctionTypeExpr method = Types.fileMethod(expr.name.lexeme);
+      if (method == null)
+        throw new TypingError(
+            "File does not have method",
+            expr.name.line,
+            expr.name.col,
+            lexer.getSourceLine(expr.name.line));
+      return method;
+    }
+
+    if (type instanceof MapTypeExpr map) {
+      final FunctionTypeExpr method = map.getMethod(expr.name.lexeme);
+      if (method == null)
+        throw new TypingError(
+            "Map does not have method",
+            expr.name.line,
+            expr.name.col,
+            lexer.getSourceLine(expr.name.line));
+      return method;
+    }
+
+    if (!isInstance(type))
+      throw new TypingError(
+          "Object is not an instance of a class",
+          expr.name.line,
+          expr.name.col,
+          lexer.getSourceLine(expr.name.line));
+
+    if (type instanceof ClassInstanceTypeExpr) {
+      final ClassTypeExpr klass = ((ClassInstanceTypeExpr) type).klass;
+      String prop = expr.name.lexeme;
+
+      if (!klass.hasProperty(prop))
+        throw new TypingError(
+            "Class does not have property",
+            expr.name.line,
+            expr.name.col,
+            lexer.getSourceLine(expr.name.line));
+
+      if (currentClass != null) {
+        if (klass.isSuperOf(currentClass) || klass == currentClass) {
+          return klass.getProperty(prop);
+        }
+      }
+
+      return klass.getMethod(prop);
+    }
+    return null;
+  }
+
+  /**
+   * Types a logical expression.
+   *
+   * @param expr The logical expression.
+   * @param leftExpr The type of the left operand.
+   * @param rightExpr The type of the right operand.
+   * @return The type of the expression.
+   */
+  protected TypeExpr logicalType(Logical expr, TypeExpr leftExpr, TypeExpr rightExpr) {
+    if (!isBoolean(leftExpr))
+      throw new TypingError(
+          "Left expression is not a Boolean.",
+          expr.operator.line,
+          expr.operator.col,
+          lexer.getSourceLine(expr.operator.line));
+
+    if (!isBoolean(rightExpr))
+      throw new TypingError(
+          "Right expression is not a Boolean.",
+          expr.operator.line,
+          expr.operator.col,
+          lexer.getSourceLine(expr.operator.line));
+
+    return Types.of(Type.BOOLEAN);
+  }
+
+  /**
+   * Types a method accessed through 'super'.
+   *
+   * @param expr The 'super' expression.
+   * @param superclass The type bound to 'super'.
+   * @return The type of the method.
+   */
+  protected TypeExpr superType(Super expr, TypeExpr superclass) {
+    if (!(superclass instanceof ClassTypeExpr)) {
+      throw new TypingError(
+          "Super class is not a class",
+          expr.keyword.line,
+          expr.keyword.col,
+          lexer.getSourceLine(expr.keyword.line));
+    }
+
+    if (!((ClassTypeExpr) superclass).hasMethod(expr.method.lexeme)) {
+      throw new TypingError(
+          "Super class does not have method",
+          expr.keyword.line,
+          expr.keyword.col,
+          lexer.getSourceLine(expr.keyword.line));
+    }
+
+    return ((ClassTypeExpr) superclass).getMethod(expr.method.lexeme);
+  }
+
+  /**
+   * Checks the condition of a ternary expression, before its branches are typed.
+   *
+   * @param condition The type of the condition.
+   */
+  protected void checkTernaryCondition(TypeExpr condition) {
+    if (!isBoolean(condition))
+      throw new TypingError("Ternary condition is not a Boolean.", 0, 0, "Unavailable");
+  }
+
+  /**
+   * Types a ternary expression from its branches.
+   *
+   * @param thenType The type of the first branch.
+   * @param elseType The type of the second branch.
+   * @return The type of the expression.
+   */
+  protected TypeExpr ternaryType(TypeExpr thenType, TypeExpr elseType) {
+    if (!matchTypeExpr(thenType, elseType))
+      throw new TypingError("Unary '!' requires a Boolean", 0, 0, "Unavailable");
+
+    return Types.of(thenType.type);
+  }
+
+  /**
+   * Types a unary expression.
+   *
+   * @param expr The unary expression.
+   * @param type The type of the operand.
+   * @return The type of the expression.
+   */
+  protected TypeExpr unaryType(Unary expr, TypeExpr type) {
+    switch (expr.operator.type) {
+      case BANG -> {
+        if (!isBoolean(type)) {
+          throw new TypingError(
+              "Unary '!' requires a Boolean",
+              expr.operator.line,
+              expr.operator.col,
+              lexer.getSourceLine(expr.operator.line));
+        }
+      }
+      case MINUS -> {
+        if (!isNumber(type)) {
+          throw new TypingError(
+              "Unary '-' requires a Number",
+              expr.operator.line,
+              expr.operator.col,
+              lexer.getSourceLine(expr.operator.line));
+        }
+      }
+    }
+
+    return type;
+  }
+
+  /**
+   * Checks the condition of an 'if' statement.
+   *
+   * @param condition The type of the condition.
+   */
+  protected void checkIfCondition(TypeExpr condition) {
+    if (!isBoolean(condition)) {
+      throw new TypingError("If statement condition not a boolean", 0, 0, "Unavailable");
+    }
+  }
+
+  /**
+   * Checks the condition of a 'while' statement.
+   *
+   * @param condition The type of the condition.
+   */
+  protected void checkWhileCondition(TypeExpr condition) {
+    if (!isBoolean(condition)) {
+      throw new TypingError(
+          String.format("While statement condition, type '%s', not a boolean", condition),
+          0,
+          0,
+          "Unavailable");
+    }
+  }
+
+  /**
+   * Checks a returned value against the type of the function returning it.
+   *
+   * @param stmt The 'return' statement.
+   * @param returnType The type of the returned value, Void if there is none.
+   * @param function The type of the function.
+   */
+  protected void checkReturn(Return stmt, TypeExpr returnType, FunctionTypeExpr function) {
+    if (!matchTypeExpr(returnType, function.returnType)) {
+      throw new TypingError(
+          String.format(
+              "Return value's type, '%s', does not match that of the function's type, '%s'",
+              function.returnType, returnType),
+          stmt.keyword.line,
+          stmt.keyword.col,
+          lexer.getSourceLine(stmt.keyword.line));
+    }
+  }
+
+  /**
+   * Determines the type of a variable declared with the 'val' keyword. If the type is not
+   * explicitly specified, it uses the type of the initializer.
+   *
+   * @param stmt The 'val' statement representing the variable declaration.
+   * @param initializer The type of the initializer expression, or null if there is none.
+   * @return The resolved type of the variable.
+   * @throws TypingError If the declared type and the initializer type do not match, or if the
+   *     declared type is not a valid class type.
+   */
+  protected TypeExpr variableType(Val stmt, TypeExpr initializer) {
+    TypeExpr type = stmt.type;
+    if (stmt.type == null) type = initializer;
+
+    if (type.type == Type.IDENTIFIER) {
+      TypeExpr object = lookupVariableType(((IdentifierTypeExpr) type).identifier);
+      if (!isObject(object)) {
+        throw new TypingError(
+            String.format(
+                "Type '%s' is not a class", ((IdentifierTypeExpr) type).identifier.lexeme),
+            ((IdentifierTypeExpr) type).identifier.line,
+            ((IdentifierTypeExpr) type).identifier.col,
+            lexer.getSourceLine(((IdentifierTypeExpr) type).identifier.line));
+      }
+
+      if (object instanceof ClassTypeExpr) {
+        type = new ClassInstanceTypeExpr((ClassTypeExpr) object);
+      }
+    }
+
+    if (initializer != null && !matchTypeExpr(type, initializer)) {
+      throw new TypingError(
+          String.format(
+              "Variable type '%s' and initializer type '%s' do not match",
+              type.type.toString(), initializer.type.toString()),
+          stmt.name.line,
+          stmt.name.col,
+          lexer.getSourceLine(stmt.name.line));
+    }
+
+    stmt.numeric = initializer != null && type != null && type.type == Type.NUMBER;
+    return type;
+  }
+
+  /**
+   * Determines a type to declare for a variable whose declaration failed to check, so that later
+   * uses of the variable are checked against its declared type rather than reported as undefined.
+   *
+   * @param stmt The 'val' statement that failed to check.
+   * @return The declared type if it can be resolved, otherwise a type matching anything.
+   */
+  protected TypeExpr recoveredType(Val stmt) {
+    if (stmt.type.type != Type.IDENTIFIER) return stmt.type;
+
+    try {
+      final TypeExpr object = lookupVariableType(((IdentifierTypeExpr) stmt.type).identifier);
+      if (object instanceof ClassTypeExpr klass) return new ClassInstanceTypeExpr(klass);
+    } catch (RuntimeException ignored) {
+      // Fall through to the catch-all type
+    }
+    return Types.all();
+  }
+
+  /**
+   * Checks that both operands of an arithmetic or comparison operator are numbers.
+   *
+   * @param expr The binary expression.
+   * @param leftType The type of the left operand.
+   * @param rightType The type of the right operand.
+   */
+  private void checkNumberOperands(Binary expr, TypeExpr leftType, TypeExpr rightType) {
+    if (!isNumber(leftType)) {
+      throw new TypingError(
+          String.format("Left of operator '%s' is not a Number", expr.operator.lexeme),
+          expr.operator.line,
+          expr.operator.col,
+          lexer.getSourceLine(expr.operator.line));
+    }
+    if (!isNumber(rightType)) {
+      throw new TypingError(
+          String.format("Right of operator '%s' is not a Number", expr.operator.lexeme),
+          expr.operator.line,
+          expr.operator.col,
+          lexer.getSourceLine(expr.operator.line));
+    }
+  }
+
+  /**
+   * Checks if a given type expression represents a Boolean type.
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if the type expression represents a Boolean type, otherwise false.
+   */
+  protected static boolean isBoolean(TypeExpr typeExpr) {
+    return typeExpr.type == Type.BOOLEAN;
+  }
+
+  /**
+   * Checks if a given type expression represents a callable type (class or function).
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if the type expression represents a callable type, otherwise false.
+   */
+  protected static boolean isCallable(TypeExpr typeExpr) {
+    return typeExpr.type == Type.CLASS || typeExpr.type == Type.FUNCTION;
+  }
+
+  /**
+   * Checks if a given type expression represents a class instance.
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if the type expression represents a class instance, otherwise false.
+   */
+  protected static boolean isInstance(TypeExpr typeExpr) {
+    return typeExpr.type == Type.CLASS_INSTANCE;
+  }
+
+  /**
+   * Checks if a given type expression represents a numeric type.
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if the type expression represents a numeric type, otherwise false.
+   */
+  protected static boolean isNumber(TypeExpr typeExpr) {
+    return typeExpr.type == Type.NUMBER;
+  }
+
+  /**
+   * Checks if a given type expression represents a class type.
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if the type expression represents a class type, otherwise false.
+   */
+  protected static boolean isObject(TypeExpr typeExpr) {
+    return typeExpr.type == Type.CLASS;
+  }
+
+  /**
+   * Checks if a given type expression represents a string type.
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if the type expression represents a string type, otherwise false.
+   */
+  protected static boolean isString(TypeExpr typeExpr) {
+    return typeExpr.type == Type.STRING;
+  }
+}
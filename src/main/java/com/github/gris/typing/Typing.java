@@ -6,7 +6,9 @@ import com.github.gris.ast.expr.Set;
 import com.github.gris.ast.stmt.*;
 import com.github.gris.ast.stmt.Class;
 import com.github.gris.builtin.Builtin;
-import com.github.gris.builtin.export.*;
+import com.github.gris.builtin.BuiltinRegistry;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
 import com.github.gris.lexer.Lexer;
 import com.github.gris.resolver.VariableState;
 import com.github.gris.typing.type.*;
@@ -14,22 +16,22 @@ import com.github.gris.ast.visitor.ExprVisitor;
 import com.github.gris.ast.visitor.StmtVisitor;
 import com.github.gris.lexer.Token;
 import com.github.gris.runtime.Interpreter;
-import com.github.gris.runtime.union.ExprUnionTypeExpr;
 
 import java.util.*;
-
-import static com.github.gris.typing.type.TypeExpr.matchTypeExpr;
-
-/** The Typing class performs type checking on expressions and statements. */
-public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
-  /** The lexer used for error reporting. */
-  private final Lexer lexer;
-
-  /** A map containing local variables and their types. */
-  private Map<ExprUnionTypeExpr, Integer> locals = new HashMap<>();
-
-  /** A map containing global variables and their types. */
-  private final Map<String, TypeExpr> globals = new HashMap<>();
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The Typing class performs type checking on expressions and statements.
+ *
+ * <p>A program is checked in two phases. The top-level statements are checked in order, collecting
+ * the signatures of functions and classes but setting their bodies aside; the bodies are then
+ * checked concurrently on the common fork-join pool, each by its own checker with its own scopes,
+ * since by then the globals they can see no longer change. Errors from the bodies are merged in
+ * source order, so the outcome doesn't depend on scheduling.
+ */
+public class Typing extends TypeRules implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
+  /** A map containing global variables and their types, read-only while bodies are checked. */
+  private final Map<String, TypeExpr> globals;
 
   /** A stack of scopes for managing variable scoping. */
   private final Stack<Map<String, TypeExpr>> scopes = new Stack<>();
@@ -40,6 +42,12 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
   /** The current function being processed during type checking. */
   private FunctionTypeExpr currentFunction;
 
+  /** The collector errors are reported to in diagnostics mode, or null to throw them. */
+  private final Diagnostics diagnostics;
+
+  /** The bodies set aside while checking a top-level declaration, or null to check in place. */
+  private List<Body> bodies;
+
   /**
    * Constructs a Typing object with the given Lexer and Interpreter.
    *
@@ -47,190 +55,125 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
    * @param interpreter The interpreter used for handling runtime operations.
    */
   public Typing(Lexer lexer, Interpreter interpreter) {
-    this.lexer = lexer;
-    this.locals = interpreter.locals;
-
-    Builtin abs = AbsExport.export();
-    globals.put(abs.name, abs.type);
-
-    Builtin charAt = CharAtExport.export();
-    globals.put(charAt.name, charAt.type);
+    this(lexer, interpreter, null);
+  }
 
-    Builtin len = LenExport.export();
-    globals.put(len.name, len.type);
+  /**
+   * Constructs a Typing object in diagnostics mode, which reports errors to the given collector
+   * and carries on with the next statement.
+   *
+   * @param lexer The lexer used for tokenizing source code.
+   * @param interpreter The interpreter used for handling runtime operations.
+   * @param diagnostics The collector errors are reported to, or null to throw them.
+   */
+  public Typing(Lexer lexer, Interpreter interpreter, Diagnostics diagnostics) {
+    super(lexer);
+    this.globals = new HashMap<>();
+    this.diagnostics = diagnostics;
 
-    Builtin print = PrintExport.export();
-    globals.put(print.name, print.type);
+    for (Builtin builtin : BuiltinRegistry.builtins()) {
+      globals.put(builtin.name, builtin.type);
+    }
+  }
 
-    Builtin println = PrintlnExport.export();
-    globals.put(println.name, println.type);
+  /**
+   * Constructs a checker for one function body, sharing the program's globals.
+   *
+   * @param program The checker of the program.
+   * @param diagnostics The collector the body's errors are reported to, or null to throw them.
+   */
+  private Typing(Typing program, Diagnostics diagnostics) {
+    super(program.lexer);
+    this.globals = program.globals;
+    this.diagnostics = diagnostics;
   }
 
   /**
-   * Checks a list of statements for type correctness.
+   * Checks a program for type correctness: first its top-level statements, then the bodies of its
+   * top-level functions and classes in parallel. Outside diagnostics mode, the error thrown is the
+   * first one in the source, whether it was found in a top-level statement or in a body.
    *
-   * @param statements The list of statements to check.
+   * @param statements The statements of the program.
    */
   public void check(List<Stmt> statements) {
+    final List<Body> deferred = new ArrayList<>();
+    TypingError failure = null;
     for (Stmt statement : statements) {
-      check(statement);
+      if (statement instanceof Function || statement instanceof Class) bodies = deferred;
+      try {
+        check(statement);
+      } catch (TypingError error) {
+        // The bodies deferred so far are still checked, as they may hold an earlier error
+        failure = error;
+        break;
+      } finally {
+        bodies = null;
+      }
+    }
+
+    if (deferred.size() == 1) {
+      deferred.get(0).run();
+    } else {
+      final List<ForkJoinTask<?>> tasks = new ArrayList<>(deferred.size());
+      for (Body body : deferred) {
+        tasks.add(ForkJoinTask.adapt(body));
+      }
+      ForkJoinTask.invokeAll(tasks);
+    }
+
+    for (Body body : deferred) {
+      if (body.error != null) throw earlier(body.error, failure);
+      if (diagnostics != null) {
+        for (Diagnostic diagnostic : body.diagnostics.getDiagnostics()) {
+          diagnostics.report(diagnostic);
+        }
+      }
     }
+    if (failure != null) throw failure;
+  }
+
+  /**
+   * Chooses the error coming first in the source between one found in a body and one found in a
+   * top-level statement.
+   *
+   * @param error The error found in a body.
+   * @param failure The error found in a top-level statement, or null if there was none.
+   * @return The error to throw.
+   */
+  private static RuntimeException earlier(RuntimeException error, TypingError failure) {
+    if (failure == null || !(error instanceof TypingError typing)) return error;
+    if (typing.line != failure.line) return typing.line < failure.line ? typing : failure;
+    return typing.col <= failure.col ? typing : failure;
   }
 
   @Override
   public TypeExpr visitAssignExpr(Assign expr) {
     final TypeExpr value = type(expr.value);
-    final TypeExpr variable = lookupVariableType(expr.name);
-
-    if (isCallable(variable)) {
-      throw new TypingError(
-          String.format("Cannot assign function to variable '%s'", expr.name.lexeme),
-          expr.name.line,
-          expr.name.col,
-          lexer.getSourceLine(expr.name.line));
-    }
-    if (!matchTypeExpr(value, variable)) {
-      throw new TypingError(
-          String.format(
-              "Variable's of type '%s' does not match that of assignment type '%s'",
-              variable.type, value.type),
-          expr.name.line,
-          expr.name.col,
-          lexer.getSourceLine(expr.name.line));
-    }
-    return value;
+    return assignType(expr, value, lookupVariableType(expr.name));
   }
 
   @Override
   public TypeExpr visitBinaryExpr(Binary expr) {
     final TypeExpr leftType = type(expr.left);
     final TypeExpr rightType = type(expr.right);
-
-    switch (expr.operator.type) {
-      case BANG_EQUAL, EQUAL_EQUAL -> {
-        if (!matchTypeExpr(leftType, rightType)) {
-          throw new TypingError(
-              String.format(
-                  "Left, type '%s', does not match that of right, type '%s'",
-                  leftType.type, rightType.type),
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-        return new TypeExpr(Type.BOOLEAN);
-      }
-      case CARET, MINUS, MODULO, PLUS, SLASH, STAR -> {
-        if (!isNumber(leftType)) {
-          throw new TypingError(
-              String.format("Left of operator '%s' is not a Number", expr.operator.lexeme),
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-        if (!isNumber(rightType)) {
-          throw new TypingError(
-              String.format("Right of operator '%s' is not a Number", expr.operator.lexeme),
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-        return new TypeExpr(Type.NUMBER);
-      }
-      case GREATER, GREATER_EQUAL, LESS, LESS_EQUAL -> {
-        if (!isNumber(leftType)) {
-          throw new TypingError(
-              String.format("Left of operator '%s' is not a Number", expr.operator.lexeme),
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-        if (!isNumber(rightType)) {
-          throw new TypingError(
-              String.format("Right of operator '%s' is not a Number", expr.operator.lexeme),
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-        return new TypeExpr(Type.BOOLEAN);
-      }
-    }
-    // Unreachable
-    return null;
+    return binaryType(expr, leftType, rightType);
   }
 
   @Override
   public TypeExpr visitCallExpr(Call expr) {
     final TypeExpr type = type(expr.callee);
-
-    if (!isCallable(type)) {
-      throw new TypingError(
-          "Expression is not callable",
-          expr.parenthesis.line,
-          expr.parenthesis.col,
-          lexer.getSourceLine(expr.parenthesis.line));
-    }
+    checkCallable(expr, type);
 
     List<TypeExpr> typedArguments = new ArrayList<>();
     for (Expr argument : expr.arguments) {
       typedArguments.add(type(argument));
     }
-
-    if (type instanceof FunctionTypeExpr) {
-      if (!((FunctionTypeExpr) type).matchParams(typedArguments)) {
-        throw new TypingError(
-            "Arguments do not match that of callee's parameters",
-            expr.parenthesis.line,
-            expr.parenthesis.col,
-            lexer.getSourceLine(expr.parenthesis.line));
-      }
-      return ((FunctionTypeExpr) type).returnType;
-    } else if (type instanceof ClassTypeExpr klass) {
-      if (klass.initializer != null) {
-        if (klass.initializer.matchParams(typedArguments)) {
-          throw new TypingError(
-              "Arguments do not match that of the class' constructor",
-              expr.parenthesis.line,
-              expr.parenthesis.col,
-              lexer.getSourceLine(expr.parenthesis.line));
-        }
-      }
-      return new ClassInstanceTypeExpr((ClassTypeExpr) type);
-    }
-    // Unreachable
-    return null;
+    return callType(expr, type, typedArguments);
   }
 
   @Override
   public TypeExpr visitGetExpr(Get expr) {
-    final TypeExpr type = type(expr.object);
-
-    if (!isInstance(type))
-      throw new TypingError(
-          "Object is not an instance of a class",
-          expr.name.line,
-          expr.name.col,
-          lexer.getSourceLine(expr.name.line));
-
-    if (type instanceof ClassInstanceTypeExpr) {
-      final ClassTypeExpr klass = ((ClassInstanceTypeExpr) type).klass;
-      String prop = expr.name.lexeme;
-
-      if (!klass.hasProperty(prop))
-        throw new TypingError(
-            "Class does not have property",
-            expr.name.line,
-            expr.name.col,
-            lexer.getSourceLine(expr.name.line));
-
-      if (currentClass != null) {
-        if (klass.isSuperOf(this.currentClass) || klass == currentClass) {
-          return klass.getProperty(prop);
-        }
-      }
-
-      return klass.getMethod(prop);
-    }
-    return null;
+    return getType(expr, type(expr.object), currentClass);
   }
 
   @Override
@@ -240,29 +183,14 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
 
   @Override
   public TypeExpr visitLiteralExpr(Literal expr) {
-    return new TypeExpr(expr.type);
+    return Types.of(expr.type);
   }
 
   @Override
   public TypeExpr visitLogicalExpr(Logical expr) {
     final TypeExpr leftExpr = type(expr.left);
     final TypeExpr rightExpr = type(expr.right);
-
-    if (!isBoolean(leftExpr))
-      throw new TypingError(
-          "Left expression is not a Boolean.",
-          expr.operator.line,
-          expr.operator.col,
-          lexer.getSourceLine(expr.operator.line));
-
-    if (!isBoolean(rightExpr))
-      throw new TypingError(
-          "Right expression is not a Boolean.",
-          expr.operator.line,
-          expr.operator.col,
-          lexer.getSourceLine(expr.operator.line));
-
-    return new TypeExpr(Type.BOOLEAN);
+    return logicalType(expr, leftExpr, rightExpr);
   }
 
   @Override
@@ -272,72 +200,26 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
 
   @Override
   public TypeExpr visitSuperExpr(Super expr) {
-    TypeExpr superclass = lookupVariableType(expr.keyword);
-    if (!(superclass instanceof ClassTypeExpr)) {
-      throw new TypingError(
-          "Super class is not a class",
-          expr.keyword.line,
-          expr.keyword.col,
-          lexer.getSourceLine(expr.keyword.line));
-    }
-
-    if (!((ClassTypeExpr) superclass).hasMethod(expr.method.lexeme)) {
-      throw new TypingError(
-          "Super class does not have method",
-          expr.keyword.line,
-          expr.keyword.col,
-          lexer.getSourceLine(expr.keyword.line));
-    }
-
-    return ((ClassTypeExpr) superclass).getMethod(expr.method.lexeme);
+    return superType(expr, lookupVariableType(expr.keyword));
   }
 
   @Override
   public TypeExpr visitTernaryExpr(Ternary expr) {
-    final TypeExpr condition = type(expr.condition);
-    if (!isBoolean(condition))
-      throw new TypingError("Ternary condition is not a Boolean.", 0, 0, "Unavailable");
+    checkTernaryCondition(type(expr.condition));
 
     final TypeExpr thenType = type(expr.thenBranch);
     final TypeExpr elseType = type(expr.elseBranch);
-
-    if (!matchTypeExpr(thenType, elseType))
-      throw new TypingError("Unary '!' requires a Boolean", 0, 0, "Unavailable");
-
-    return new TypeExpr(thenType.type);
+    return ternaryType(thenType, elseType);
   }
 
   @Override
   public TypeExpr visitThisExpr(This expr) {
-    return null;
+    return new ClassInstanceTypeExpr(currentClass);
   }
 
   @Override
   public TypeExpr visitUnaryExpr(Unary expr) {
-    final TypeExpr type = type(expr.right);
-
-    switch (expr.operator.type) {
-      case BANG -> {
-        if (!isBoolean(type)) {
-          throw new TypingError(
-              "Unary '!' requires a Boolean",
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-      }
-      case MINUS -> {
-        if (!isNumber(type)) {
-          throw new TypingError(
-              "Unary '-' requires a Number",
-              expr.operator.line,
-              expr.operator.col,
-              lexer.getSourceLine(expr.operator.line));
-        }
-      }
-    }
-
-    return type;
+    return unaryType(expr, type(expr.right));
   }
 
   @Override
@@ -348,7 +230,7 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
   @Override
   public Void visitBlockStmt(Block stmt) {
     beginScope();
-    check(stmt.statements);
+    checkAll(stmt.statements);
     endScope();
     return null;
   }
@@ -366,18 +248,22 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
 
     if (superclass != null) {
       beginScope();
-      scopes.peek().put("SUPER", superclass);
+      scopes.peek().put("super", superclass);
     }
 
     beginScope();
 
     for (Function method : stmt.methods) {
-      final FunctionTypeExpr type =
-          new FunctionTypeExpr(method.name.lexeme, method.returnType, method.parameters);
-      checkFunction(method, type);
+      final FunctionTypeExpr type = Types.function(method.returnType, method.parameters);
+      if (bodies != null) {
+        bodies.add(new Body(method, type, klass, superclass));
+      } else {
+        checkFunction(method, type);
+      }
     }
 
     endScope();
+    if (superclass != null) endScope();
 
     currentFunction = null;
 
@@ -392,19 +278,19 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
 
   @Override
   public Void visitFunctionStmt(Function stmt) {
-    final FunctionTypeExpr type =
-        new FunctionTypeExpr(stmt.name.lexeme, stmt.returnType, stmt.parameters);
+    final FunctionTypeExpr type = Types.function(stmt.returnType, stmt.parameters);
     declare(stmt.name, type);
-    checkFunction(stmt, type);
+    if (bodies != null) {
+      bodies.add(new Body(stmt, type, null, null));
+    } else {
+      checkFunction(stmt, type);
+    }
     return null;
   }
 
   @Override
   public Void visitIfStmt(If stmt) {
-    final TypeExpr condition = type(stmt.condition);
-    if (!isBoolean(condition)) {
-      throw new TypingError("If statement condition not a boolean", 0, 0, "Unavailable");
-    }
+    checkIfCondition(type(stmt.condition));
 
     check(stmt.thenBranch);
     if (stmt.elseBranch != null) check(stmt.elseBranch);
@@ -412,89 +298,36 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
     return null;
   }
 
+  @Override
+  public Void visitInvalidStmt(Invalid stmt) {
+    return null;
+  }
+
   @Override
   public Void visitReturnStmt(Return stmt) {
-    TypeExpr returnType = new TypeExpr(Type.VOID);
-    if (stmt.value != null) returnType = this.type(stmt.value);
+    // Top-level returns are rejected by the resolver
+    if (currentFunction == null) return null;
 
-    if (!matchTypeExpr(returnType, currentFunction.returnType)) {
-      throw new TypingError(
-          String.format(
-              "Return value's type, '%s', does not match that of the function's type, '%s'",
-              currentFunction.returnType, returnType),
-          stmt.keyword.line,
-          stmt.keyword.col,
-          lexer.getSourceLine(stmt.keyword.line));
-    }
+    TypeExpr returnType = Types.of(Type.VOID);
+    if (stmt.value != null) returnType = this.type(stmt.value);
+    checkReturn(stmt, returnType, currentFunction);
     return null;
   }
 
   @Override
   public Void visitValStmt(Val stmt) {
-    final TypeExpr initializer = type(stmt.initializer);
-    final TypeExpr type = variableType(stmt, initializer);
-
-    declare(stmt.name, type);
+    final TypeExpr initializer = stmt.initializer != null ? type(stmt.initializer) : null;
+    declare(stmt.name, variableType(stmt, initializer));
     return null;
   }
 
   @Override
   public Void visitWhileStmt(While stmt) {
-    final TypeExpr condition = type(stmt.condition);
-    if (!isBoolean(condition)) {
-      throw new TypingError(
-          String.format("While statement condition, type '%s', not a boolean", condition),
-          0,
-          0,
-          "Unavailable");
-    }
+    checkWhileCondition(type(stmt.condition));
     check(stmt.body);
     return null;
   }
 
-  /**
-   * Determines the type of a variable declared with the 'val' keyword. If the type is not
-   * explicitly specified, it uses the type of the initializer.
-   *
-   * @param stmt The 'val' statement representing the variable declaration.
-   * @param initializer The type of the initializer expression.
-   * @return The resolved type of the variable.
-   * @throws TypingError If the declared type and the initializer type do not match, or if the
-   *     declared type is not a valid class type.
-   */
-  private TypeExpr variableType(Val stmt, TypeExpr initializer) {
-    TypeExpr type = stmt.type;
-    if (stmt.type == null) type = initializer;
-
-    if (type.type == Type.IDENTIFIER) {
-      TypeExpr object = lookupVariableType(((IdentifierTypeExpr) type).identifier);
-      if (!isObject(object)) {
-        throw new TypingError(
-            String.format(
-                "Type '%s' is not a class", ((IdentifierTypeExpr) type).identifier.lexeme),
-            ((IdentifierTypeExpr) type).identifier.line,
-            ((IdentifierTypeExpr) type).identifier.col,
-            lexer.getSourceLine(((IdentifierTypeExpr) type).identifier.line));
-      }
-
-      if (object instanceof ClassTypeExpr) {
-        type = new ClassInstanceTypeExpr((ClassTypeExpr) object);
-      }
-    }
-
-    if (!matchTypeExpr(type, initializer)) {
-      throw new TypingError(
-          String.format(
-              "Variable type '%s' and initializer type '%s' do not match",
-              type.type.toString(), initializer.type.toString()),
-          stmt.name.line,
-          stmt.name.col,
-          lexer.getSourceLine(stmt.name.line));
-    }
-
-    return type;
-  }
-
   /**
    * Determines the type of a variable by looking up its name.
    *
@@ -502,7 +335,8 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
    * @return The type of the variable.
    * @throws TypingError If the variable is not defined.
    */
-  private TypeExpr lookupVariableType(Token name) {
+  @Override
+  protected TypeExpr lookupVariableType(Token name) {
     for (int i = scopes.size() - 1; i >= 0; i--) {
       final Map<String, TypeExpr> scope = scopes.get(i);
       if (scope.containsKey(name.lexeme)) {
@@ -547,22 +381,55 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
   }
 
   /**
-   * Determines the type of an expression by visiting it.
+   * Determines the type of an expression by visiting it, and records it on the expression.
    *
    * @param expr The expression to be typed.
    * @return The type of the expression.
    */
   private TypeExpr type(Expr expr) {
-    return expr.accept(this);
+    final TypeExpr type = expr.accept(this);
+    expr.resolvedType = type;
+    return type;
   }
 
   /**
-   * Checks the type of a statement by visiting it.
+   * Checks a list of statements in the current scope.
+   *
+   * @param statements The statements to check.
+   */
+  private void checkAll(List<Stmt> statements) {
+    for (Stmt statement : statements) {
+      check(statement);
+    }
+  }
+
+  /**
+   * Checks the type of a statement by visiting it. In diagnostics mode an error is reported, the
+   * scopes and context opened by the statement are unwound, and checking carries on with the next
+   * statement.
    *
    * @param stmt The statement to be type-checked.
    */
   private void check(Stmt stmt) {
-    stmt.accept(this);
+    if (diagnostics == null) {
+      stmt.accept(this);
+      return;
+    }
+    if (diagnostics.isFull()) return;
+
+    final int depth = scopes.size();
+    final ClassTypeExpr enclosingClass = currentClass;
+    final FunctionTypeExpr enclosingFunction = currentFunction;
+    try {
+      stmt.accept(this);
+    } catch (TypingError error) {
+      diagnostics.report(Diagnostic.of(error));
+      while (scopes.size() > depth) endScope();
+      currentClass = enclosingClass;
+      currentFunction = enclosingFunction;
+
+      if (stmt instanceof Val val) declare(val.name, recoveredType(val));
+    }
   }
 
   /**
@@ -577,58 +444,59 @@ public class Typing implements ExprVisitor<TypeExpr>, StmtVisitor<Void> {
     for (Parameter param : stmt.parameters) {
       declare(param.name, param.type);
     }
-    check(stmt.body);
+    checkAll(stmt.body);
     endScope();
     currentFunction = null;
   }
 
   /**
-   * Checks if a given type expression represents a Boolean type.
-   *
-   * @param typeExpr The type expression to check.
-   * @return True if the type expression represents a Boolean type, otherwise false.
+   * The body of a top-level function or method, checked on its own once the top-level statements
+   * have been. Each body gets a checker with its own scopes, and its errors are kept until every
+   * body is done so they can be merged in order.
    */
-  private boolean isBoolean(TypeExpr typeExpr) {
-    return typeExpr.type == Type.BOOLEAN;
-  }
+  private final class Body implements Runnable {
+    /** The function or method. */
+    private final Function function;
 
-  /**
-   * Checks if a given type expression represents a callable type (class or function).
-   *
-   * @param typeExpr The type expression to check.
-   * @return True if the type expression represents a callable type, otherwise false.
-   */
-  private boolean isCallable(TypeExpr typeExpr) {
-    return typeExpr.type == Type.CLASS || typeExpr.type == Type.FUNCTION;
-  }
+    /** The type of the function. */
+    private final FunctionTypeExpr type;
 
-  /**
-   * Checks if a given type expression represents a class instance.
-   *
-   * @param typeExpr The type expression to check.
-   * @return True if the type expression represents a class instance, otherwise false.
-   */
-  private boolean isInstance(TypeExpr typeExpr) {
-    return typeExpr.type == Type.CLASS_INSTANCE;
-  }
+    /** The class declaring the method, or null for a function. */
+    private final ClassTypeExpr klass;
 
-  /**
-   * Checks if a given type expression represents a numeric type.
-   *
-   * @param typeExpr The type expression to check.
-   * @return True if the type expression represents a numeric type, otherwise false.
-   */
-  private boolean isNumber(TypeExpr typeExpr) {
-    return typeExpr.type == Type.NUMBER;
-  }
+    /** The superclass of the class declaring the method, or null if it has none. */
+    private final ClassTypeExpr superclass;
 
-  /**
-   * Checks if a given type expression represents a class type.
-   *
-   * @param typeExpr The type expression to check.
-   * @return True if the type expression represents a class type, otherwise false.
-   */
-  private boolean isObject(TypeExpr typeExpr) {
-    return typeExpr.type == Type.CLASS;
+    /** The errors found in diagnostics mode, or null otherwise. */
+    private final Diagnostics diagnostics;
+
+    /** The error that stopped the check outside diagnostics mode, or null if there was none. */
+    private RuntimeException error;
+
+    Body(Function function, FunctionTypeExpr type, ClassTypeExpr klass, ClassTypeExpr superclass) {
+      this.function = function;
+      this.type = type;
+      this.klass = klass;
+      this.superclass = superclass;
+      this.diagnostics =
+          Typing.this.diagnostics != null ? new Diagnostics(Typing.this.diagnostics.limit) : null;
+    }
+
+    @Override
+    public void run() {
+      final Typing checker = new Typing(Typing.this, diagnostics);
+      checker.currentClass = klass;
+      if (superclass != null) {
+        checker.beginScope();
+        checker.scopes.peek().put("super", superclass);
+      }
+      if (klass != null) checker.beginScope();
+
+      try {
+        checker.checkFunction(function, type);
+      } catch (RuntimeException error) {
+        this.error = error;
+      }
+    }
   }
 }
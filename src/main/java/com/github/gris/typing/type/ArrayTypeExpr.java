@@ -0,0 +1,72 @@
+package com.github.gris.typing.type;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+
+import java.util.List;
+
+/** Represents the type of an array, written {@code Array<Element>}. */
+public class ArrayTypeExpr extends TypeExpr {
+  /** The type of the elements of the array. */
+  public final TypeExpr element;
+
+  /** Whether this is the shared instance for its element type. */
+  final boolean canonical;
+
+  /**
+   * Constructs an ArrayTypeExpr with the specified element type.
+   *
+   * @param element The type of the elements of the array.
+   */
+  public ArrayTypeExpr(TypeExpr element) {
+    this(element, false);
+  }
+
+  /**
+   * Constructs an ArrayTypeExpr, marking whether it is the shared instance for its element type.
+   *
+   * @param element The type of the elements of the array.
+   * @param canonical Whether this is the shared instance.
+   */
+  ArrayTypeExpr(TypeExpr element, boolean canonical) {
+    super(Type.ARRAY);
+    this.element = element;
+    this.canonical = canonical;
+  }
+
+  /**
+   * Checks if this array type matches another. Arrays match when their elements do, so an array
+   * whose elements may be of any type matches every array.
+   *
+   * @param other The array type to match against.
+   * @return True if the array types match, false otherwise.
+   */
+  public boolean matchElement(ArrayTypeExpr other) {
+    return matchTypeExpr(element, other.element);
+  }
+
+  /**
+   * Retrieves the type of one of the array's methods: {@code get(index)}, {@code set(index,
+   * value)}, {@code push(value)} and {@code size()}.
+   *
+   * @param name The name of the method.
+   * @return The method's type, or null if arrays have no method of that name.
+   */
+  public FunctionTypeExpr getMethod(String name) {
+    final TypeExpr number = Types.of(Type.NUMBER);
+    final TypeExpr none = Types.of(Type.VOID);
+    return switch (name) {
+      case "get" -> Types.function(element, List.of(parameter("index", number)));
+      case "set" ->
+          Types.function(none, List.of(parameter("index", number), parameter("value", element)));
+      case "push" -> Types.function(none, List.of(parameter("value", element)));
+      case "size" -> Types.function(number, List.of());
+      default -> null;
+    };
+  }
+
+  private static Parameter parameter(String name, TypeExpr type) {
+    return new Parameter(new Token(TokenType.IDENTIFIER, name, null, -1, -1), type);
+  }
+}
@@ -0,0 +1,70 @@
+package com.github.gris.typing.type;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+
+import java.util.List;
+
+/** Represents the type of a channel between tasks, written {@code Channel<Element>}. */
+public class ChannelTypeExpr extends TypeExpr {
+  /** The type of the values sent over the channel. */
+  public final TypeExpr element;
+
+  /** Whether this is the shared instance for its element type. */
+  final boolean canonical;
+
+  /**
+   * Constructs a ChannelTypeExpr with the specified element type.
+   *
+   * @param element The type of the values sent over the channel.
+   */
+  public ChannelTypeExpr(TypeExpr element) {
+    this(element, false);
+  }
+
+  /**
+   * Constructs a ChannelTypeExpr, marking whether it is the shared instance for its element type.
+   *
+   * @param element The type of the values sent over the channel.
+   * @param canonical Whether this is the shared instance.
+   */
+  ChannelTypeExpr(TypeExpr element, boolean canonical) {
+    super(Type.CHANNEL);
+    this.element = element;
+    this.canonical = canonical;
+  }
+
+  /**
+   * Checks if this channel type matches another. Channels match when their elements do, so a
+   * channel whose values may be of any type matches every channel.
+   *
+   * @param other The channel type to match against.
+   * @return True if the channel types match, false otherwise.
+   */
+  public boolean matchElement(ChannelTypeExpr other) {
+    return matchTypeExpr(element, other.element);
+  }
+
+  /**
+   * Retrieves the type of one of the channel's methods: {@code send(value)}, {@code hasNext()},
+   * {@code receive()} and {@code close()}.
+   *
+   * @param name The name of the method.
+   * @return The method's type, or null if channels have no method of that name.
+   */
+  public FunctionTypeExpr getMethod(String name) {
+    final TypeExpr none = Types.of(Type.VOID);
+    return switch (name) {
+      case "send" -> Types.function(none, List.of(parameter("value", element)));
+      case "hasNext" -> Types.function(Types.of(Type.BOOLEAN), List.of());
+      case "receive" -> Types.function(element, List.of());
+      case "close" -> Types.function(none, List.of());
+      default -> null;
+    };
+  }
+
+  private static Parameter parameter(String name, TypeExpr type) {
+    return new Parameter(new Token(TokenType.IDENTIFIER, name, null, -1, -1), type);
+  }
+}
@@ -3,9 +3,12 @@ package com.github.gris.typing.type;
 import com.github.gris.ast.stmt.Class;
 import com.github.gris.ast.stmt.Function;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /** Represents a type expression for a class. */
 public class ClassTypeExpr extends TypeExpr {
@@ -21,6 +24,9 @@ public class ClassTypeExpr extends TypeExpr {
   /** The superclass type expression. */
   public final ClassTypeExpr superclass;
 
+  /** Every class this class inherits from, so subtype checks don't walk the superclass chain. */
+  private final Set<ClassTypeExpr> ancestors;
+
   /**
    * Constructs a ClassTypeExpr with the specified class and superclass type expressions.
    *
@@ -32,15 +38,20 @@ public class ClassTypeExpr extends TypeExpr {
 
     this.name = klass.name.lexeme;
     this.superclass = superclass;
+    if (superclass == null) {
+      this.ancestors = Set.of();
+    } else {
+      this.ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+      this.ancestors.addAll(superclass.ancestors);
+      this.ancestors.add(superclass);
+    }
 
     for (Function method : klass.methods) {
+      final FunctionTypeExpr type = Types.function(method.returnType, method.parameters);
       if (Objects.equals(method.name.lexeme, "constructor")) {
-        this.initializer =
-            new FunctionTypeExpr(method.name.lexeme, method.returnType, method.parameters);
+        this.initializer = type;
       }
-      this.methods.put(
-          method.name.lexeme,
-          new FunctionTypeExpr(method.name.lexeme, method.returnType, method.parameters));
+      this.methods.put(method.name.lexeme, type);
     }
   }
 
@@ -52,12 +63,7 @@ public class ClassTypeExpr extends TypeExpr {
    *     false otherwise.
    */
   public boolean isSuperOf(ClassTypeExpr typeExpr) {
-    ClassTypeExpr superclass = typeExpr.superclass;
-    while (superclass != null) {
-      if (this == superclass) return true;
-      superclass = superclass.superclass;
-    }
-    return false;
+    return typeExpr.ancestors.contains(this);
   }
 
   /**
@@ -67,7 +73,7 @@ public class ClassTypeExpr extends TypeExpr {
    * @return True if this class type expression or its superclass has the method, false otherwise.
    */
   public boolean hasMethod(String name) {
-    return this.methods.containsKey(name) || superclass.hasMethod(name);
+    return this.methods.containsKey(name) || (superclass != null && superclass.hasMethod(name));
   }
 
   /**
@@ -80,7 +86,7 @@ public class ClassTypeExpr extends TypeExpr {
     if (methods.get(name) != null) {
       return methods.get(name);
     }
-    return superclass.getMethod(name);
+    return superclass == null ? null : superclass.getMethod(name);
   }
 
   /**
@@ -5,34 +5,42 @@ import com.github.gris.ast.Parameter;
 import java.util.ArrayList;
 import java.util.List;
 
-/** Represents a type expression for a function. */
+/**
+ * Represents a type expression for a function: its return and parameter types. The name of a
+ * function is not part of its type, and is taken from its declaration where needed.
+ */
 public class FunctionTypeExpr extends TypeExpr {
-  /** The name of the function. */
-  public final String name;
-
   /** The return type expression of the function. */
   public final TypeExpr returnType;
 
   /** The list of parameter type expressions of the function. */
   public final List<TypeExpr> parameters;
 
+  /** Whether this is the instance shared by {@link Types} for its signature. */
+  final boolean canonical;
+
   /**
-   * Constructs a FunctionTypeExpr with the specified name, return type, and parameter types.
+   * Constructs a FunctionTypeExpr with the specified return type and parameter types.
    *
-   * @param name The name of the function.
    * @param returnType The return type expression of the function.
    * @param parameters The list of parameter type expressions of the function.
    */
-  public FunctionTypeExpr(String name, TypeExpr returnType, List<Parameter> parameters) {
-    super(Type.FUNCTION);
-    this.name = name;
-    this.returnType = returnType == null ? new TypeExpr(Type.VOID) : returnType;
+  public FunctionTypeExpr(TypeExpr returnType, List<Parameter> parameters) {
+    this(returnType == null ? Types.of(Type.VOID) : returnType, types(parameters), false);
+  }
 
-    List<TypeExpr> typedParameters = new ArrayList<>();
-    for (Parameter parameter : parameters) {
-      typedParameters.add(parameter.type);
-    }
-    this.parameters = typedParameters;
+  /**
+   * Constructs a FunctionTypeExpr from parameter types, without copying them.
+   *
+   * @param returnType The return type expression of the function.
+   * @param parameters The parameter type expressions of the function.
+   * @param canonical Whether the type is shared by {@link Types}.
+   */
+  FunctionTypeExpr(TypeExpr returnType, List<TypeExpr> parameters, boolean canonical) {
+    super(Type.FUNCTION);
+    this.returnType = returnType;
+    this.parameters = parameters;
+    this.canonical = canonical;
   }
 
   /**
@@ -42,6 +50,7 @@ public class FunctionTypeExpr extends TypeExpr {
    * @return True if the signatures match, false otherwise.
    */
   public boolean matchSignature(FunctionTypeExpr func) {
+    if (this == func) return true;
     if (matchTypeExpr(this.returnType, func.returnType)) {
       return matchParams(func.parameters);
     }
@@ -64,4 +73,18 @@ public class FunctionTypeExpr extends TypeExpr {
 
     return true;
   }
+
+  /**
+   * Collects the types of a list of parameters.
+   *
+   * @param parameters The parameters.
+   * @return Their types, in order.
+   */
+  private static List<TypeExpr> types(List<Parameter> parameters) {
+    final List<TypeExpr> types = new ArrayList<>(parameters.size());
+    for (Parameter parameter : parameters) {
+      types.add(parameter.type);
+    }
+    return types;
+  }
 }
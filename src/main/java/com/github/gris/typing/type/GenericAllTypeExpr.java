@@ -6,11 +6,15 @@ public class GenericAllTypeExpr extends GenericTypeExpr {
   /** Constructs a GenericAllTypeExpr that includes all built-in types. */
   public GenericAllTypeExpr() {
     super(
+        Type.ARRAY,
         Type.BOOLEAN,
+        Type.CHANNEL,
         Type.CLASS,
         Type.CLASS_INSTANCE,
+        Type.FILE,
         Type.FUNCTION,
         Type.IDENTIFIER,
+        Type.MAP,
         Type.NUMBER,
         Type.STRING,
         Type.VOID);
@@ -0,0 +1,79 @@
+package com.github.gris.typing.type;
+
+import com.github.gris.ast.Parameter;
+import com.github.gris.lexer.Token;
+import com.github.gris.lexer.TokenType;
+
+import java.util.List;
+
+/** Represents the type of a map, written {@code Map<Key, Value>}. */
+public class MapTypeExpr extends TypeExpr {
+  /** The type of the keys of the map, a number or a string. */
+  public final TypeExpr key;
+
+  /** The type of the values of the map. */
+  public final TypeExpr value;
+
+  /** Whether this is the shared instance for its key and value types. */
+  final boolean canonical;
+
+  /**
+   * Constructs a MapTypeExpr with the specified key and value types.
+   *
+   * @param key The type of the keys of the map.
+   * @param value The type of the values of the map.
+   */
+  public MapTypeExpr(TypeExpr key, TypeExpr value) {
+    this(key, value, false);
+  }
+
+  /**
+   * Constructs a MapTypeExpr, marking whether it is the shared instance for its key and value
+   * types.
+   *
+   * @param key The type of the keys of the map.
+   * @param value The type of the values of the map.
+   * @param canonical Whether this is the shared instance.
+   */
+  MapTypeExpr(TypeExpr key, TypeExpr value, boolean canonical) {
+    super(Type.MAP);
+    this.key = key;
+    this.value = value;
+    this.canonical = canonical;
+  }
+
+  /**
+   * Checks if this map type matches another. Maps match when their keys and their values do.
+   *
+   * @param other The map type to match against.
+   * @return True if the map types match, false otherwise.
+   */
+  public boolean matchEntries(MapTypeExpr other) {
+    return matchTypeExpr(key, other.key) && matchTypeExpr(value, other.value);
+  }
+
+  /**
+   * Retrieves the type of one of the map's methods: {@code get(key)}, {@code set(key, value)},
+   * {@code has(key)}, {@code remove(key)}, {@code size()} and {@code keys()}.
+   *
+   * @param name The name of the method.
+   * @return The method's type, or null if maps have no method of that name.
+   */
+  public FunctionTypeExpr getMethod(String name) {
+    final TypeExpr bool = Types.of(Type.BOOLEAN);
+    return switch (name) {
+      case "get" -> Types.function(value, List.of(parameter("key", key)));
+      case "set" ->
+          Types.function(
+              Types.of(Type.VOID), List.of(parameter("key", key), parameter("value", value)));
+      case "has", "remove" -> Types.function(bool, List.of(parameter("key", key)));
+      case "size" -> Types.function(Types.of(Type.NUMBER), List.of());
+      case "keys" -> Types.function(Types.array(key), List.of());
+      default -> null;
+    };
+  }
+
+  private static Parameter parameter(String name, TypeExpr type) {
+    return new Parameter(new Token(TokenType.IDENTIFIER, name, null, -1, -1), type);
+  }
+}
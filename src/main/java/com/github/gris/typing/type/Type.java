@@ -2,16 +2,24 @@ package com.github.gris.typing.type;
 
 /** Enum representing different types in Gris. */
 public enum Type {
+  ARRAY,
+
   BOOLEAN,
 
+  CHANNEL,
+
   CLASS,
 
   CLASS_INSTANCE,
 
+  FILE,
+
   FUNCTION,
 
   IDENTIFIER,
 
+  MAP,
+
   NUMBER,
 
   STRING,
@@ -25,9 +25,25 @@ public class TypeExpr {
    * @return True if the type expressions match, false otherwise.
    */
   public static boolean matchTypeExpr(TypeExpr t1, TypeExpr t2) {
+    if (t1 == t2) return true;
     if (t1 instanceof GenericTypeExpr) return ((GenericTypeExpr) t1).match(t2.type);
     if (t2 instanceof GenericTypeExpr) return ((GenericTypeExpr) t2).match(t1.type);
 
+    if (t1 instanceof ArrayTypeExpr) {
+      if (!(t2 instanceof ArrayTypeExpr)) return false;
+      return ((ArrayTypeExpr) t1).matchElement((ArrayTypeExpr) t2);
+    }
+
+    if (t1 instanceof ChannelTypeExpr) {
+      if (!(t2 instanceof ChannelTypeExpr)) return false;
+      return ((ChannelTypeExpr) t1).matchElement((ChannelTypeExpr) t2);
+    }
+
+    if (t1 instanceof MapTypeExpr) {
+      if (!(t2 instanceof MapTypeExpr)) return false;
+      return ((MapTypeExpr) t1).matchEntries((MapTypeExpr) t2);
+    }
+
     if (t1 instanceof FunctionTypeExpr) {
       if (!(t2 instanceof FunctionTypeExpr)) return false;
       return ((FunctionTypeExpr) t1).matchSignature(((FunctionTypeExpr) t2));
@@ -0,0 +1,171 @@
+package com.github.gris.typing.type;
+
+import com.github.gris.ast.Parameter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The canonical type expressions shared by the parser and the type checker. Primitive types have a
+ * single instance each, and array, map and function types are hash-consed by their parts when
+ * every part is itself canonical, so equal types are usually the same object and can be compared
+ * by identity. Function types hold no name, so the tables grow with the distinct type shapes of
+ * the programs checked rather than with their declarations.
+ */
+public final class Types {
+  /** The instance of each primitive type, indexed by ordinal. */
+  private static final TypeExpr[] PRIMITIVES = new TypeExpr[Type.values().length];
+
+  /** The type matching every built-in type. */
+  private static final GenericAllTypeExpr ALL = new GenericAllTypeExpr();
+
+  /** The interned function types, by return and parameter types. */
+  private static final Map<Signature, FunctionTypeExpr> FUNCTIONS = new ConcurrentHashMap<>();
+
+  /** The interned array types, by element type. */
+  private static final Map<TypeExpr, ArrayTypeExpr> ARRAYS = new ConcurrentHashMap<>();
+
+  /** The interned channel types, by element type. */
+  private static final Map<TypeExpr, ChannelTypeExpr> CHANNELS = new ConcurrentHashMap<>();
+
+  /** The interned map types, by key and value type. */
+  private static final Map<Entry, MapTypeExpr> MAPS = new ConcurrentHashMap<>();
+
+  static {
+    for (Type type : Type.values()) {
+      PRIMITIVES[type.ordinal()] = new TypeExpr(type);
+    }
+  }
+
+  private Types() {}
+
+  /**
+   * Returns the canonical type expression of a type.
+   *
+   * @param type The type.
+   * @return The shared type expression.
+   */
+  public static TypeExpr of(Type type) {
+    return PRIMITIVES[type.ordinal()];
+  }
+
+  /**
+   * Returns the canonical type matching every built-in type.
+   *
+   * @return The shared type expression.
+   */
+  public static GenericAllTypeExpr all() {
+    return ALL;
+  }
+
+  /**
+   * Returns the type of an array, shared with every other array of the same element type. Arrays
+   * of a class are not shared, as the class depends on the scope.
+   *
+   * @param element The type of the elements.
+   * @return The array type.
+   */
+  public static ArrayTypeExpr array(TypeExpr element) {
+    if (!isCanonical(element)) return new ArrayTypeExpr(element);
+    return ARRAYS.computeIfAbsent(element, key -> new ArrayTypeExpr(key, true));
+  }
+
+  /**
+   * Returns the type of a channel, shared with every other channel of the same element type.
+   * Channels of a class are not shared, as the class depends on the scope.
+   *
+   * @param element The type of the values sent over the channel.
+   * @return The channel type.
+   */
+  public static ChannelTypeExpr channel(TypeExpr element) {
+    if (!isCanonical(element)) return new ChannelTypeExpr(element);
+    return CHANNELS.computeIfAbsent(element, key -> new ChannelTypeExpr(key, true));
+  }
+
+  /**
+   * Returns the type of one of a file's methods: {@code hasLine()}, {@code readLine()} and {@code
+   * close()}.
+   *
+   * @param name The name of the method.
+   * @return The method's type, or null if files have no method of that name.
+   */
+  public static FunctionTypeExpr fileMethod(String name) {
+    return switch (name) {
+      case "hasLine" -> function(of(Type.BOOLEAN), List.of());
+      case "readLine" -> function(of(Type.STRING), List.of());
+      case "close" -> function(of(Type.VOID), List.of());
+      default -> null;
+    };
+  }
+
+  /**
+   * Returns the type of a map, shared with every other map of the same key and value types. Maps
+   * holding a class are not shared, as the class depends on the scope.
+   *
+   * @param key The type of the keys.
+   * @param value The type of the values.
+   * @return The map type.
+   */
+  public static MapTypeExpr map(TypeExpr key, TypeExpr value) {
+    if (!isCanonical(key) || !isCanonical(value)) return new MapTypeExpr(key, value);
+    return MAPS.computeIfAbsent(new Entry(key, value), entry -> new MapTypeExpr(key, value, true));
+  }
+
+  /**
+   * Returns the type of a function, shared with every other function of the same signature,
+   * whatever its name. Signatures naming a class are not shared, as the class depends on the
+   * scope.
+   *
+   * @param returnType The declared return type, or null for Void.
+   * @param parameters The parameters of the function.
+   * @return The function type.
+   */
+  public static FunctionTypeExpr function(TypeExpr returnType, List<Parameter> parameters) {
+    final TypeExpr returns = returnType == null ? of(Type.VOID) : returnType;
+    final List<TypeExpr> types = new ArrayList<>(parameters.size());
+    boolean canonical = isCanonical(returns);
+    for (Parameter parameter : parameters) {
+      types.add(parameter.type);
+      canonical &= isCanonical(parameter.type);
+    }
+    if (!canonical) return new FunctionTypeExpr(returns, types, false);
+
+    final Signature signature = new Signature(returns, types);
+    final FunctionTypeExpr interned = FUNCTIONS.get(signature);
+    if (interned != null) return interned;
+    return FUNCTIONS.computeIfAbsent(
+        signature, key -> new FunctionTypeExpr(returns, List.copyOf(types), true));
+  }
+
+  /**
+   * Checks if a type expression is a shared instance.
+   *
+   * @param typeExpr The type expression to check.
+   * @return True if equal type expressions are the same object.
+   */
+  private static boolean isCanonical(TypeExpr typeExpr) {
+    if (typeExpr instanceof FunctionTypeExpr function) return function.canonical;
+    if (typeExpr instanceof ArrayTypeExpr array) return array.canonical;
+    if (typeExpr instanceof ChannelTypeExpr channel) return channel.canonical;
+    if (typeExpr instanceof MapTypeExpr map) return map.canonical;
+    return typeExpr == ALL || typeExpr == PRIMITIVES[typeExpr.type.ordinal()];
+  }
+
+  /**
+   * The key of an interned function type. Its parts are canonical, so they compare by identity.
+   *
+   * @param returnType The return type.
+   * @param parameters The parameter types.
+   */
+  private record Signature(TypeExpr returnType, List<TypeExpr> parameters) {}
+
+  /**
+   * The key of an interned map type. Its parts are canonical, so they compare by identity.
+   *
+   * @param key The type of the keys.
+   * @param value The type of the values.
+   */
+  private record Entry(TypeExpr key, TypeExpr value) {}
+}
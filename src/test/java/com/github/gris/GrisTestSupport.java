@@ -0,0 +1,77 @@
+package com.github.gris;
+
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.Typing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Helpers shared by the JUnit tests that run Gris programs and check what they print.
+ */
+public final class GrisTestSupport {
+
+    private GrisTestSupport() {}
+
+    /**
+     * Lexes, parses, resolves, type checks and runs a program.
+     *
+     * @param source The source of the program.
+     * @return What the program printed, trimmed, with line feeds as line endings.
+     */
+    public static String run(String source) {
+        return run(source, false);
+    }
+
+    /**
+     * Lexes, parses, resolves, type checks and runs a program, optionally sharing its globals
+     * with the tasks it spawns.
+     *
+     * @param source The source of the program.
+     * @param sharedGlobals Whether spawned tasks share the program's globals.
+     * @return What the program printed, trimmed, with line feeds as line endings.
+     */
+    public static String run(String source, boolean sharedGlobals) {
+        Lexer lexer = new Lexer(source);
+        Interpreter interpreter = new Interpreter(lexer, sharedGlobals);
+        return interpret(interpreter, check(lexer, interpreter));
+    }
+
+    /**
+     * Parses, resolves and type checks a program for an interpreter.
+     *
+     * @param lexer The lexer over the source of the program.
+     * @param interpreter The interpreter receiving the resolver's tables.
+     * @return The checked statements.
+     */
+    public static List<Stmt> check(Lexer lexer, Interpreter interpreter) {
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        new Typing(lexer, interpreter).check(statements);
+        return statements;
+    }
+
+    /**
+     * Runs statements on an interpreter, capturing what they print.
+     *
+     * @param interpreter The interpreter to run the statements on.
+     * @param statements The statements to run.
+     * @return What the statements printed, trimmed, with line feeds as line endings.
+     */
+    public static String interpret(Interpreter interpreter, List<Stmt> statements) {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            interpreter.interpret(statements);
+        } finally {
+            System.setOut(stdout);
+        }
+        return output.toString().trim().replace("\r\n", "\n");
+    }
+}
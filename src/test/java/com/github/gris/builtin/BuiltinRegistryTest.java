@@ -0,0 +1,62 @@
+package com.github.gris.builtin;
+
+import com.github.gris.typing.type.FunctionTypeExpr;
+import com.github.gris.typing.type.Type;
+import com.github.gris.typing.type.TypeExpr;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link BuiltinRegistry}.
+ */
+class BuiltinRegistryTest {
+
+    /**
+     * Tests if the registry is built once and lists the core built-ins first.
+     */
+    @Test
+    void sharesCoreBuiltins() {
+        List<Builtin> builtins = BuiltinRegistry.builtins();
+
+        assertSame(builtins, BuiltinRegistry.builtins());
+        assertEquals(
+                List.of(
+                        "abs", "array", "channel", "charAt", "codeAt", "len", "map", "openFile",
+                        "parallelMap", "parallelReduce", "print", "println", "readLines", "spawn",
+                        "split", "substring", "trim"),
+                builtins.stream().limit(17).map(builtin -> builtin.name).toList());
+        assertThrows(UnsupportedOperationException.class, () -> builtins.add(builtins.get(0)));
+    }
+
+    /**
+     * Tests if a provider's built-ins are registered after the core ones.
+     */
+    @Test
+    void addsProvidedBuiltins() {
+        List<Builtin> builtins = BuiltinRegistry.load(List.of(() -> List.of(answer("answer"))));
+
+        assertEquals(18, builtins.size());
+        assertEquals("answer", builtins.get(17).name);
+    }
+
+    /**
+     * Tests if a provider redefining a built-in is rejected.
+     */
+    @Test
+    void rejectsDuplicateName() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> BuiltinRegistry.load(List.of(() -> List.of(answer("len")))));
+    }
+
+    private static Builtin answer(String name) {
+        return new Builtin(
+                name,
+                new Len(),
+                new FunctionTypeExpr(new TypeExpr(Type.NUMBER), new ArrayList<>()));
+    }
+}
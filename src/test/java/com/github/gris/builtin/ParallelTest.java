@@ -0,0 +1,83 @@
+package com.github.gris.builtin;
+
+import com.github.gris.runtime.RuntimeError;
+import com.github.gris.typing.TypingError;
+import org.junit.jupiter.api.Test;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the "parallelMap" and "parallelReduce" built-in functions.
+ */
+class ParallelTest {
+
+    /**
+     * Tests if mapping and reducing in parallel give the results of a sequential loop, in order,
+     * over both counts and arrays.
+     */
+    @Test
+    void matchesSequentialResults() {
+        String source =
+                """
+                val offset: Number = 1;
+                def square(n: Number) -> Number { return n * n + offset; }
+                def add(a: Number, b: Number) -> Number { return a + b; }
+                def join(a: String, b: String) -> String { return a + b; }
+                val squares: Array<Number> = parallelMap(square, 1000);
+                val expected: Number = 0;
+                val i: Number = 0;
+                while (i < 1000) { expected = expected + i * i + 1; i = i + 1; }
+                println(squares.get(999));
+                println(parallelReduce(add, squares, 0) == expected);
+                println(parallelReduce(join, split("a,b,c,d,e", ","), ">"));
+                println(parallelReduce(add, 0, 7));
+                """;
+        assertEquals("998002.0\ntrue\n>abcde\n7.0", run(source));
+    }
+
+    /**
+     * Tests if a function assigning a global changes a copy of it on its worker, leaving the
+     * global of the calling program as it was.
+     */
+    @Test
+    void copiesGlobalsForWorkers() {
+        String source =
+                """
+                val calls: Number = 0;
+                def count(n: Number) -> Number { calls = calls + 1; return calls; }
+                parallelMap(count, 100);
+                println(calls);
+                """;
+        assertEquals("0.0", run(source));
+    }
+
+    /**
+     * Tests if the type checker rejects functions of the wrong arity or types, and results used as
+     * the wrong type, and if runtime errors raised on a worker reach the caller.
+     */
+    @Test
+    void reportsErrors() {
+        assertThrows(
+                TypingError.class,
+                () -> run("def f(a: Number, b: Number) -> Number { return a; }"
+                        + " parallelMap(f, 3);"));
+        assertThrows(
+                TypingError.class,
+                () -> run("def f(s: String) -> Number { return len(s); }"
+                        + " println(parallelMap(f, 4));"));
+        assertThrows(
+                TypingError.class,
+                () -> run("def sq(n: Number) -> Number { return n * n; }"
+                        + " val r: Array<String> = parallelMap(sq, 3);"));
+        assertThrows(
+                TypingError.class,
+                () -> run("def add(a: String, b: String) -> String { return a + b; }"
+                        + " val xs: Array<Number> = parallelMap(abs, 3);"
+                        + " parallelReduce(add, xs, \"x\");"));
+        assertThrows(
+                RuntimeError.class,
+                () -> run("def f(n: Number) -> String { return substring(\"ab\", n, 9); }"
+                        + " parallelMap(f, 3);"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.gris.cache;
+
+import com.github.gris.ast.expr.Call;
+import com.github.gris.ast.expr.Get;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.Typing;
+import com.github.gris.typing.type.ClassInstanceTypeExpr;
+import com.github.gris.typing.type.FunctionTypeExpr;
+import com.github.gris.typing.type.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link ProgramCache}.
+ */
+class ProgramCacheTest {
+
+    private static final String SOURCE =
+            """
+            def fib(n: Number) -> Number {
+                if (n < 2) { return n; }
+                return fib(n - 1) + fib(n - 2);
+            }
+            val total: Number = 0;
+            val i: Number = 0;
+            while (i < 10) { total = total + fib(i); i = i + 1; }
+            println(total > 80 ? "big" : "small");
+            println(total);
+            """;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests if a stored program loads back and runs with the same output as the checked original.
+     */
+    @Test
+    void cachedProgramRunsLikeOriginal() {
+        Path cache = directory.resolve("program.grisc");
+
+        Interpreter original = new Interpreter(new Lexer(SOURCE));
+        List<Stmt> statements = compile(SOURCE, original);
+        String expected = run(original, statements);
+        ProgramCache.store(cache, SOURCE, statements, original);
+
+        Interpreter cached = new Interpreter(new Lexer(SOURCE));
+        List<Stmt> loaded = ProgramCache.load(cache, SOURCE, cached);
+
+        assertNotNull(loaded);
+        assertEquals(expected, run(cached, loaded));
+    }
+
+    /**
+     * Tests if the types resolved by the type checker are restored on the loaded expressions.
+     */
+    @Test
+    void cachedProgramKeepsResolvedTypes() {
+        Path cache = directory.resolve("program.grisc");
+        String source =
+                """
+                class Point { norm(x: Number) -> Number { return x * x; } }
+                val p: Point = Point();
+                val n: Number = p.norm(3);
+                """;
+
+        Interpreter original = new Interpreter(new Lexer(source));
+        ProgramCache.store(cache, source, compile(source, original), original);
+        List<Stmt> loaded = ProgramCache.load(cache, source, new Interpreter(new Lexer(source)));
+
+        assertNotNull(loaded);
+        Call call = (Call) ((Val) loaded.get(2)).initializer;
+        Get method = (Get) call.callee;
+        ClassInstanceTypeExpr receiver =
+                assertInstanceOf(ClassInstanceTypeExpr.class, method.object.resolvedType);
+        assertEquals("Point", receiver.klass.name);
+        assertSame(Type.NUMBER, call.resolvedType.type);
+        assertInstanceOf(FunctionTypeExpr.class, method.resolvedType);
+    }
+
+    /**
+     * Tests if a cache is ignored once its source has changed.
+     */
+    @Test
+    void changedSourceMisses() {
+        Path cache = directory.resolve("program.grisc");
+        Interpreter interpreter = new Interpreter(new Lexer(SOURCE));
+        ProgramCache.store(cache, SOURCE, compile(SOURCE, interpreter), interpreter);
+
+        String changed = SOURCE.replace("10", "11");
+        assertNull(ProgramCache.load(cache, changed, new Interpreter(new Lexer(changed))));
+    }
+
+    /**
+     * Tests if a truncated cache file is treated as a miss rather than an error.
+     */
+    @Test
+    void truncatedCacheMisses() throws IOException {
+        Path cache = directory.resolve("program.grisc");
+        Interpreter interpreter = new Interpreter(new Lexer(SOURCE));
+        ProgramCache.store(cache, SOURCE, compile(SOURCE, interpreter), interpreter);
+
+        byte[] bytes = Files.readAllBytes(cache);
+        Files.write(cache, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertNull(ProgramCache.load(cache, SOURCE, new Interpreter(new Lexer(SOURCE))));
+    }
+
+    private static List<Stmt> compile(String source, Interpreter interpreter) {
+        Lexer lexer = new Lexer(source);
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        new Typing(lexer, interpreter).check(statements);
+        return statements;
+    }
+
+    private static String run(Interpreter interpreter, List<Stmt> statements) {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            interpreter.interpret(statements);
+        } finally {
+            System.setOut(stdout);
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.gris.diagnostic;
+
+import com.github.gris.Gris;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for diagnostics mode, run through {@link Gris#check(String, int)}.
+ */
+class DiagnosticsTest {
+
+    /**
+     * Tests if a valid program produces no diagnostics.
+     */
+    @Test
+    void validProgramHasNoDiagnostics() {
+        String source =
+                """
+                def square(x: Number) -> Number { return x * x; }
+                val y: Number = square(3);
+                println(y);
+                """;
+        assertTrue(Gris.check(source, Diagnostics.DEFAULT_LIMIT).isEmpty());
+    }
+
+    /**
+     * Tests if errors from every phase are collected in one pass, in source order.
+     */
+    @Test
+    void collectsErrorsFromEveryPhase() {
+        String source =
+                """
+                val a: Number = 1 +;
+                val b: Number = "text";
+                println(missing);
+                val c: Number = 1 # 2;
+                """;
+        List<Diagnostic> diagnostics = Gris.check(source, Diagnostics.DEFAULT_LIMIT);
+
+        assertEquals(
+                List.of(Phase.PARSING, Phase.TYPING, Phase.RESOLVING, Phase.LEXING, Phase.PARSING),
+                diagnostics.stream().map(diagnostic -> diagnostic.phase).toList());
+        assertEquals(List.of(1, 2, 3, 4, 4), diagnostics.stream().map(diagnostic -> diagnostic.line).toList());
+    }
+
+    /**
+     * Tests if a failed declaration is still checked against its declared type afterwards.
+     */
+    @Test
+    void failedDeclarationKeepsItsType() {
+        String source =
+                """
+                val a: Number = "text";
+                val b: String = a;
+                """;
+        List<Diagnostic> diagnostics = Gris.check(source, Diagnostics.DEFAULT_LIMIT);
+
+        assertEquals(2, diagnostics.size());
+        assertEquals(2, diagnostics.get(1).line);
+        assertEquals(Phase.TYPING, diagnostics.get(1).phase);
+    }
+
+    /**
+     * Tests if analysis stops once the limit is reached.
+     */
+    @Test
+    void stopsAtLimit() {
+        String source = "val x: Number = ;\n".repeat(50);
+        assertEquals(3, Gris.check(source, 3).size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.gris.optimizer;
+
+import com.github.gris.ast.expr.Call;
+import com.github.gris.ast.expr.Literal;
+import com.github.gris.ast.expr.Variable;
+import com.github.gris.ast.stmt.Block;
+import com.github.gris.ast.stmt.Function;
+import com.github.gris.ast.stmt.Return;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.runtime.value.GrisNumber;
+import com.github.gris.typing.Typing;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link ConstantFolder}.
+ */
+class ConstantFolderTest {
+
+    /**
+     * Tests if constant operators, groupings and pure built-in calls fold into one literal.
+     */
+    @Test
+    void foldsConstantExpression() {
+        List<Stmt> statements = fold("val x: Number = -(2 ^ 10) + len(\"abc\") * 1;");
+
+        Literal literal = (Literal) ((Val) statements.get(0)).initializer;
+        assertEquals(-1021.0, literal.value);
+        assertEquals(-1021.0, ((GrisNumber) literal.runtimeValue).value);
+    }
+
+    /**
+     * Tests if an identity operation is reduced to its variable operand.
+     */
+    @Test
+    void simplifiesIdentity() {
+        List<Stmt> statements = fold("val x: Number = 3; val y: Number = (x - 0) / 1;");
+
+        assertInstanceOf(Variable.class, ((Val) statements.get(1)).initializer);
+    }
+
+    /**
+     * Tests if an if statement with a constant condition is replaced by the branch taken.
+     */
+    @Test
+    void removesDeadBranch() {
+        List<Stmt> statements = fold("if (1 > 2 or false) { println(1); } else { println(2); }");
+
+        assertEquals(1, statements.size());
+        assertInstanceOf(Block.class, statements.get(0));
+    }
+
+    /**
+     * Tests if a call to a local function shadowing a built-in is left in place.
+     */
+    @Test
+    void keepsShadowedBuiltin() {
+        List<Stmt> statements =
+                fold(
+                        """
+                        def f() -> Number {
+                            def len(s: String) -> Number { return 42; }
+                            return len("abc");
+                        }
+                        """);
+
+        Return result = (Return) ((Function) statements.get(0)).body.get(1);
+        assertInstanceOf(Call.class, result.value);
+    }
+
+    /**
+     * Tests if a constant that fails to evaluate is left for the program to fail on at runtime.
+     */
+    @Test
+    void keepsFailingConstant() {
+        List<Stmt> statements = fold("val c: String = charAt(\"abc\", 10);");
+
+        assertInstanceOf(Call.class, ((Val) statements.get(0)).initializer);
+    }
+
+    private static List<Stmt> fold(String source) {
+        Lexer lexer = new Lexer(source);
+        Interpreter interpreter = new Interpreter(lexer);
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        new Typing(lexer, interpreter).check(statements);
+        return new ConstantFolder(interpreter).fold(statements);
+    }
+}
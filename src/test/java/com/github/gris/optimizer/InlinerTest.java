@@ -0,0 +1,140 @@
+package com.github.gris.optimizer;
+
+import com.github.gris.ast.expr.Binary;
+import com.github.gris.ast.expr.Call;
+import com.github.gris.ast.expr.Expr;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.Typing;
+import com.github.gris.typing.type.Type;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link Inliner}.
+ */
+class InlinerTest {
+
+    /**
+     * Tests if calls to a small function and a uniquely named method are expanded and reported.
+     */
+    @Test
+    void inlinesFunctionAndMethod() {
+        String source =
+                """
+                def square(x: Number) -> Number { return x * x; }
+                class Scale { by(v: Number, k: Number) -> Number { return v * k; } }
+                val s: Scale = Scale();
+                val a: Number = 3;
+                val b: Number = square(a);
+                val c: Number = s.by(a, 2);
+                """;
+        List<Stmt> statements = compile(source);
+        Inliner inliner = new Inliner(interpreter, Inliner.DEFAULT_BUDGET);
+        inliner.inline(statements);
+
+        assertInstanceOf(Binary.class, initializer(statements, 4));
+        assertSame(Type.NUMBER, initializer(statements, 4).resolvedType.type);
+        assertInstanceOf(Binary.class, initializer(statements, 5));
+        assertEquals(
+                List.of("Inlined 'square' at 1 call site", "Inlined 'Scale.by' at 1 call site"),
+                inliner.getReport());
+    }
+
+    /**
+     * Tests if a method declared by several classes is expanded when the type of the receiver
+     * leaves only one of them reachable, and kept as a call when a subclass overrides it.
+     */
+    @Test
+    void inlinesThroughReceiverType() {
+        String source =
+                """
+                class Circle { area(r: Number) -> Number { return 3 * r * r; } }
+                class Square { area(s: Number) -> Number { return s * s; } }
+                class Cube < Square { area(s: Number) -> Number { return 6 * s * s; } }
+                val c: Circle = Circle();
+                val q: Square = Square();
+                val a: Number = c.area(2);
+                val b: Number = q.area(2);
+                """;
+        List<Stmt> statements = compile(source);
+        Inliner inliner = new Inliner(interpreter, Inliner.DEFAULT_BUDGET);
+        inliner.inline(statements);
+
+        assertInstanceOf(Binary.class, initializer(statements, 5));
+        assertInstanceOf(Call.class, initializer(statements, 6));
+        assertEquals(List.of("Inlined 'Circle.area' at 1 call site"), inliner.getReport());
+    }
+
+    /**
+     * Tests if recursive functions and calls with side-effecting arguments are left as calls.
+     */
+    @Test
+    void keepsUnsafeCalls() {
+        String source =
+                """
+                def fact(n: Number) -> Number { return n < 2 ? 1 : n * fact(n - 1); }
+                def square(x: Number) -> Number { return x * x; }
+                val a: Number = fact(5);
+                val b: Number = square(fact(2));
+                """;
+        List<Stmt> statements = compile(source);
+        Inliner inliner = new Inliner(interpreter, Inliner.DEFAULT_BUDGET);
+        inliner.inline(statements);
+
+        assertInstanceOf(Call.class, initializer(statements, 2));
+        assertInstanceOf(Call.class, initializer(statements, 3));
+        assertTrue(inliner.getReport().isEmpty());
+    }
+
+    /**
+     * Tests if an inlined program computes the same result as the original.
+     */
+    @Test
+    void preservesResult() {
+        String source =
+                """
+                def mix(a: Number, b: Number) -> Number { return a * 3 + b % 7; }
+                val total: Number = 0;
+                val i: Number = 0;
+                while (i < 10) { total = total + mix(i, 5); i = i + 1; }
+                println(total);
+                """;
+        List<Stmt> statements = compile(source);
+        new Inliner(interpreter, Inliner.DEFAULT_BUDGET).inline(statements);
+
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            interpreter.interpret(statements);
+        } finally {
+            System.setOut(stdout);
+        }
+        assertEquals("185.0", output.toString().trim());
+    }
+
+    private Interpreter interpreter;
+
+    private List<Stmt> compile(String source) {
+        Lexer lexer = new Lexer(source);
+        interpreter = new Interpreter(lexer);
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        new Typing(lexer, interpreter).check(statements);
+        return statements;
+    }
+
+    private static Expr initializer(List<Stmt> statements, int index) {
+        return ((Val) statements.get(index)).initializer;
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.gris.parser;
+
+import com.github.gris.ast.expr.*;
+import com.github.gris.ast.stmt.Expression;
+import com.github.gris.ast.stmt.Invalid;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.lexer.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the {@link Parser} class.
+ */
+class ParserTest {
+
+    /**
+     * Tests if multiplicative operators bind tighter than additive ones.
+     */
+    @Test
+    void factorBindsTighterThanTerm() {
+        Binary plus = assertInstanceOf(Binary.class, parseExpression("1 + 2 * 3"));
+        assertEquals(TokenType.PLUS, plus.operator.type);
+        assertInstanceOf(Literal.class, plus.left);
+
+        Binary star = assertInstanceOf(Binary.class, plus.right);
+        assertEquals(TokenType.STAR, star.operator.type);
+    }
+
+    /**
+     * Tests if binary operators of the same precedence associate to the left.
+     */
+    @Test
+    void binaryOperatorsAreLeftAssociative() {
+        Binary outer = assertInstanceOf(Binary.class, parseExpression("1 - 2 - 3"));
+        Binary inner = assertInstanceOf(Binary.class, outer.left);
+        assertEquals(TokenType.MINUS, inner.operator.type);
+        assertInstanceOf(Literal.class, outer.right);
+    }
+
+    /**
+     * Tests if unary operators bind tighter than exponentiation.
+     */
+    @Test
+    void unaryBindsTighterThanExponent() {
+        Binary caret = assertInstanceOf(Binary.class, parseExpression("-2 ^ 2"));
+        assertEquals(TokenType.CARET, caret.operator.type);
+        assertInstanceOf(Unary.class, caret.left);
+    }
+
+    /**
+     * Tests if the modulo operator is parsed at the same level as multiplication.
+     */
+    @Test
+    void moduloIsAFactor() {
+        Binary plus = assertInstanceOf(Binary.class, parseExpression("a + b % 2"));
+        Binary modulo = assertInstanceOf(Binary.class, plus.right);
+        assertEquals(TokenType.MODULO, modulo.operator.type);
+    }
+
+    /**
+     * Tests if assignments and ternaries associate to the right.
+     */
+    @Test
+    void assignmentAndTernaryAreRightAssociative() {
+        Assign assign = assertInstanceOf(Assign.class, parseExpression("a = b = c ? d : e ? f : g"));
+        Assign value = assertInstanceOf(Assign.class, assign.value);
+        Ternary ternary = assertInstanceOf(Ternary.class, value.value);
+        assertInstanceOf(Ternary.class, ternary.elseBranch);
+    }
+
+    /**
+     * Tests if logical operators bind looser than comparisons.
+     */
+    @Test
+    void logicalOperatorsBindLooserThanComparisons() {
+        Logical or = assertInstanceOf(Logical.class, parseExpression("a < b or c and d == e"));
+        assertEquals(TokenType.OR, or.operator.type);
+        assertInstanceOf(Binary.class, or.left);
+
+        Logical and = assertInstanceOf(Logical.class, or.right);
+        assertEquals(TokenType.AND, and.operator.type);
+        assertInstanceOf(Binary.class, and.right);
+    }
+
+    /**
+     * Tests if calls and property accesses chain and bind tighter than unary operators.
+     */
+    @Test
+    void callsAndPropertiesChain() {
+        Unary unary = assertInstanceOf(Unary.class, parseExpression("-foo.bar(1, 2).baz"));
+        Get baz = assertInstanceOf(Get.class, unary.right);
+        Call call = assertInstanceOf(Call.class, baz.object);
+        assertEquals(2, call.arguments.size());
+        assertInstanceOf(Get.class, call.callee);
+    }
+
+    /**
+     * Tests if a property assignment becomes a set expression.
+     */
+    @Test
+    void propertyAssignmentBecomesSet() {
+        Set set = assertInstanceOf(Set.class, parseExpression("foo.bar = (1 + 2)"));
+        assertInstanceOf(Grouping.class, set.value);
+    }
+
+    /**
+     * Tests if the parser recovers from a missing operand at the next statement.
+     */
+    @Test
+    void missingOperandRecoversAtNextStatement() {
+        List<Stmt> statements = parse("val x: Number = 1 + ; val y: Number = 2;");
+        assertEquals(2, statements.size());
+        assertInstanceOf(Invalid.class, statements.get(0));
+        assertInstanceOf(Val.class, statements.get(1));
+    }
+
+    /**
+     * Helper method to parse a single expression statement.
+     *
+     * @param source The expression source, without the trailing semicolon.
+     * @return The parsed expression.
+     */
+    private Expr parseExpression(String source) {
+        List<Stmt> statements = parse(source + ";");
+        assertEquals(1, statements.size());
+        return assertInstanceOf(Expression.class, statements.get(0)).expression;
+    }
+
+    /**
+     * Helper method to lex and parse a source string.
+     *
+     * @param source The source code.
+     * @return The parsed statements.
+     */
+    private List<Stmt> parse(String source) {
+        Lexer lexer = new Lexer(source);
+        return new Parser(lexer, lexer.scanTokens()).parse();
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.gris.resolver;
+
+import com.github.gris.Gris;
+import com.github.gris.ast.stmt.Function;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.runtime.Interpreter;
+import com.github.gris.typing.Typing;
+import com.github.gris.typing.type.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.gris.GrisTestSupport.interpret;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link Analyzer}, which resolves and type checks in one pass.
+ */
+class AnalyzerTest {
+
+    private static final String PROGRAM =
+            """
+            def counter(step: Number) -> Number {
+                val count: Number = 0;
+                def add() -> Number { count = count + step; return count; }
+                add();
+                return add();
+            }
+            class Shape { area(k: Number) -> Number { return k * 2; } }
+            val s: Shape = Shape();
+            val total: Number = 0;
+            val i: Number = 0;
+            while (i < 5) { total = total + counter(i) + s.area(i); i = i + 1; }
+            println(total > 20 ? "big" : "small");
+            println(total);
+            """;
+
+    /**
+     * Tests if a program analysed in one pass gets the same annotations and output as one resolved
+     * and type checked in two.
+     */
+    @Test
+    void matchesTwoPasses() {
+        Interpreter twoPass = new Interpreter(new Lexer(PROGRAM));
+        List<Stmt> expected = parse(PROGRAM);
+        new Resolver(new Lexer(PROGRAM), twoPass).resolve(expected);
+        new Typing(new Lexer(PROGRAM), twoPass).check(expected);
+
+        Interpreter fused = new Interpreter(new Lexer(PROGRAM));
+        List<Stmt> actual = parse(PROGRAM);
+        new Analyzer(new Lexer(PROGRAM), fused).analyze(actual);
+
+        Function add = (Function) ((Function) actual.get(0)).body.get(1);
+        assertEquals(List.of("count", "step"), add.captures.stream().map(c -> c.name).toList());
+        assertTrue(((Val) actual.get(3)).numeric);
+        assertSame(Type.NUMBER, ((Val) actual.get(3)).initializer.resolvedType.type);
+        assertEquals(interpret(twoPass, expected), interpret(fused, actual));
+    }
+
+    /**
+     * Tests if diagnostics mode reports the same errors as the two passes.
+     */
+    @Test
+    void reportsSameDiagnostics() {
+        String source =
+                """
+                val a: Number = "text";
+                println(missing);
+                def f(x: Number) -> String { return x; }
+                val b: String = a;
+                return 1;
+                """;
+        List<Diagnostic> expected = Gris.check(source, Diagnostics.DEFAULT_LIMIT, false);
+        List<Diagnostic> actual = Gris.check(source, Diagnostics.DEFAULT_LIMIT, true);
+
+        assertEquals(5, expected.size());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    /**
+     * Tests if both modes accept a call through 'super'.
+     */
+    @Test
+    void acceptsSuperCalls() {
+        String source =
+                """
+                class A { get() -> Number { return 1; } }
+                class B < A { get() -> Number { return super.get() + 100; } }
+                println(B().get());
+                """;
+
+        assertEquals(List.of(), Gris.check(source, Diagnostics.DEFAULT_LIMIT, false));
+        assertEquals(List.of(), Gris.check(source, Diagnostics.DEFAULT_LIMIT, true));
+    }
+
+    private static List<Stmt> parse(String source) {
+        Lexer lexer = new Lexer(source);
+        return new Parser(lexer, lexer.scanTokens()).parse();
+    }
+}
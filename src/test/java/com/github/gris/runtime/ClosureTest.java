@@ -0,0 +1,154 @@
+package com.github.gris.runtime;
+
+import com.github.gris.ast.Capture;
+import com.github.gris.ast.stmt.Block;
+import com.github.gris.ast.stmt.Function;
+import com.github.gris.ast.stmt.If;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.ast.stmt.While;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for flat closures, which capture only the variables they use.
+ */
+class ClosureTest {
+
+    private static final String NESTED =
+            """
+            def outer(n: Number) -> Number {
+                val unused: Number = 1;
+                val count: Number = 0;
+                def middle(k: Number) -> Number {
+                    def inner() -> Number { count = count + k; return count; }
+                    inner();
+                    return n + count;
+                }
+                middle(1);
+                middle(2);
+                return middle(3);
+            }
+            println(outer(100));
+            """;
+
+    /**
+     * Tests if a function captures exactly the enclosing variables it uses, passing on the ones its
+     * nested functions need.
+     */
+    @Test
+    void capturesOnlyUsedVariables() {
+        List<Stmt> statements = resolve(NESTED, new Interpreter(new Lexer(NESTED)));
+        Function outer = (Function) statements.get(0);
+        Function middle = (Function) outer.body.get(2);
+        Function inner = (Function) middle.body.get(0);
+
+        assertTrue(outer.captures.isEmpty());
+        assertEquals(List.of("count", "n"), names(middle.captures));
+        assertTrue(middle.captures.stream().allMatch(capture -> capture.local));
+        assertEquals(List.of("count", "k"), names(inner.captures));
+        assertFalse(inner.captures.get(0).local);
+        assertTrue(inner.captures.get(1).local);
+    }
+
+    /**
+     * Tests if assignments through a captured variable are shared with the declaring function.
+     */
+    @Test
+    void sharesCapturedCells() {
+        assertEquals("106.0", run(NESTED));
+    }
+
+    /**
+     * Tests if 'this' and 'super' are captured by functions nested in methods.
+     */
+    @Test
+    void capturesReceiver() {
+        String source =
+                """
+                class A { describe() -> Number { return 5; } }
+                class B < A {
+                    bonus() -> Number { return 100; }
+                    describe() -> Number {
+                        def add() -> Number { return super.describe() + this.bonus(); }
+                        return add();
+                    }
+                }
+                val b: B = B();
+                println(b.describe());
+                """;
+        assertEquals("105.0", run(source));
+    }
+
+    /**
+     * Tests if blocks declaring nothing are left without a scope, and if only variables captured by
+     * a closure are marked as needing a new cell per execution.
+     */
+    @Test
+    void marksBlockScopes() {
+        String source =
+                """
+                def f() -> Number {
+                    val i: Number = 0;
+                    while (i < 3) {
+                        val kept: Number = i;
+                        val temporary: Number = i + 1;
+                        def get() -> Number { return kept; }
+                        i = temporary;
+                    }
+                    if (i > 0) { i = 0; }
+                    return i;
+                }
+                """;
+        Function f = (Function) resolve(source, new Interpreter(new Lexer(source))).get(0);
+        Block body = (Block) ((While) f.body.get(1)).body;
+        Block branch = (Block) ((If) f.body.get(2)).thenBranch;
+
+        assertTrue(body.scoped);
+        assertTrue(((Val) body.statements.get(0)).captured);
+        assertFalse(((Val) body.statements.get(1)).captured);
+        assertFalse(branch.scoped);
+    }
+
+    /**
+     * Tests if closures created in different iterations of a loop keep their own cells, although the
+     * iterations share one environment.
+     */
+    @Test
+    void keepsCellPerIteration() {
+        String source =
+                """
+                val results: Channel<Number> = channel(3);
+                val i: Number = 0;
+                while (i < 3) {
+                    val k: Number = i * 10;
+                    def send() -> Void { results.send(k); }
+                    spawn(send);
+                    i = i + 1;
+                }
+                val total: Number = 0;
+                val n: Number = 0;
+                while (n < 3) { total = total + results.receive(); n = n + 1; }
+                println(total);
+                """;
+        assertEquals("30.0", run(source));
+    }
+
+    private static List<Stmt> resolve(String source, Interpreter interpreter) {
+        Lexer lexer = new Lexer(source);
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        return statements;
+    }
+
+    private static List<String> names(List<Capture> captures) {
+        return captures.stream().map(capture -> capture.name).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.gris.runtime;
+
+import com.github.gris.lexer.Lexer;
+import com.github.gris.runtime.value.GrisNumber;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for the shared-globals mode, where forks of an interpreter share its globals.
+ */
+class SharedGlobalsTest {
+
+    private static final String PROGRAM =
+            """
+            val last: Number = 0;
+            val done: Channel<Number> = channel(1);
+            def task() -> Void {
+                val i: Number = 0;
+                while (i < 100) { last = i; i = i + 1; }
+                done.send(last);
+            }
+            spawn(task);
+            done.receive();
+            println(last);
+            """;
+
+    /**
+     * Tests if an assignment to a global made by a task is seen by the program only when the
+     * globals are shared.
+     */
+    @Test
+    void sharesAssignmentsWhenOptedIn() {
+        assertEquals("99.0", run(PROGRAM, true));
+        assertEquals("0.0", run(PROGRAM, false));
+    }
+
+    /**
+     * Tests if globals defined by many threads at once all end up in the shared environment and
+     * its table, with the values they were defined with.
+     */
+    @Test
+    void definesGlobalsConcurrently() throws InterruptedException {
+        Environment globals = new Environment(new Lexer(""), new GlobalTable(true));
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    globals.define("g" + thread + "_" + i, new GrisNumber(i)).setNumber(i + 1);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(4000, globals.values.size());
+        assertEquals(500.0, globals.values.get("g7_499").getNumber());
+        assertInstanceOf(SharedCell.class, globals.values.get("g0_0"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.gris.runtime;
+
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import com.github.gris.runtime.value.GrisNumber;
+import com.github.gris.runtime.value.GrisType;
+import com.github.gris.typing.Typing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link Snapshot}, which starts interpreters from initialized globals.
+ */
+class SnapshotTest {
+
+    private static final String PROGRAM =
+            """
+            class Doubler { apply(n: Number) -> Number { return n * 2; } }
+            val table: Array<Number> = array();
+            val i: Number = 0;
+            while (i < 100) { table.push(i * i); i = i + 1; }
+            val doubler: Doubler = Doubler();
+            val served: Number = 0;
+            def handle(n: Number) -> Number {
+                served = served + 1;
+                return doubler.apply(table.get(n)) + served;
+            }
+            """;
+
+    /**
+     * Tests if forks start from the globals as they were when the snapshot was taken, and if
+     * assignments made by a fork are not seen by the snapshot, other forks or the original.
+     */
+    @Test
+    void forksStartFromSnapshot() {
+        Interpreter interpreter = initialize(PROGRAM);
+        Snapshot snapshot = interpreter.snapshot();
+        interpreter.call("handle", List.of(new GrisNumber(0)));
+
+        Interpreter first = snapshot.fork();
+        assertEquals(19.0, number(first.call("handle", List.of(new GrisNumber(3)))));
+        assertEquals(20.0, number(first.call("handle", List.of(new GrisNumber(3)))));
+        assertEquals(19.0, number(snapshot.fork().call("handle", List.of(new GrisNumber(3)))));
+        assertEquals(20.0, number(interpreter.call("handle", List.of(new GrisNumber(3)))));
+    }
+
+    /**
+     * Tests if many threads can fork the same snapshot and run calls at once.
+     */
+    @Test
+    void forksFromManyThreads() throws Exception {
+        Snapshot snapshot = initialize(PROGRAM).snapshot();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GrisType>> results = new ArrayList<>();
+            for (int n = 0; n < 64; n++) {
+                final GrisNumber argument = new GrisNumber(n);
+                results.add(
+                        executor.submit(() -> snapshot.fork().call("handle", List.of(argument))));
+            }
+            for (int n = 0; n < 64; n++) {
+                assertEquals(2.0 * n * n + 1, number(results.get(n).get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests if calling a name that is not a global function is rejected.
+     */
+    @Test
+    void rejectsUnknownFunctions() {
+        Interpreter fork = initialize(PROGRAM).snapshot().fork();
+        assertThrows(IllegalArgumentException.class, () -> fork.call("missing", List.of()));
+        assertThrows(IllegalArgumentException.class, () -> fork.call("served", List.of()));
+    }
+
+    private static Interpreter initialize(String source) {
+        Lexer lexer = new Lexer(source);
+        Interpreter interpreter = new Interpreter(lexer);
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        new Typing(lexer, interpreter).check(statements);
+        interpreter.interpret(statements);
+        return interpreter;
+    }
+
+    private static double number(GrisType value) {
+        return ((GrisNumber) value).value;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.gris.runtime;
+
+import com.github.gris.ast.expr.Assign;
+import com.github.gris.ast.stmt.Expression;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.ast.stmt.Val;
+import com.github.gris.lexer.Lexer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.gris.GrisTestSupport.check;
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for numbers held unboxed by the interpreter.
+ */
+class UnboxedNumberTest {
+
+    /**
+     * Tests if the type checker marks number declarations and assignments, and only those.
+     */
+    @Test
+    void marksNumericStatements() {
+        String source =
+                """
+                val n: Number = 1;
+                val s: String = "a";
+                n = n + 1;
+                s = "b";
+                """;
+        Lexer lexer = new Lexer(source);
+        List<Stmt> statements = check(lexer, new Interpreter(lexer));
+
+        assertTrue(((Val) statements.get(0)).numeric);
+        assertFalse(((Val) statements.get(1)).numeric);
+        assertTrue(((Assign) ((Expression) statements.get(2)).expression).numeric);
+        assertFalse(((Assign) ((Expression) statements.get(3)).expression).numeric);
+    }
+
+    /**
+     * Tests if unboxed numbers are boxed where they escape, into calls, closures and built-ins.
+     */
+    @Test
+    void boxesEscapingNumbers() {
+        String source =
+                """
+                def sum(limit: Number) -> Number {
+                    val total: Number = 0;
+                    def add(k: Number) -> Number { total = total + k; return total; }
+                    val i: Number = 0;
+                    while (i < limit and !(i == 100)) {
+                        add(i);
+                        i = i + 1;
+                    }
+                    return total;
+                }
+                val s: Number = sum(10);
+                println(s);
+                println(-sum(4) * 2);
+                """;
+        assertEquals("45.0\n-12.0", run(source));
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.runtime.RuntimeError;
+import com.github.gris.typing.TypingError;
+import org.junit.jupiter.api.Test;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link GrisArray} and the array type.
+ */
+class GrisArrayTest {
+
+    /**
+     * Tests if an array keeps numbers in primitive storage as it grows, and moves them to boxed
+     * storage the first time it is given something else.
+     */
+    @Test
+    void specializesNumberStorage() {
+        GrisArray array = new GrisArray();
+        for (int i = 0; i < 100; i++) {
+            array.pushNumber(i);
+        }
+        array.set(5, new GrisNumber(-1));
+        assertTrue(array.holdsNumbers());
+        assertEquals(100, array.size());
+        assertEquals(-1, array.getNumber(5));
+        assertEquals(99, array.getNumber(99));
+
+        array.push(new GrisString("end"));
+        assertFalse(array.holdsNumbers());
+        assertEquals(101, array.size());
+        assertEquals(98, array.getNumber(98));
+        assertEquals("end", array.get(100).toGrisString().value());
+    }
+
+    /**
+     * Tests if programs can build, read and pass typed arrays, through the methods both called
+     * directly and taken as values.
+     */
+    @Test
+    void runsArrayMethods() {
+        String source =
+                """
+                def sum(xs: Array<Number>) -> Number {
+                    val total: Number = 0;
+                    val i: Number = 0;
+                    while (i < xs.size()) { total = total + xs.get(i); i = i + 1; }
+                    return total;
+                }
+                val xs: Array<Number> = array();
+                val i: Number = 0;
+                while (i < 20) { xs.push(i); i = i + 1; }
+                xs.set(0, 100);
+                println(sum(xs));
+                val names: Array<String> = array();
+                names.push("a");
+                (names.push)("b");
+                println(names);
+                """;
+        assertEquals("290.0\n[a, b]", run(source));
+    }
+
+    /**
+     * Tests if elements and arrays of the wrong element type are rejected by the type checker.
+     */
+    @Test
+    void checksElementTypes() {
+        assertThrows(
+                TypingError.class,
+                () -> run("val xs: Array<Number> = array(); xs.push(\"a\");"));
+        assertThrows(
+                TypingError.class,
+                () -> run("val xs: Array<Number> = array(); val ys: Array<String> = xs;"));
+        assertThrows(
+                TypingError.class,
+                () -> run("val xs: Array<Number> = array(); val s: String = xs.get(0);"));
+    }
+
+    /**
+     * Tests if an index outside the array, or not a whole number, is a runtime error.
+     */
+    @Test
+    void rejectsInvalidIndices() {
+        String source = "val xs: Array<Number> = array(); xs.push(1); ";
+        assertThrows(RuntimeError.class, () -> run(source + "println(xs.get(1));"));
+        assertThrows(RuntimeError.class, () -> run(source + "xs.set(-1, 2);"));
+        assertThrows(RuntimeError.class, () -> run(source + "println(xs.get(0.5));"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.runtime.RuntimeError;
+import com.github.gris.typing.TypingError;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link GrisChannel}, the channel type and spawned tasks.
+ */
+class GrisChannelTest {
+
+    /**
+     * Tests if values sent through a channel smaller than the stream arrive in order, and if
+     * receivers see the channel end once it is closed and drained.
+     */
+    @Test
+    void passesValuesInOrder() throws InterruptedException {
+        GrisChannel channel = new GrisChannel(2);
+        Thread producer = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 100; i++) {
+                channel.send(new GrisNumber(i));
+            }
+            channel.close();
+        });
+
+        List<Double> received = new ArrayList<>();
+        while (channel.hasNext()) {
+            received.add(((GrisNumber) channel.receive()).value);
+        }
+        producer.join();
+
+        assertEquals(100, received.size());
+        assertEquals(99.0, received.get(99));
+        assertThrows(IllegalStateException.class, channel::receive);
+        assertThrows(IllegalStateException.class, () -> channel.send(new GrisNumber(0)));
+    }
+
+    /**
+     * Tests if a pipeline of spawned tasks runs to completion, and if the program waits for a task
+     * nobody receives from.
+     */
+    @Test
+    void runsSpawnedPipelines() {
+        String source =
+                """
+                val words: Channel<String> = channel(1);
+                val lengths: Channel<Number> = channel(1);
+                def produce() -> Void {
+                    val i: Number = 0;
+                    while (i < 20) {
+                        words.send(substring("abcdefghij", 0, i % 10 + 1));
+                        i = i + 1;
+                    }
+                    words.close();
+                }
+                def measure() -> Void {
+                    while (words.hasNext()) { lengths.send(len(words.receive())); }
+                    lengths.close();
+                }
+                def last() -> Void { println("done"); }
+                spawn(produce);
+                spawn(measure);
+                val total: Number = 0;
+                while (lengths.hasNext()) { total = total + lengths.receive(); }
+                println(total);
+                spawn(last);
+                """;
+        assertEquals("110.0\ndone", run(source));
+    }
+
+    /**
+     * Tests if channel types are checked, and if errors raised by a task reach the program.
+     */
+    @Test
+    void reportsErrors() {
+        assertThrows(
+                TypingError.class,
+                () -> run("val c: Channel<Number> = channel(1); c.send(\"text\");"));
+        assertThrows(
+                TypingError.class, () -> run("val c: Channel<Number> = channel(1); c.peek();"));
+        assertThrows(RuntimeError.class, () -> run("val c: Channel<Number> = channel(0);"));
+
+        RuntimeError error = assertThrows(
+                RuntimeError.class,
+                () -> run(
+                        """
+                        val c: Channel<Number> = channel(1);
+                        def drain() -> Void { c.receive(); c.receive(); }
+                        c.send(1);
+                        c.close();
+                        spawn(drain);
+                        """));
+        assertEquals(2, error.line);
+    }
+
+    /**
+     * Tests if a task failing before it sends makes the program waiting to receive fail with the
+     * task's error, rather than wait forever.
+     */
+    @Test
+    void failsWaitingProgram() {
+        String source =
+                """
+                val out: Channel<String> = channel(1);
+                def produce() -> Void { out.send(charAt("ab", 5)); }
+                spawn(produce);
+                println(out.receive());
+                """;
+        RuntimeError error = assertTimeoutPreemptively(
+                Duration.ofSeconds(10), () -> assertThrows(RuntimeError.class, () -> run(source)));
+        assertEquals(2, error.line);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.runtime.RuntimeError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link GrisFile} and the file built-ins.
+ */
+class GrisFileTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests if lines are read whole when they span mapped windows, including multi-byte
+     * characters split between two windows and carriage returns before line feeds.
+     */
+    @Test
+    void readsLinesAcrossWindows() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String line = "line " + i + " é€ " + "x".repeat(i % 23);
+            expected.add(line);
+            content.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        expected.add("");
+        content.append("\n");
+        Path path = directory.resolve("lines.txt");
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+
+        GrisFile file = new GrisFile(path.toString(), 7);
+        List<String> actual = new ArrayList<>();
+        while (file.hasLine()) {
+            actual.add(file.readLine().value());
+        }
+        assertEquals(expected, actual);
+        assertFalse(file.hasLine());
+    }
+
+    /**
+     * Tests if scripts can stream a file and read one whole, and if missing files and reading
+     * past the end are runtime errors.
+     */
+    @Test
+    void runsFileBuiltins() throws IOException {
+        Path path = directory.resolve("data.txt");
+        Files.writeString(path, "3\n4\n5");
+        String quoted = "\"" + path.toString().replace("\\", "\\\\") + "\"";
+        String source =
+                "val f: File = openFile(" + quoted + ");\n"
+                        + "val count: Number = 0;\n"
+                        + "while (f.hasLine()) { f.readLine(); count = count + 1; }\n"
+                        + "println(count);\n"
+                        + "println(readLines(" + quoted + "));\n";
+
+        assertEquals("3.0\n[3, 4, 5]", run(source));
+        assertThrows(RuntimeError.class, () -> run(source + "f.readLine();"));
+        assertThrows(
+                RuntimeError.class,
+                () -> run("readLines(\"" + directory.resolve("missing").toString()
+                        .replace("\\", "\\\\") + "\");"));
+    }
+}
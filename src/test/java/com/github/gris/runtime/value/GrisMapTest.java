@@ -0,0 +1,109 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.ast.stmt.Invalid;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.runtime.RuntimeError;
+import com.github.gris.typing.TypingError;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link GrisMap} and the map type.
+ */
+class GrisMapTest {
+
+    /**
+     * Tests if a map agrees with a reference map over a long run of random sets and removals,
+     * which exercises growing and shifting entries back over removed ones.
+     */
+    @Test
+    void matchesReferenceMap() {
+        GrisMap map = new GrisMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key) != null, map.remove(new GrisNumber(key)));
+            } else {
+                reference.put(key, step);
+                map.set(new GrisNumber(key), new GrisNumber(step));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (int key = 0; key < 500; key++) {
+            GrisType value = map.get(new GrisNumber(key));
+            Integer expected = reference.get(key);
+            assertEquals(expected == null ? null : (double) expected,
+                    value == null ? null : ((GrisNumber) value).value);
+        }
+    }
+
+    /**
+     * Tests if keys are compared by value as {@link GrisType#isEqual} does, so equal numbers and
+     * strings find the same entry, and numbers never find strings.
+     */
+    @Test
+    void hashesKeysByValue() {
+        GrisMap map = new GrisMap();
+        map.set(new GrisNumber(0), new GrisString("zero"));
+        map.set(new GrisString("1.0"), new GrisString("text"));
+
+        assertEquals("zero", map.get(new GrisNumber(-0.0)).toGrisString().value());
+        assertEquals("text", map.get(new GrisString("1" + ".0")).toGrisString().value());
+        assertFalse(map.has(new GrisNumber(1)));
+        assertFalse(GrisMap.isKey(new GrisBoolean(true)));
+    }
+
+    /**
+     * Tests if programs can count values with a typed map, and if missing keys are runtime errors.
+     */
+    @Test
+    void runsMapMethods() {
+        String source =
+                """
+                val counts: Map<String, Number> = map();
+                def count(word: String) -> Void {
+                    if (counts.has(word)) { counts.set(word, counts.get(word) + 1); }
+                    else { counts.set(word, 1); }
+                }
+                count("a"); count("b"); count("a");
+                println(counts.get("a"));
+                println(counts.remove("b"));
+                println(counts.keys());
+                """;
+        assertEquals("2.0\ntrue\n[a]", run(source));
+        assertThrows(
+                RuntimeError.class,
+                () -> run("val m: Map<Number, String> = map(); println(m.get(1));"));
+    }
+
+    /**
+     * Tests if key and value types are checked, and if only numbers and strings can be keys.
+     */
+    @Test
+    void checksEntryTypes() {
+        assertThrows(
+                TypingError.class,
+                () -> run("val m: Map<String, Number> = map(); m.set(1, 2);"));
+        assertThrows(
+                TypingError.class,
+                () -> run("val m: Map<String, Number> = map(); val s: String = m.get(\"a\");"));
+
+        String source = "val m: Map<Boolean, Number> = map();";
+        Lexer lexer = new Lexer(source);
+        Stmt statement = new Parser(lexer, lexer.scanTokens()).parse().get(0);
+        assertEquals("Expected Number or String as map key type",
+                assertInstanceOf(Invalid.class, statement).error.getMessage());
+    }
+}
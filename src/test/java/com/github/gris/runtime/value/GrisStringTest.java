@@ -0,0 +1,124 @@
+package com.github.gris.runtime.value;
+
+import com.github.gris.runtime.RuntimeError;
+import com.github.gris.typing.TypingError;
+import org.junit.jupiter.api.Test;
+
+import static com.github.gris.GrisTestSupport.run;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link GrisString} and string concatenation.
+ */
+class GrisStringTest {
+
+    /**
+     * Tests if strings built from a common prefix keep their own characters, whether they extend
+     * the shared builder or copy it.
+     */
+    @Test
+    void keepsBranchesApart() {
+        GrisString base = new GrisString("x".repeat(40));
+        GrisString grown = base.concat(new GrisString("abc"));
+        GrisString first = grown.concat(new GrisString("1"));
+        GrisString second = grown.concat(new GrisString("2"));
+        GrisString twice = first.concat(first);
+
+        assertEquals(44, first.length());
+        assertEquals('1', first.charAt(43));
+        assertEquals('2', second.charAt(43));
+        assertEquals("x".repeat(40) + "abc", grown.value());
+        assertEquals(first.value() + first.value(), twice.value());
+        assertTrue(first.isEqual(new GrisString("x".repeat(40) + "abc1")).value);
+        assertFalse(first.isEqual(second).value);
+    }
+
+    /**
+     * Tests if programs can concatenate strings in a loop and read the result through len and
+     * charAt.
+     */
+    @Test
+    void concatenatesInLoops() {
+        String source =
+                """
+                val s: String = "";
+                val i: Number = 0;
+                while (i < 1000) { s = s + "ab"; i = i + 1; }
+                println(len(s));
+                println(charAt(s, 1999) + charAt(s, 0));
+                println(s + "" == s);
+                """;
+        assertEquals("2000.0\nba\ntrue", run(source));
+    }
+
+    /**
+     * Tests if strings of one character are shared across the whole of the basic multilingual
+     * plane, and if charAt and codeAt agree when scanning a string.
+     */
+    @Test
+    void sharesSingleCharacters() {
+        assertSame(GrisString.of('a'), GrisString.of('a'));
+        assertSame(GrisString.of('\u20AC'), GrisString.of('\u20AC'));
+        assertEquals("\u20AC", GrisString.of('\u20AC').value());
+
+        String source =
+                """
+                def isPalindrome(str: String) -> Boolean {
+                    val left: Number = 0;
+                    val right: Number = len(str) - 1;
+                    while (left < right) {
+                        if (codeAt(str, left) != codeAt(str, right)) { return false; }
+                        if (charAt(str, left) != charAt(str, right)) { return false; }
+                        left = left + 1;
+                        right = right - 1;
+                    }
+                    return true;
+                }
+                println(isPalindrome("civic"));
+                println(isPalindrome("civil"));
+                println(codeAt("A", 0));
+                """;
+        assertEquals("true\nfalse\n65.0", run(source));
+    }
+
+    /**
+     * Tests if slices read, compare and hash like the strings they stand for, and if split keeps
+     * empty parts between adjacent separators.
+     */
+    @Test
+    void slicesLikeCopies() {
+        GrisString line = new GrisString("  key=value;;last  ");
+        GrisString trimmed = line.trim();
+        GrisArray parts = trimmed.split(";");
+
+        assertEquals("key=value;;last", trimmed.value());
+        assertEquals(3, parts.size());
+        assertEquals("", ((GrisString) parts.get(1)).value());
+        assertEquals('v', trimmed.slice(4, 9).charAt(0));
+        assertTrue(trimmed.slice(4, 9).isEqual(new GrisString("value")).value);
+        assertSame(trimmed, trimmed.slice(0, trimmed.length()));
+        assertThrows(StringIndexOutOfBoundsException.class, () -> trimmed.slice(3, 30));
+
+        GrisMap map = new GrisMap();
+        map.set(new GrisString("last"), new GrisNumber(1));
+        assertTrue(map.has(parts.get(2)));
+
+        String source =
+                """
+                val fields: Array<String> = split("a, b ,c", ",");
+                println(trim(fields.get(1)) + substring("abcdef", 2, 4));
+                println(fields.size());
+                """;
+        assertEquals("bcd\n3.0", run(source));
+        assertThrows(RuntimeError.class, () -> run("println(substring(\"abc\", 1, 5));"));
+    }
+
+    /**
+     * Tests if the type checker only accepts two strings or two numbers in a sum.
+     */
+    @Test
+    void checksConcatenationTypes() {
+        assertThrows(TypingError.class, () -> run("val s: String = \"a\" + 1;"));
+        assertThrows(TypingError.class, () -> run("val n: Number = \"a\" + \"b\";"));
+    }
+}
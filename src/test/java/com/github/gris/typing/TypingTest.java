@@ -0,0 +1,97 @@
+package com.github.gris.typing;
+
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.diagnostic.Diagnostic;
+import com.github.gris.diagnostic.Diagnostics;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import com.github.gris.resolver.Resolver;
+import com.github.gris.runtime.Interpreter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link Typing}, which checks function and method bodies in parallel.
+ */
+class TypingTest {
+
+    /**
+     * Tests if bodies are checked against the globals declared before them, including globals
+     * declared after a subclass.
+     */
+    @Test
+    void bodiesSeeEarlierDeclarations() {
+        String source =
+                """
+                class Base { size() -> Number { return 1; } }
+                class Derived < Base { twice() -> Number { return 2; } }
+                val limit: Number = 10;
+                def scaled(n: Number) -> Number { return n * limit; }
+                println(scaled(4));
+                """;
+        assertDoesNotThrow(() -> check(source, null));
+    }
+
+    /**
+     * Tests if errors found in bodies checked in parallel are reported in source order, the same
+     * on every run.
+     */
+    @Test
+    void mergesBodyErrorsInOrder() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            source.append("def f").append(i).append("() -> Number { return \"text\"; }\n");
+        }
+        List<Integer> expected = IntStream.rangeClosed(1, 40).boxed().toList();
+
+        for (int run = 0; run < 5; run++) {
+            Diagnostics diagnostics = new Diagnostics();
+            check(source.toString(), diagnostics);
+            assertEquals(expected, diagnostics.getDiagnostics().stream().map(d -> d.line).toList());
+        }
+    }
+
+    /**
+     * Tests if, outside diagnostics mode, the error thrown is the one from the first failing body.
+     */
+    @Test
+    void throwsFirstBodyError() {
+        String source =
+                """
+                def a() -> Number { return 1; }
+                def b() -> Number { return "b"; }
+                def c() -> Number { return true; }
+                """;
+        TypingError error = assertThrows(TypingError.class, () -> check(source, null));
+        assertEquals(2, error.line);
+    }
+
+    /**
+     * Tests if, outside diagnostics mode, an error in a body is thrown before an error in a later
+     * top-level statement.
+     */
+    @Test
+    void throwsFirstErrorInSource() {
+        String source =
+                """
+                def f() -> Number {
+                    return "oops";
+                }
+                val x: Number = "bad";
+                """;
+        TypingError error = assertThrows(TypingError.class, () -> check(source, null));
+        assertEquals(2, error.line);
+    }
+
+    private static void check(String source, Diagnostics diagnostics) {
+        Lexer lexer = new Lexer(source);
+        Interpreter interpreter = new Interpreter(lexer);
+        List<Stmt> statements = new Parser(lexer, lexer.scanTokens()).parse();
+        new Resolver(lexer, interpreter).resolve(statements);
+        new Typing(lexer, interpreter, diagnostics).check(statements);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.gris.typing.type;
+
+import com.github.gris.ast.stmt.Class;
+import com.github.gris.ast.stmt.Function;
+import com.github.gris.ast.stmt.Stmt;
+import com.github.gris.lexer.Lexer;
+import com.github.gris.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit test class for {@link Types}.
+ */
+class TypesTest {
+
+    /**
+     * Tests if functions with the same signature share one type whatever their names, and if
+     * signatures naming a class are given their own.
+     */
+    @Test
+    void internsFunctionSignatures() {
+        List<Stmt> statements = parse(
+                """
+                class A { f(x: Number, s: String) -> Boolean { return true; } }
+                class B { g(y: Number, t: String) -> Boolean { return false; } }
+                class C { g(a: A) -> Number { return 1; } }
+                class D { g(a: A) -> Number { return 2; } }
+                """);
+
+        assertSame(Types.of(Type.NUMBER), type(statements, 0).parameters.get(0));
+        assertSame(type(statements, 0), type(statements, 1));
+        assertNotSame(type(statements, 2), type(statements, 3));
+    }
+
+    /**
+     * Tests if a class is a superclass of every class inheriting from it, directly or not, and of
+     * no other.
+     */
+    @Test
+    void checksSubclassesByAncestry() {
+        List<Stmt> statements = parse(
+                """
+                class A {}
+                class B < A {}
+                class C < B {}
+                class D {}
+                """);
+        ClassTypeExpr a = new ClassTypeExpr((Class) statements.get(0), null);
+        ClassTypeExpr b = new ClassTypeExpr((Class) statements.get(1), a);
+        ClassTypeExpr c = new ClassTypeExpr((Class) statements.get(2), b);
+        ClassTypeExpr d = new ClassTypeExpr((Class) statements.get(3), null);
+
+        assertTrue(a.isSuperOf(c));
+        assertTrue(b.isSuperOf(c));
+        assertFalse(c.isSuperOf(a));
+        assertFalse(c.isSuperOf(c));
+        assertFalse(d.isSuperOf(c));
+    }
+
+    private static List<Stmt> parse(String source) {
+        Lexer lexer = new Lexer(source);
+        return new Parser(lexer, lexer.scanTokens()).parse();
+    }
+
+    private static FunctionTypeExpr type(List<Stmt> statements, int index) {
+        Function method = ((Class) statements.get(index)).methods.get(0);
+        return Types.function(method.returnType, method.parameters);
+    }
+}